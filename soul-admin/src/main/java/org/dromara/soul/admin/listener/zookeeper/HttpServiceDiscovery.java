@@ -21,7 +21,9 @@ package org.dromara.soul.admin.listener.zookeeper;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.I0Itec.zkclient.ZkClient;
@@ -167,7 +169,7 @@ public class HttpServiceDiscovery implements InitializingBean {
                 selector.setHandle("");
                 selectorData.setHandle("");
             } else {
-                String handler = GsonUtils.getInstance().toJson(buildDivideUpstream(uriList));
+                String handler = GsonUtils.getInstance().toJson(buildDivideUpstream(uriList, selector.getHandle()));
                 selector.setHandle(handler);
                 selectorData.setHandle(handler);
             }
@@ -180,13 +182,21 @@ public class HttpServiceDiscovery implements InitializingBean {
         }
     }
     
-    private List<DivideUpstream> buildDivideUpstream(final List<String> uriList) {
+    private List<DivideUpstream> buildDivideUpstream(final List<String> uriList, final String handle) {
+        // the upstream already in the handle keeps its registration time, so it does not warm up again.
+        Map<String, Long> timestampMap = new HashMap<>();
+        if (StringUtils.isNotBlank(handle)) {
+            GsonUtils.getInstance().fromList(handle, DivideUpstream.class)
+                    .forEach(upstream -> timestampMap.put(upstream.getUpstreamUrl(), upstream.getTimestamp()));
+        }
+        long now = System.currentTimeMillis();
         return uriList.stream().map(uri -> {
             DivideUpstream divideUpstream = new DivideUpstream();
             divideUpstream.setUpstreamHost("localhost");
             divideUpstream.setProtocol("http://");
             divideUpstream.setUpstreamUrl(uri);
             divideUpstream.setWeight(50);
+            divideUpstream.setTimestamp(timestampMap.getOrDefault(uri, now));
             return divideUpstream;
         }).collect(Collectors.toList());
     }
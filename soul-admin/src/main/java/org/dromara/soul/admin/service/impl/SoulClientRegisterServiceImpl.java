@@ -21,6 +21,7 @@ import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.admin.dto.MetaDataDTO;
 import org.dromara.soul.admin.dto.RuleConditionDTO;
@@ -67,6 +68,11 @@ import org.springframework.transaction.annotation.Transactional;
 @Service("soulClientRegisterService")
 public class SoulClientRegisterServiceImpl implements SoulClientRegisterService {
     
+    /**
+     * the registrations of one instance start arrive within it.
+     */
+    private static final long REGISTER_STAMP_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+    
     private final MetaDataMapper metaDataMapper;
     
     private final ApplicationEventPublisher eventPublisher;
@@ -215,17 +221,23 @@ public class SoulClientRegisterServiceImpl implements SoulClientRegisterService
             String handle = selectorDO.getHandle();
             String handleAdd;
             DivideUpstream addDivideUpstream = buildDivideUpstream(uri);
+            DivideUpstream checkDivideUpstream = addDivideUpstream;
             SelectorData selectorData = selectorService.buildByName(contextPath);
             if (StringUtils.isBlank(handle)) {
                 handleAdd = GsonUtils.getInstance().toJson(Collections.singletonList(addDivideUpstream));
             } else {
                 List<DivideUpstream> exist = GsonUtils.getInstance().fromList(handle, DivideUpstream.class);
-                for (DivideUpstream upstream : exist) {
-                    if (upstream.getUpstreamUrl().equals(addDivideUpstream.getUpstreamUrl())) {
-                        return selectorId;
-                    }
+                DivideUpstream existUpstream = exist.stream()
+                        .filter(upstream -> upstream.getUpstreamUrl().equals(addDivideUpstream.getUpstreamUrl())).findFirst().orElse(null);
+                if (Objects.isNull(existUpstream)) {
+                    exist.add(addDivideUpstream);
+                } else if (isRegisteredJustNow(existUpstream, addDivideUpstream.getTimestamp())) {
+                    return selectorId;
+                } else {
+                    // the instance restarts on the same host and port, stamp it again so it warms up.
+                    existUpstream.setTimestamp(addDivideUpstream.getTimestamp());
+                    checkDivideUpstream = existUpstream;
                 }
-                exist.add(addDivideUpstream);
                 handleAdd = GsonUtils.getInstance().toJson(exist);
             }
             selectorDO.setHandle(handleAdd);
@@ -233,7 +245,7 @@ public class SoulClientRegisterServiceImpl implements SoulClientRegisterService
             //更新数据库
             selectorMapper.updateSelective(selectorDO);
             //提交过去检查
-            upstreamCheckService.submit(contextPath, addDivideUpstream);
+            upstreamCheckService.submit(contextPath, checkDivideUpstream);
             //发送更新事件
             // publish change event.
             eventPublisher.publishEvent(new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.UPDATE,
@@ -297,12 +309,20 @@ public class SoulClientRegisterServiceImpl implements SoulClientRegisterService
         return selectorService.register(selectorDTO);
     }
     
+    /**
+     * an instance registers once for every rule path when it starts, the upstream stamped by the same start is not updated again.
+     */
+    private boolean isRegisteredJustNow(final DivideUpstream upstream, final long now) {
+        return upstream.getTimestamp() > 0 && now - upstream.getTimestamp() < REGISTER_STAMP_INTERVAL;
+    }
+    
     private DivideUpstream buildDivideUpstream(final String uri) {
         DivideUpstream divideUpstream = new DivideUpstream();
         divideUpstream.setUpstreamHost("localhost");
         divideUpstream.setProtocol("http://");
         divideUpstream.setUpstreamUrl(uri);
         divideUpstream.setWeight(50);
+        divideUpstream.setTimestamp(System.currentTimeMillis());
         return divideUpstream;
     }
     
@@ -116,7 +116,9 @@ public class UpstreamCheckService {
      */
     public void submit(final String selectorName, final DivideUpstream divideUpstream) {
         if (UPSTREAM_MAP.containsKey(selectorName)) {
-            UPSTREAM_MAP.get(selectorName).add(divideUpstream);
+            List<DivideUpstream> upstreams = UPSTREAM_MAP.get(selectorName);
+            upstreams.removeIf(upstream -> upstream.getUpstreamUrl().equals(divideUpstream.getUpstreamUrl()));
+            upstreams.add(divideUpstream);
         } else {
             UPSTREAM_MAP.put(selectorName, Lists.newArrayList(divideUpstream));
         }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.plugin.base.condition.strategy.MatchStrategy;
+import org.dromara.soul.plugin.divide.balance.LoadBalance;
+import org.dromara.soul.spi.ExtensionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The ExtensionLoader benchmark, the joins are created in the setup so only the cached lookup is measured.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtensionLoaderBenchmark {
+    
+    private ExtensionLoader<LoadBalance> loadBalanceLoader;
+    
+    /**
+     * Create the joins.
+     */
+    @Setup
+    public void setup() {
+        loadBalanceLoader = ExtensionLoader.getExtensionLoader(LoadBalance.class);
+        loadBalanceLoader.getJoin("random");
+        ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoin("and");
+    }
+    
+    /**
+     * Get the join from the loader which is already held.
+     *
+     * @return the load balance
+     */
+    @Benchmark
+    public LoadBalance getJoin() {
+        return loadBalanceLoader.getJoin("random");
+    }
+    
+    /**
+     * Get the loader and then the join, as the plugins do on every request.
+     *
+     * @return the match strategy
+     */
+    @Benchmark
+    public MatchStrategy getExtensionLoaderAndJoin() {
+        return ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoin("and");
+    }
+}
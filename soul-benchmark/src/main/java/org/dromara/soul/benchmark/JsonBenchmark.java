@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The json benchmark of the selector and the rule data, as they are synced from the admin.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    
+    private SelectorData selectorData;
+    
+    private RuleData ruleData;
+    
+    private String selectorJson;
+    
+    private String ruleJson;
+    
+    /**
+     * Build the data and its json.
+     */
+    @Setup
+    public void setup() {
+        List<ConditionData> conditionDataList = new ArrayList<>(2);
+        conditionDataList.add(new ConditionData(ParamTypeEnum.URI.getName(), OperatorEnum.MATCH.getAlias(), "/", "/http/order/**"));
+        conditionDataList.add(new ConditionData(ParamTypeEnum.HEADER.getName(), OperatorEnum.EQ.getAlias(), "env", "prod"));
+        selectorData = new SelectorData("1", "5", "divide", "/http", MatchModeEnum.AND.getCode(), SelectorTypeEnum.CUSTOM_FLOW.getCode(), 1, true, true, true,
+                "[{\"upstreamHost\":\"localhost\",\"protocol\":\"http://\",\"upstreamUrl\":\"127.0.0.1:8187\",\"weight\":\"50\"},"
+                        + "{\"upstreamHost\":\"localhost\",\"protocol\":\"http://\",\"upstreamUrl\":\"127.0.0.1:8188\",\"weight\":\"50\"}]",
+                conditionDataList);
+        ruleData = new RuleData("1", "/http/order/findById", "divide", "1", MatchModeEnum.AND.getCode(), 1, true, true,
+                "{\"loadBalance\":\"random\",\"retry\":0,\"timeout\":3000}", conditionDataList);
+        selectorJson = GsonUtils.getInstance().toJson(selectorData);
+        ruleJson = GsonUtils.getInstance().toJson(ruleData);
+    }
+    
+    /**
+     * Encode the selector data with gson.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String gsonEncodeSelector() {
+        return GsonUtils.getInstance().toJson(selectorData);
+    }
+    
+    /**
+     * Decode the selector data with gson.
+     *
+     * @return the selector data
+     */
+    @Benchmark
+    public SelectorData gsonDecodeSelector() {
+        return GsonUtils.getInstance().fromJson(selectorJson, SelectorData.class);
+    }
+    
+    /**
+     * Encode the rule data with gson.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String gsonEncodeRule() {
+        return GsonUtils.getInstance().toJson(ruleData);
+    }
+    
+    /**
+     * Decode the rule data with gson.
+     *
+     * @return the rule data
+     */
+    @Benchmark
+    public RuleData gsonDecodeRule() {
+        return GsonUtils.getInstance().fromJson(ruleJson, RuleData.class);
+    }
+    
+    /**
+     * Encode the selector data with jackson.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String jacksonEncodeSelector() {
+        return JsonUtils.toJson(selectorData);
+    }
+    
+    /**
+     * Encode the rule data with jackson.
+     *
+     * @return the json
+     */
+    @Benchmark
+    public String jacksonEncodeRule() {
+        return JsonUtils.toJson(ruleData);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.plugin.divide.balance.LoadBalance;
+import org.dromara.soul.spi.ExtensionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The load balance benchmark of every LoadBalance spi, the upstreams have different weights.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBalanceBenchmark {
+    
+    private static final int IP_COUNT = 256;
+    
+    @Param({"hash", "random", "roundRobin"})
+    private String algorithm;
+    
+    @Param({"1", "10", "100"})
+    private int upstreamCount;
+    
+    private LoadBalance loadBalance;
+    
+    private List<DivideUpstream> upstreamList;
+    
+    private String[] ips;
+    
+    private int ipIndex;
+    
+    /**
+     * Build the upstreams and look up the load balance.
+     */
+    @Setup
+    public void setup() {
+        loadBalance = ExtensionLoader.getExtensionLoader(LoadBalance.class).getJoin(algorithm);
+        upstreamList = new ArrayList<>(upstreamCount);
+        for (int i = 0; i < upstreamCount; i++) {
+            DivideUpstream divideUpstream = new DivideUpstream();
+            divideUpstream.setUpstreamHost("localhost");
+            divideUpstream.setProtocol("http://");
+            divideUpstream.setUpstreamUrl("192.168." + (i / 250) + "." + (i % 250 + 1) + ":8080");
+            divideUpstream.setWeight((i % 3 + 1) * 10);
+            upstreamList.add(divideUpstream);
+        }
+        ips = new String[IP_COUNT];
+        for (int i = 0; i < IP_COUNT; i++) {
+            ips[i] = "10.0.0." + i;
+        }
+    }
+    
+    /**
+     * Select one upstream for the next client ip.
+     *
+     * @return the divide upstream
+     */
+    @Benchmark
+    public DivideUpstream select() {
+        ipIndex = (ipIndex + 1) & (IP_COUNT - 1);
+        return loadBalance.select(upstreamList, ips[ipIndex]);
+    }
+}
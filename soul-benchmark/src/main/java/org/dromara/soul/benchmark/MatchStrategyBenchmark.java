@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
+import org.dromara.soul.plugin.base.utils.MatchStrategyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The match strategy benchmark, the conditions are chosen so that every one of them is evaluated:
+ * all of them match for the and strategy, only the last one matches for the or strategy.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchStrategyBenchmark {
+    
+    @Param({"and", "or"})
+    private String strategy;
+    
+    private Integer matchMode;
+    
+    private List<ConditionData> conditionDataList;
+    
+    private ConditionMatcher conditionMatcher;
+    
+    private ServerWebExchange exchange;
+    
+    /**
+     * Build the conditions and compile them.
+     */
+    @Setup
+    public void setup() {
+        boolean and = MatchModeEnum.AND.getName().equals(strategy);
+        matchMode = and ? MatchModeEnum.AND.getCode() : MatchModeEnum.OR.getCode();
+        conditionDataList = new ArrayList<>(4);
+        conditionDataList.add(new ConditionData(ParamTypeEnum.URI.getName(), OperatorEnum.MATCH.getAlias(), "/", and ? "/http/order/**" : "/dubbo/**"));
+        conditionDataList.add(new ConditionData(ParamTypeEnum.HEADER.getName(), OperatorEnum.EQ.getAlias(), "env", and ? "prod" : "test"));
+        conditionDataList.add(new ConditionData(ParamTypeEnum.QUERY.getName(), OperatorEnum.LIKE.getAlias(), "name", and ? "soul" : "gateway"));
+        conditionDataList.add(new ConditionData(ParamTypeEnum.URI.getName(), OperatorEnum.REGEX.getAlias(), "/", "/http/order/find.*"));
+        conditionMatcher = MatchStrategyUtils.compile(matchMode, conditionDataList);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById?name=soul-order").header("env", "prod").build());
+    }
+    
+    /**
+     * Look up the strategy and evaluate the condition data on every call.
+     *
+     * @return the boolean
+     */
+    @Benchmark
+    public boolean match() {
+        return MatchStrategyUtils.match(matchMode, conditionDataList, exchange);
+    }
+    
+    /**
+     * Evaluate the matcher compiled when the data is synced.
+     *
+     * @return the boolean
+     */
+    @Benchmark
+    public boolean compiled() {
+        return conditionMatcher.match(exchange);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.enums.RpcTypeEnum;
+import org.dromara.soul.plugin.global.cache.MetaDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The MetaDataCache benchmark, every tenth meta data path is a pattern.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetaDataCacheBenchmark {
+    
+    @Param({"10", "1000", "10000"})
+    private int metaDataCount;
+    
+    private String exactPath;
+    
+    private String patternPath;
+    
+    /**
+     * Cache the meta data.
+     */
+    @Setup
+    public void setup() {
+        List<MetaData> metaDataList = new ArrayList<>(metaDataCount);
+        for (int i = 0; i < metaDataCount; i++) {
+            MetaData metaData = new MetaData();
+            metaData.setId(String.valueOf(i));
+            metaData.setAppName("app" + i);
+            metaData.setContextPath("/app" + i);
+            metaData.setPath(i % 10 == 0 ? "/app" + i + "/service/**" : "/app" + i + "/service/method");
+            metaData.setRpcType(RpcTypeEnum.DUBBO.getName());
+            metaData.setServiceName("org.dromara.soul.Service" + i);
+            metaData.setMethodName("method");
+            metaData.setEnabled(true);
+            metaDataList.add(metaData);
+        }
+        MetaDataCache.getInstance().refresh(metaDataList);
+        exactPath = "/app" + (metaDataCount - 1) + "/service/method";
+        patternPath = "/app" + (metaDataCount - 10) + "/service/findById";
+    }
+    
+    /**
+     * Obtain the meta data whose path is the request path.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData obtainExact() {
+        return MetaDataCache.getInstance().obtain(exactPath);
+    }
+    
+    /**
+     * Obtain the meta data whose path pattern matches the request path.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData obtainPattern() {
+        return MetaDataCache.getInstance().obtain(patternPath);
+    }
+    
+    /**
+     * Obtain the meta data of a path nothing matches.
+     *
+     * @return the meta data
+     */
+    @Benchmark
+    public MetaData obtainMiss() {
+        return MetaDataCache.getInstance().obtain("/none/service/method");
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import com.google.common.base.Splitter;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.dromara.soul.common.utils.PathMatchUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * The path match benchmark, the compiled patterns of PathMatchUtils against the split and AntPathMatcher on every call.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathMatchBenchmark {
+    
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+    
+    private static final String[] PATHS = {"/http/order/findById", "/http/order/save", "/http/user/1/detail", "/dubbo/findAll"};
+    
+    @Param({"/http/order/findById", "/http/**", "/http/order/*,/http/user/**", "/http/{module}/find*"})
+    private String matchUrls;
+    
+    private Predicate<String> compiled;
+    
+    /**
+     * Compile the patterns.
+     */
+    @Setup
+    public void setup() {
+        compiled = PathMatchUtils.compile(matchUrls);
+    }
+    
+    /**
+     * The split and AntPathMatcher on every call, as PathMatchUtils did before.
+     *
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void antPathMatcher(final Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(Splitter.on(",").omitEmptyStrings().trimResults().splitToList(matchUrls).stream().anyMatch(url -> ANT_PATH_MATCHER.match(url, path)));
+        }
+    }
+    
+    /**
+     * The patterns compiled once.
+     *
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void compiled(final Blackhole blackhole) {
+        for (String path : PATHS) {
+            blackhole.consume(compiled.test(path));
+        }
+    }
+}
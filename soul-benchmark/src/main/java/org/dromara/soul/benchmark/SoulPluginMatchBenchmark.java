@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.plugin.base.AbstractSoulPlugin;
+import org.dromara.soul.plugin.base.cache.BaseDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * The selector and rule match benchmark of AbstractSoulPlugin, every selector has its own uri prefix and one rule.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoulPluginMatchBenchmark {
+    
+    private static final String PLUGIN_NAME = "benchmark";
+    
+    private static final SoulPluginChain CHAIN = exchange -> Mono.empty();
+    
+    @Param({"1", "10", "100", "1000"})
+    private int selectorCount;
+    
+    private AbstractSoulPlugin plugin;
+    
+    private ServerWebExchange firstExchange;
+    
+    private ServerWebExchange lastExchange;
+    
+    private ServerWebExchange missExchange;
+    
+    /**
+     * Cache the plugin, the selectors and the rules.
+     */
+    @Setup
+    public void setup() {
+        List<SelectorData> selectorDataList = new ArrayList<>(selectorCount);
+        List<RuleData> ruleDataList = new ArrayList<>(selectorCount);
+        for (int i = 0; i < selectorCount; i++) {
+            selectorDataList.add(buildSelectorData(i));
+            ruleDataList.add(buildRuleData(i));
+        }
+        BaseDataCache.getInstance().refreshPluginData(Collections.singletonList(new PluginData("1", PLUGIN_NAME, null, 0, true)));
+        BaseDataCache.getInstance().refreshSelectorData(selectorDataList);
+        BaseDataCache.getInstance().refreshRuleData(ruleDataList);
+        plugin = new BenchmarkPlugin();
+        firstExchange = buildExchange("/svc0/findById");
+        lastExchange = buildExchange("/svc" + (selectorCount - 1) + "/findById");
+        missExchange = buildExchange("/none/findById");
+    }
+    
+    /**
+     * Match the first selector.
+     *
+     * @return the mono
+     */
+    @Benchmark
+    public Mono<Void> matchFirst() {
+        return plugin.execute(firstExchange, CHAIN);
+    }
+    
+    /**
+     * Match the last selector.
+     *
+     * @return the mono
+     */
+    @Benchmark
+    public Mono<Void> matchLast() {
+        return plugin.execute(lastExchange, CHAIN);
+    }
+    
+    /**
+     * Match no selector.
+     *
+     * @return the mono
+     */
+    @Benchmark
+    public Mono<Void> matchNone() {
+        return plugin.execute(missExchange, CHAIN);
+    }
+    
+    private static ServerWebExchange buildExchange(final String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).header("env", "prod").build());
+    }
+    
+    private static SelectorData buildSelectorData(final int index) {
+        SelectorData selectorData = new SelectorData();
+        selectorData.setId("selector-" + index);
+        selectorData.setPluginName(PLUGIN_NAME);
+        selectorData.setName("selector-" + index);
+        selectorData.setMatchMode(MatchModeEnum.AND.getCode());
+        selectorData.setType(SelectorTypeEnum.CUSTOM_FLOW.getCode());
+        selectorData.setSort(index);
+        selectorData.setEnabled(true);
+        selectorData.setLoged(false);
+        selectorData.setContinued(true);
+        selectorData.setConditionList(Collections.singletonList(
+                new ConditionData(ParamTypeEnum.URI.getName(), OperatorEnum.MATCH.getAlias(), "/", "/svc" + index + "/**")));
+        return selectorData;
+    }
+    
+    private static RuleData buildRuleData(final int index) {
+        List<ConditionData> conditionDataList = new ArrayList<>(2);
+        conditionDataList.add(new ConditionData(ParamTypeEnum.URI.getName(), OperatorEnum.MATCH.getAlias(), "/", "/svc" + index + "/find*"));
+        conditionDataList.add(new ConditionData(ParamTypeEnum.HEADER.getName(), OperatorEnum.EQ.getAlias(), "env", "prod"));
+        return new RuleData().setId("rule-" + index)
+                .setName("rule-" + index)
+                .setPluginName(PLUGIN_NAME)
+                .setSelectorId("selector-" + index)
+                .setMatchMode(MatchModeEnum.AND.getCode())
+                .setSort(index)
+                .setEnabled(true)
+                .setLoged(false)
+                .setConditionDataList(conditionDataList);
+    }
+    
+    private static final class BenchmarkPlugin extends AbstractSoulPlugin {
+        
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
+            return chain.execute(exchange);
+        }
+        
+        @Override
+        public String named() {
+            return PLUGIN_NAME;
+        }
+        
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
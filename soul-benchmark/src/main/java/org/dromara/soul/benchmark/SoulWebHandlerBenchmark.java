@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.dromara.soul.plugin.api.SoulPlugin;
+import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.web.handler.SoulWebHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * The SoulWebHandler benchmark of the soul.scheduler.type, the benchmark threads stand for the netty event loops.
+ *
+ * @author xiaoyu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SoulWebHandlerBenchmark {
+    
+    private static final int PLUGIN_COUNT = 10;
+    
+    @Param({"fixed", "elastic", "direct"})
+    private String schedulerType;
+    
+    private SoulWebHandler soulWebHandler;
+    
+    /**
+     * Create the handler with the scheduler type.
+     */
+    @Setup
+    public void setup() {
+        System.setProperty("soul.scheduler.type", schedulerType);
+        List<SoulPlugin> plugins = new ArrayList<>(PLUGIN_COUNT);
+        for (int i = 0; i < PLUGIN_COUNT; i++) {
+            plugins.add(new PassPlugin(i));
+        }
+        soulWebHandler = new SoulWebHandler(plugins);
+    }
+    
+    /**
+     * Handle one request and wait for it.
+     */
+    @Benchmark
+    public void handle() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order/findById").build());
+        soulWebHandler.handle(exchange).block();
+    }
+    
+    private static final class PassPlugin implements SoulPlugin {
+        
+        private final int order;
+        
+        PassPlugin(final int order) {
+            this.order = order;
+        }
+        
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            return chain.execute(exchange);
+        }
+        
+        @Override
+        public int getOrder() {
+            return order;
+        }
+        
+        @Override
+        public String named() {
+            return "pass" + order;
+        }
+    }
+}
@@ -66,6 +66,11 @@ public interface Constants {
      */
     String CLIENT_RESPONSE_CONN_ATTR = "nettyClientResponseConnection";
     
+    /**
+     * The constant CLIENT_RESPONSE_BODY_ATTR, the aggregated body of a response which is shared by the coalesced requests.
+     */
+    String CLIENT_RESPONSE_BODY_ATTR = "nettyClientResponseBody";
+    
     /**
      * The constant HTTP_TIME_OUT.
      */
@@ -82,6 +87,21 @@ public interface Constants {
      */
     String HTTP_URL = "httpUrl";
     
+    /**
+     * The constant UPSTREAM_CALL_LISTENER, the listener of the call to the selected upstream.
+     */
+    String UPSTREAM_CALL_LISTENER = "upstreamCallListener";
+    
+    /**
+     * The constant UPSTREAM_RETRY_POLICY, the policy which hands out another upstream for a retry or a hedged request.
+     */
+    String UPSTREAM_RETRY_POLICY = "upstreamRetryPolicy";
+    
+    /**
+     * The constant UPSTREAM_COALESCE_KEY, the concurrent requests with the same key share one call to the upstream.
+     */
+    String UPSTREAM_COALESCE_KEY = "upstreamCoalesceKey";
+    
     /**
      * The constant DUBBO_PARAMS.
      */
@@ -52,4 +52,14 @@ public class DivideUpstream implements Serializable {
      */
     private int weight;
 
+    /**
+     * the registration time in millis, the weight ramps up from it during the warm up, 0 means no warm up.
+     */
+    private long timestamp;
+
+    /**
+     * the warm up millis, 0 means the default of the gateway.
+     */
+    private int warmup;
+
 }
@@ -38,6 +38,34 @@ public class RateLimiterHandle {
      */
     private double burstCapacity;
 
+    /**
+     * algorithm, token bucket by default.
+     * {@linkplain org.dromara.soul.common.enums.RateLimiterAlgorithmEnum}
+     */
+    private String algorithm;
+
+    /**
+     * key resolver, rule by default.
+     * {@linkplain org.dromara.soul.common.enums.RateLimiterKeyResolverEnum}
+     */
+    private String keyResolver;
+
+    /**
+     * the name of the header or the query param of the key resolver.
+     */
+    private String keyName;
+
+    /**
+     * mode, redis by default.
+     * {@linkplain org.dromara.soul.common.enums.RateLimiterModeEnum}
+     */
+    private String mode;
+
+    /**
+     * the max ratio of the burst capacity which one node leases in lease mode.
+     */
+    private double leaseRatio = 0.1;
+
     /**
      * loged.
      */
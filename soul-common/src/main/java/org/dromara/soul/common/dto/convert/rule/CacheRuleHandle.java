@@ -0,0 +1,42 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.dto.convert.rule;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * The type Cache rule handle.
+ *
+ * @author xiaoyu
+ */
+@Data
+public class CacheRuleHandle implements Serializable {
+
+    /**
+     * the seconds a response is cached, a shorter max-age or s-maxage of the response wins.
+     */
+    private long ttl = 60;
+
+    /**
+     * the request headers which are part of the cache key besides method, path and query, separated by comma.
+     */
+    private String keyHeaders;
+}
@@ -38,10 +38,32 @@ public class DivideRuleHandle implements Serializable {
     private String loadBalance;
 
     /**
-     * http retry.
+     * http retry, the max retries on another upstream after a connect failure or a 5xx response.
+     * only the idempotent requests without body are retried.
      */
     private int retry;
 
+    /**
+     * send a second GET to another upstream when the first has no response after the p95 latency of the rule,
+     * the first response wins.
+     */
+    private boolean hedge;
+
+    /**
+     * the retries and the hedged requests may add at most this ratio to the requests of the rule.
+     */
+    private double retryBudget = 0.2;
+
+    /**
+     * the concurrent identical GETs share one call to the upstream and its response.
+     */
+    private boolean coalesce;
+
+    /**
+     * the request headers which are part of the coalescing key besides method, path and query, separated by comma.
+     */
+    private String coalesceHeaders;
+
     /**
      * timeout is required.
      */
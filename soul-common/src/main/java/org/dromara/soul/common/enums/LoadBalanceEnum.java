@@ -43,7 +43,12 @@ public enum LoadBalanceEnum {
     /**
      * Round robin load balance enum.
      */
-    ROUND_ROBIN(3, "roundRobin", true);
+    ROUND_ROBIN(3, "roundRobin", true),
+
+    /**
+     * Least request load balance enum.
+     */
+    LEAST_REQUEST(4, "leastRequest", true);
 
     private final int code;
 
@@ -62,6 +62,11 @@ public enum PluginEnum {
      */
     REDIRECT(40, 0, "redirect"),
 
+    /**
+     * Cache plugin enum.
+     */
+    CACHE(42, 0, "cache"),
+
 
     /**
      * Hystrix plugin enum.
@@ -0,0 +1,68 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * The enum Rate limiter algorithm enum, how the requests of a rate limiter rule are counted.
+ *
+ * @author xiaoyu
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RateLimiterAlgorithmEnum {
+
+    /**
+     * Token bucket algorithm enum, the bucket refills replenishRate tokens per second up to burstCapacity.
+     */
+    TOKEN_BUCKET("tokenBucket"),
+
+    /**
+     * Sliding window algorithm enum, at most burstCapacity requests in any window of burstCapacity / replenishRate seconds.
+     */
+    SLIDING_WINDOW("slidingWindow"),
+
+    /**
+     * Leaky bucket algorithm enum, the requests are queued up to burstCapacity and let through at replenishRate per second.
+     */
+    LEAKY_BUCKET("leakyBucket"),
+
+    /**
+     * Concurrent algorithm enum, at most burstCapacity requests in flight.
+     */
+    CONCURRENT("concurrent");
+
+    private final String name;
+
+    /**
+     * Acquire by name rate limiter algorithm enum.
+     *
+     * @param name the name
+     * @return the rate limiter algorithm enum, token bucket by default
+     */
+    public static RateLimiterAlgorithmEnum acquireByName(final String name) {
+        return Arrays.stream(RateLimiterAlgorithmEnum.values())
+                .filter(e -> e.getName().equals(name)).findFirst()
+                .orElse(RateLimiterAlgorithmEnum.TOKEN_BUCKET);
+    }
+}
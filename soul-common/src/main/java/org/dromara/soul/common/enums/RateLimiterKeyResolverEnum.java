@@ -0,0 +1,73 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * The enum Rate limiter key resolver enum, which client of a rate limiter rule a request is counted for.
+ *
+ * @author xiaoyu
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RateLimiterKeyResolverEnum {
+
+    /**
+     * Rule key resolver enum, all the requests of the rule share the limit.
+     */
+    RULE("rule"),
+
+    /**
+     * Ip key resolver enum, the limit is applied per client ip.
+     */
+    IP("ip"),
+
+    /**
+     * Header key resolver enum, the limit is applied per value of the header keyName.
+     */
+    HEADER("header"),
+
+    /**
+     * App key resolver enum, the limit is applied per appKey of the soul context.
+     */
+    APP_KEY("appKey"),
+
+    /**
+     * Param key resolver enum, the limit is applied per value of the query param keyName.
+     */
+    PARAM("param");
+
+    private final String name;
+
+    /**
+     * Acquire by name rate limiter key resolver enum.
+     *
+     * @param name the name
+     * @return the rate limiter key resolver enum, rule by default
+     */
+    public static RateLimiterKeyResolverEnum acquireByName(final String name) {
+        return Arrays.stream(RateLimiterKeyResolverEnum.values())
+                .filter(e -> e.getName().equals(name)).findFirst()
+                .orElse(RateLimiterKeyResolverEnum.RULE);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The enum Rate limiter mode enum, where the tokens of a rate limiter rule are kept.
+ *
+ * @author xiaoyu
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RateLimiterModeEnum {
+
+    /**
+     * Redis rate limiter mode enum, the limit is shared by the gateway cluster.
+     */
+    REDIS("redis"),
+
+    /**
+     * Local rate limiter mode enum, the limit is enforced by every gateway node on its own.
+     */
+    LOCAL("local"),
+
+    /**
+     * Lease rate limiter mode enum, the limit is shared by the gateway cluster and every node leases the tokens in batches.
+     */
+    LEASE("lease");
+
+    private final String name;
+
+}
@@ -0,0 +1,302 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The ant style path pattern, compiled once and matched segment by segment over the raw path.
+ *
+ * <p>It matches the same paths as {@code AntPathMatcher.match} with the default settings,
+ * but the pattern is tokenized only once and the match does not tokenize or copy the path.
+ *
+ * @author xiaoyu
+ */
+public final class AntPathPattern {
+
+    private static final char SEPARATOR = '/';
+
+    private static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
+
+    private static final String DEFAULT_VARIABLE_PATTERN = "(.*)";
+
+    private final String pattern;
+
+    private final boolean absolute;
+
+    private final boolean trailingSeparator;
+
+    private final boolean hasDoubleWildcard;
+
+    private final Segment[] segments;
+
+    private AntPathPattern(final String pattern) {
+        this.pattern = pattern;
+        this.absolute = pattern.length() > 0 && pattern.charAt(0) == SEPARATOR;
+        this.trailingSeparator = endsWithSeparator(pattern);
+        final List<Segment> segmentList = new ArrayList<>();
+        int pos = 0;
+        while (pos < pattern.length()) {
+            final int end = segmentEnd(pattern, pos);
+            if (end > pos) {
+                segmentList.add(Segment.compile(pattern.substring(pos, end)));
+            }
+            pos = end + 1;
+        }
+        this.segments = segmentList.toArray(new Segment[0]);
+        this.hasDoubleWildcard = segmentList.stream().anyMatch(segment -> segment.type == SegmentType.DOUBLE_WILDCARD);
+    }
+
+    /**
+     * Compile the ant style pattern.
+     *
+     * @param pattern the pattern
+     * @return the ant path pattern
+     */
+    public static AntPathPattern compile(final String pattern) {
+        return new AntPathPattern(pattern);
+    }
+
+    /**
+     * Gets the pattern.
+     *
+     * @return the pattern
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Match the path.
+     *
+     * @param path the path
+     * @return the boolean
+     */
+    public boolean match(final String path) {
+        if (path == null || (path.length() > 0 && path.charAt(0) == SEPARATOR) != absolute) {
+            return false;
+        }
+        if (hasDoubleWildcard) {
+            return matchFrom(path, 0, skipSeparator(path, 0));
+        }
+        int pos = skipSeparator(path, 0);
+        for (int i = 0; i < segments.length; i++) {
+            if (pos >= path.length()) {
+                // the path is exhausted, a last '*' still matches a path that ends with the separator.
+                return i == segments.length - 1 && segments[i].type == SegmentType.WILDCARD_ONLY && endsWithSeparator(path);
+            }
+            final int end = segmentEnd(path, pos);
+            if (!segments[i].match(path, pos, end)) {
+                return false;
+            }
+            pos = skipSeparator(path, end);
+        }
+        return pos >= path.length() && trailingSeparator == endsWithSeparator(path);
+    }
+
+    private boolean matchFrom(final String path, final int segmentIndex, final int pos) {
+        int index = segmentIndex;
+        int current = pos;
+        while (index < segments.length) {
+            final Segment segment = segments[index];
+            if (segment.type == SegmentType.DOUBLE_WILDCARD) {
+                while (index + 1 < segments.length && segments[index + 1].type == SegmentType.DOUBLE_WILDCARD) {
+                    index++;
+                }
+                if (index + 1 == segments.length) {
+                    return true;
+                }
+                // '**' takes zero or more segments, try every segment start for the rest of the pattern.
+                int next = current;
+                while (true) {
+                    if (matchFrom(path, index + 1, next)) {
+                        return true;
+                    }
+                    if (next >= path.length()) {
+                        return false;
+                    }
+                    next = skipSeparator(path, segmentEnd(path, next));
+                }
+            }
+            if (current >= path.length()) {
+                return false;
+            }
+            final int end = segmentEnd(path, current);
+            if (!segment.match(path, current, end)) {
+                return false;
+            }
+            current = skipSeparator(path, end);
+            index++;
+        }
+        return current >= path.length();
+    }
+
+    private static boolean endsWithSeparator(final String value) {
+        return value.length() > 0 && value.charAt(value.length() - 1) == SEPARATOR;
+    }
+
+    private static int segmentEnd(final String value, final int pos) {
+        final int end = value.indexOf(SEPARATOR, pos);
+        return end < 0 ? value.length() : end;
+    }
+
+    private static int skipSeparator(final String value, final int pos) {
+        int current = pos;
+        while (current < value.length() && value.charAt(current) == SEPARATOR) {
+            current++;
+        }
+        return current;
+    }
+
+    private enum SegmentType {
+
+        LITERAL,
+
+        WILDCARD_ONLY,
+
+        DOUBLE_WILDCARD,
+
+        GLOB,
+
+        REGEX
+    }
+
+    private static final class Segment {
+
+        private final SegmentType type;
+
+        private final String value;
+
+        private final ThreadLocal<Matcher> matcherHolder;
+
+        private Segment(final SegmentType type, final String value, final Pattern regex) {
+            this.type = type;
+            this.value = value;
+            this.matcherHolder = regex == null ? null : ThreadLocal.withInitial(() -> regex.matcher(""));
+        }
+
+        static Segment compile(final String value) {
+            if ("**".equals(value)) {
+                return new Segment(SegmentType.DOUBLE_WILDCARD, value, null);
+            }
+            if ("*".equals(value)) {
+                return new Segment(SegmentType.WILDCARD_ONLY, value, null);
+            }
+            if (value.indexOf('{') >= 0) {
+                return compileRegex(value);
+            }
+            if (value.indexOf('*') >= 0 || value.indexOf('?') >= 0) {
+                return new Segment(SegmentType.GLOB, value, null);
+            }
+            return new Segment(SegmentType.LITERAL, value, null);
+        }
+
+        private static Segment compileRegex(final String value) {
+            final StringBuilder builder = new StringBuilder();
+            final Matcher matcher = GLOB_PATTERN.matcher(value);
+            int end = 0;
+            while (matcher.find()) {
+                builder.append(quote(value, end, matcher.start()));
+                final String match = matcher.group();
+                if ("?".equals(match)) {
+                    builder.append('.');
+                } else if ("*".equals(match)) {
+                    builder.append(".*");
+                } else {
+                    final int colonIdx = match.indexOf(':');
+                    if (colonIdx == -1) {
+                        builder.append(DEFAULT_VARIABLE_PATTERN);
+                    } else {
+                        builder.append('(').append(match, colonIdx + 1, match.length() - 1).append(')');
+                    }
+                }
+                end = matcher.end();
+            }
+            if (end == 0) {
+                return new Segment(SegmentType.LITERAL, value, null);
+            }
+            builder.append(quote(value, end, value.length()));
+            return new Segment(SegmentType.REGEX, value, Pattern.compile(builder.toString()));
+        }
+
+        private static String quote(final String value, final int start, final int end) {
+            return start == end ? "" : Pattern.quote(value.substring(start, end));
+        }
+
+        boolean match(final String path, final int start, final int end) {
+            switch (type) {
+                case LITERAL:
+                    return end - start == value.length() && path.regionMatches(start, value, 0, value.length());
+                case WILDCARD_ONLY:
+                    return matchAny(path, start, end);
+                case GLOB:
+                    return matchGlob(path, start, end);
+                case REGEX:
+                    return matcherHolder.get().reset(path).region(start, end).matches();
+                default:
+                    return false;
+            }
+        }
+
+        private boolean matchGlob(final String path, final int start, final int end) {
+            int p = 0;
+            int s = start;
+            int starP = -1;
+            int starS = -1;
+            while (s < end) {
+                if (p < value.length() && value.charAt(p) == '*') {
+                    starP = p++;
+                    starS = s;
+                } else if (p < value.length() && (value.charAt(p) == '?' ? isWildcardChar(path.charAt(s)) : value.charAt(p) == path.charAt(s))) {
+                    p++;
+                    s++;
+                } else if (starP >= 0 && isWildcardChar(path.charAt(starS))) {
+                    p = starP + 1;
+                    s = ++starS;
+                } else {
+                    return false;
+                }
+            }
+            while (p < value.length() && value.charAt(p) == '*') {
+                p++;
+            }
+            return p == value.length();
+        }
+
+        private static boolean matchAny(final String path, final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                if (!isWildcardChar(path.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * the '.' of the regex which AntPathMatcher builds does not match a line terminator.
+         */
+        private static boolean isWildcardChar(final char c) {
+            return c != '\n' && c != '\r' && c != 0x85 && c != 0x2028 && c != 0x2029;
+        }
+    }
+}
@@ -20,7 +20,9 @@
 package org.dromara.soul.common.utils;
 
 import com.google.common.base.Splitter;
-import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * The type Path match utils.
@@ -29,7 +31,7 @@ import org.springframework.util.AntPathMatcher;
  */
 public class PathMatchUtils {
     
-    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    private static final Splitter SPLITTER = Splitter.on(",").omitEmptyStrings().trimResults();
     
     /**
      * Match boolean.
@@ -39,11 +41,30 @@ public class PathMatchUtils {
      * @return the boolean
      */
     public static boolean match(final String matchUrls, final String path) {
-        return Splitter.on(",").omitEmptyStrings().trimResults().splitToList(matchUrls).stream().anyMatch(url -> reg(url, path));
+        return compile(matchUrls).test(path);
     }
     
-    private static boolean reg(final String pattern, final String path) {
-        return MATCHER.match(pattern, path);
+    /**
+     * Compile the comma separated ant style patterns once, then match the path without tokenizing the patterns again.
+     *
+     * @param matchUrls the match urls
+     * @return the predicate of the path
+     */
+    public static Predicate<String> compile(final String matchUrls) {
+        final List<String> urls = SPLITTER.splitToList(matchUrls);
+        if (urls.size() == 1) {
+            final AntPathPattern pathPattern = AntPathPattern.compile(urls.get(0));
+            return pathPattern::match;
+        }
+        final AntPathPattern[] pathPatterns = urls.stream().map(AntPathPattern::compile).toArray(AntPathPattern[]::new);
+        return path -> {
+            for (AntPathPattern pathPattern : pathPatterns) {
+                if (pathPattern.match(path)) {
+                    return true;
+                }
+            }
+            return false;
+        };
     }
     
 }
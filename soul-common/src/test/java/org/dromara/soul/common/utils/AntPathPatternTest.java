@@ -0,0 +1,99 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.common.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Random;
+
+/**
+ * The type Ant path pattern test.
+ *
+ * @author xiaoyu
+ */
+public class AntPathPatternTest {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private static final String[] PATTERN_SEGMENTS = {"a", "b", "ab", "*", "**", "?", "a*", "*b", "a?b", "{id}", "{id:[0-9]+}", "x{id}y", ""};
+
+    private static final String[] PATH_SEGMENTS = {"a", "b", "ab", "abb", "aab", "1", "12", "x1y", "xy", "", "axb"};
+
+    /**
+     * Same as ant path matcher.
+     */
+    @Test
+    public void sameAsAntPathMatcher() {
+        String[] patterns = {"/", "/**", "/a/**", "/a/*", "/a/*/", "/a/b", "/a/b/", "/**/b", "/a/**/b", "/a/**/b/**/c", "/*/**", "a/*", "*", "",
+            "/a/{id}", "/a/{id:[0-9]+}/b", "/a?b/*b", "/http/**", "/**/**/a"};
+        String[] paths = {"/", "", "/a", "/a/", "/a/b", "/a/b/", "//a//b", "/a/x/b", "/a/x/y/b/c", "/a/b/c", "a/b", "a", "/a/12/b", "/a/1x/b", "/axb/cb", "/http/test/a"};
+        for (String pattern : patterns) {
+            for (String path : paths) {
+                assertSame(pattern, path);
+            }
+        }
+    }
+
+    /**
+     * Same as ant path matcher for random patterns.
+     */
+    @Test
+    public void sameAsAntPathMatcherRandom() {
+        Random random = new Random(2020);
+        for (int i = 0; i < 20000; i++) {
+            assertSame(random(random, PATTERN_SEGMENTS), random(random, PATH_SEGMENTS));
+        }
+    }
+
+    /**
+     * Match comma separated patterns.
+     */
+    @Test
+    public void matchCommaSeparated() {
+        Assert.assertTrue(PathMatchUtils.match("/a/** , /b/*", "/b/c"));
+        Assert.assertTrue(PathMatchUtils.compile("/a/**,/b/*").test("/a/c/d"));
+        Assert.assertFalse(PathMatchUtils.compile("/a/**,/b/*").test("/b/c/d"));
+        Assert.assertFalse(PathMatchUtils.compile(" , ").test("/b"));
+    }
+
+    private static String random(final Random random, final String[] segments) {
+        StringBuilder builder = new StringBuilder();
+        if (random.nextInt(10) > 0) {
+            builder.append('/');
+        }
+        int size = random.nextInt(5);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append('/');
+            }
+            builder.append(segments[random.nextInt(segments.length)]);
+        }
+        if (random.nextInt(5) == 0) {
+            builder.append('/');
+        }
+        return builder.toString();
+    }
+
+    private static void assertSame(final String pattern, final String path) {
+        Assert.assertEquals(pattern + " -> " + path, MATCHER.match(pattern, path), AntPathPattern.compile(pattern).match(path));
+    }
+}
@@ -19,6 +19,7 @@ package org.dromara.soul.metrics.prometheus;
 
 import org.dromara.soul.metrics.api.MetricsTracker;
 import org.dromara.soul.metrics.api.MetricsTrackerFactory;
+import org.dromara.soul.metrics.prometheus.impl.counter.CacheRequestCounterMetricsTracker;
 import org.dromara.soul.metrics.prometheus.impl.counter.HttpRequestCounterMetricsTracker;
 import org.dromara.soul.metrics.prometheus.impl.counter.RequestTotalCounterMetricsTracker;
 import org.dromara.soul.metrics.prometheus.impl.histogram.RequestLatencyHistogramMetricsTracker;
@@ -38,6 +39,7 @@ public final class PrometheusMetricsTrackerFactory implements MetricsTrackerFact
     static {
         REGISTER.add(new RequestTotalCounterMetricsTracker());
         REGISTER.add(new HttpRequestCounterMetricsTracker());
+        REGISTER.add(new CacheRequestCounterMetricsTracker());
         REGISTER.add(new RequestLatencyHistogramMetricsTracker());
         REGISTER.add(new RequestLatencySummaryMetricsTracker());
     }
@@ -40,7 +40,12 @@ public enum MetricsLabelEnum {
     /**
      * Request latency metrics label.
      */
-    REQUEST_LATENCY("request_latency");
+    REQUEST_LATENCY("request_latency"),
+    
+    /**
+     * Cache request total metrics label, by the result: hit, miss or bypass.
+     */
+    CACHE_REQUEST_TOTAL("cache_request_total");
     
     private final String name;
 }
@@ -97,16 +97,24 @@ public class AlibabaDubboPlugin extends AbstractSoulPlugin {
     }
     
     /**
-     * plugin is execute.
+     * the generic invoke of alibaba dubbo is synchronous.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @return true
      */
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        assert soulContext != null;
-        return !Objects.equals(soulContext.getRpcType(), RpcTypeEnum.DUBBO.getName());
+    public boolean blocking() {
+        return true;
+    }
+    
+    /**
+     * plugin supports the rpc type.
+     *
+     * @param rpcType the rpc type of the request
+     * @return support or not.
+     */
+    @Override
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
     }
     
     @Override
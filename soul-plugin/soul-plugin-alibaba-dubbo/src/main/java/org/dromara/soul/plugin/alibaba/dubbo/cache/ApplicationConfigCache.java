@@ -172,6 +172,8 @@ public final class ApplicationConfigCache {
             return "consistenthash";
         } else if (LoadBalanceEnum.ROUND_ROBIN.getName().equals(loadBalance)) {
             return "roundrobin";
+        } else if (LoadBalanceEnum.LEAST_REQUEST.getName().equals(loadBalance)) {
+            return "leastactive";
         } else {
             return loadBalance;
         }
@@ -67,6 +67,11 @@ public class BodyParamPlugin implements SoulPlugin {
         return chain.execute(exchange);
     }
     
+    @Override
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
+    }
+    
     @Override
     public int getOrder() {
         return PluginEnum.DUBBO.getCode() - 1;
@@ -91,16 +91,14 @@ public class ApacheDubboPlugin extends AbstractSoulPlugin {
     }
     
     /**
-     * plugin is execute.
+     * plugin supports the rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @param rpcType the rpc type of the request
+     * @return support or not.
      */
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        assert soulContext != null;
-        return !Objects.equals(soulContext.getRpcType(), RpcTypeEnum.DUBBO.getName());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
     }
     
     @Override
@@ -27,7 +27,6 @@ import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.common.utils.JsonUtils;
 import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.api.SoulPluginChain;
-import org.dromara.soul.plugin.api.context.SoulContext;
 import org.dromara.soul.plugin.api.result.SoulResultEnum;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.base.utils.WebFluxResultUtils;
@@ -67,10 +66,8 @@ public class DubboResponsePlugin implements SoulPlugin {
     }
 
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        assert soulContext != null;
-        return !Objects.equals(soulContext.getRpcType(), RpcTypeEnum.DUBBO.getName());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
     }
 
     @Override
@@ -72,5 +72,27 @@ public interface SoulPlugin {
         return false;
     }
     
+    /**
+     * plugin supports the rpc type.
+     * the chain of a rpc type is built without the plugins that do not support it,
+     * so a plugin that only works for some rpc types should say it here rather than in skip.
+     *
+     * @param rpcType the rpc type of the request, may be null.
+     * @return default true.
+     */
+    default boolean supportRpcType(String rpcType) {
+        return true;
+    }
+    
+    /**
+     * plugin blocks the thread while it executes, such as a synchronous rpc invoke.
+     * when the chain runs on the netty event loop, the blocking plugin is moved to a worker thread.
+     *
+     * @return default false.
+     */
+    default boolean blocking() {
+        return false;
+    }
+    
 }
 
@@ -0,0 +1,54 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.api;
+
+/**
+ * The listener of one call to the upstream which the divide plugin selected,
+ * the http client plugins report the outcome of the call to it.
+ *
+ * @author xiaoyu
+ */
+public interface UpstreamCallListener {
+
+    /**
+     * The request is sent to the upstream, a coalesced request which joins the call of another one never starts.
+     */
+    default void onStart() {
+    }
+
+    /**
+     * The response headers of the upstream are received.
+     *
+     * @param statusCode the status code
+     */
+    void onResponse(int statusCode);
+
+    /**
+     * The call failed, e.g. connect error or timeout.
+     *
+     * @param throwable the throwable
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * The exchange is finished, it is called once whether the call completed, failed or was canceled.
+     */
+    void onFinally();
+}
@@ -0,0 +1,45 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.api;
+
+/**
+ * The retry policy of the call to the upstream which the divide plugin selected. It is set only for the
+ * requests which are safe to send again, the http client plugins ask it for another upstream after a connect
+ * failure or a 5xx response, and for a hedged attempt when the call is slower than the hedge delay.
+ *
+ * @author xiaoyu
+ */
+public interface UpstreamRetryPolicy {
+
+    /**
+     * Gets the delay after which a hedged attempt is sent while the call has no response yet.
+     *
+     * @return the hedge delay millis, a negative value means no hedging
+     */
+    long getHedgeDelay();
+
+    /**
+     * Start an attempt on an upstream which has not been tried yet.
+     *
+     * @param hedged whether the attempt races the attempt in flight, or retries a failed one
+     * @return the attempt, null when the retries are used up, the retry budget is spent or there is no other upstream
+     */
+    UpstreamAttempt next(boolean hedged);
+}
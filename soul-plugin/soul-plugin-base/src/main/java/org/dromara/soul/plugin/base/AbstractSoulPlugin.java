@@ -18,7 +18,6 @@
 
 package org.dromara.soul.plugin.base;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
@@ -32,8 +31,10 @@ import org.dromara.soul.common.enums.SelectorTypeEnum;
 import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.api.SoulPluginChain;
 import org.dromara.soul.plugin.base.cache.BaseDataCache;
+import org.dromara.soul.plugin.base.cache.CompiledRule;
+import org.dromara.soul.plugin.base.cache.CompiledSelector;
+import org.dromara.soul.plugin.base.cache.SelectorPathIndex;
 import org.dromara.soul.plugin.base.utils.CheckUtils;
-import org.dromara.soul.plugin.base.utils.MatchStrategyUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -77,8 +78,8 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
         // 插件数据可用
         if (pluginData != null && pluginData.getEnabled()) {
             // 选择器数据
-            final Collection<SelectorData> selectors = BaseDataCache.getInstance().obtainSelectorData(pluginName);
-            if (CollectionUtils.isEmpty(selectors)) {
+            final SelectorPathIndex selectors = BaseDataCache.getInstance().obtainSelectorPathIndex(pluginName);
+            if (Objects.isNull(selectors) || selectors.isEmpty()) {
                 return CheckUtils.checkSelector(pluginName, exchange, chain);
             }
             final SelectorData selectorData = matchSelector(exchange, selectors);
@@ -93,7 +94,7 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
                 log.info("{} selector success match , selector name :{}", pluginName, selectorData.getName());
             }
             // 根据选择器ID拿到规则数据
-            final List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
+            final List<CompiledRule> rules = BaseDataCache.getInstance().obtainCompiledRule(selectorData.getId());
             if (CollectionUtils.isEmpty(rules)) {
                 if (PluginEnum.WAF.getName().equals(pluginName)) {
                     return doExecute(exchange, chain, null, null);
@@ -103,7 +104,7 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
             RuleData rule;
             if (selectorData.getType() == SelectorTypeEnum.FULL_FLOW.getCode()) {
                 //get last
-                rule = rules.get(rules.size() - 1);
+                rule = rules.get(rules.size() - 1).getRuleData();
             } else {
                 rule = matchRule(exchange, rules);
             }
@@ -118,30 +119,18 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
         return chain.execute(exchange);
     }
 
-    private SelectorData matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        return selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
-                .findFirst().orElse(null);
+    private SelectorData matchSelector(final ServerWebExchange exchange, final SelectorPathIndex selectors) {
+        final CompiledSelector selector = selectors.match(exchange);
+        return Objects.isNull(selector) ? null : selector.getSelectorData();
     }
 
-    private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
-        if (selector.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
-            if (CollectionUtils.isEmpty(selector.getConditionList())) {
-                return false;
+    private RuleData matchRule(final ServerWebExchange exchange, final List<CompiledRule> rules) {
+        for (CompiledRule rule : rules) {
+            if (rule.match(exchange)) {
+                return rule.getRuleData();
             }
-            return MatchStrategyUtils.match(selector.getMatchMode(), selector.getConditionList(), exchange);
         }
-        return true;
-    }
-
-    private RuleData matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        return rules.stream()
-                .filter(rule -> filterRule(rule, exchange))
-                .findFirst().orElse(null);
-    }
-
-    private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
-        return ruleData.getEnabled() && MatchStrategyUtils.match(ruleData.getMatchMode(), ruleData.getConditionDataList(), exchange);
+        return null;
     }
 
 }
@@ -19,9 +19,16 @@ package org.dromara.soul.plugin.base.cache;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
@@ -29,6 +36,9 @@ import org.dromara.soul.common.dto.SelectorData;
 
 /**
  * The type Base data cache.
+ *
+ * <p>Every map is published through a single volatile reference, a full refresh builds the new map
+ * off to the side and swaps it in, so the readers never lock and never see a half loaded config.
  */
 public final class BaseDataCache {
     
@@ -39,21 +49,26 @@ public final class BaseDataCache {
      *
      * 插件缓存
      */
-    private static final ConcurrentMap<String, PluginData> PLUGIN_MAP = Maps.newConcurrentMap();
+    private volatile ConcurrentMap<String, PluginData> pluginMap = Maps.newConcurrentMap();
     
     /**
-     * pluginName -> SelectorData.
+     * pluginName -> SelectorPathIndex, which holds the sorted CompiledSelector.
      *
      * 选择器缓存
      */
-    private static final ConcurrentMap<String, List<SelectorData>> SELECTOR_MAP = Maps.newConcurrentMap();
+    private volatile ConcurrentMap<String, SelectorPathIndex> selectorMap = Maps.newConcurrentMap();
     
     /**
-     * selectorId -> RuleData.
+     * selectorId -> CompiledRule.
      *
      * 规则缓存
      */
-    private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
+    private volatile ConcurrentMap<String, List<CompiledRule>> ruleMap = Maps.newConcurrentMap();
+    
+    /**
+     * bumped on every published change.
+     */
+    private final AtomicLong version = new AtomicLong();
     
     private BaseDataCache() {
     }
@@ -72,8 +87,9 @@ public final class BaseDataCache {
      *
      * @param data the data
      */
-    public void cachePluginData(final PluginData data) {
-        PLUGIN_MAP.put(data.getName(), data);
+    public synchronized void cachePluginData(final PluginData data) {
+        pluginMap.put(data.getName(), data);
+        version.incrementAndGet();
     }
     
     /**
@@ -81,15 +97,28 @@ public final class BaseDataCache {
      *
      * @param data the data
      */
-    public void removePluginData(final PluginData data) {
-        PLUGIN_MAP.remove(data.getName());
+    public synchronized void removePluginData(final PluginData data) {
+        pluginMap.remove(data.getName());
+        version.incrementAndGet();
     }
     
     /**
      * Clean plugin data.
      */
     public void cleanPluginData() {
-        PLUGIN_MAP.clear();
+        refreshPluginData(Collections.emptyList());
+    }
+    
+    /**
+     * Replace all the plugin data at once.
+     *
+     * @param pluginDataList the full plugin data list
+     */
+    public synchronized void refreshPluginData(final List<PluginData> pluginDataList) {
+        final ConcurrentMap<String, PluginData> newPluginMap = Maps.newConcurrentMap();
+        pluginDataList.forEach(data -> newPluginMap.put(data.getName(), data));
+        pluginMap = newPluginMap;
+        version.incrementAndGet();
     }
     
     /**
@@ -99,25 +128,23 @@ public final class BaseDataCache {
      * @return the plugin data
      */
     public PluginData obtainPluginData(final String pluginName) {
-        return PLUGIN_MAP.get(pluginName);
+        return pluginMap.get(pluginName);
     }
     
     /**
-     * Cache select data.
+     * Cache select data, the conditions are compiled here rather than on request.
      *
      * @param data the data
      */
-    public void cacheSelectData(final SelectorData data) {
-        String key = data.getPluginName();
-        if (SELECTOR_MAP.containsKey(key)) {
-            List<SelectorData> existList = SELECTOR_MAP.get(key);
-            final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-            resultList.add(data);
-            final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-            SELECTOR_MAP.put(key, collect);
-        } else {
-            SELECTOR_MAP.put(key, Lists.newArrayList(data));
-        }
+    public synchronized void cacheSelectData(final SelectorData data) {
+        selectorMap.compute(data.getPluginName(), (key, exist) -> {
+            final List<CompiledSelector> resultList = Objects.isNull(exist) ? Lists.newArrayList()
+                    : exist.getSelectors().stream().filter(r -> !r.getSelectorData().getId().equals(data.getId())).collect(Collectors.toList());
+            resultList.add(CompiledSelector.compile(data));
+            resultList.sort(Comparator.comparing(r -> r.getSelectorData().getSort()));
+            return SelectorPathIndex.build(resultList);
+        });
+        version.incrementAndGet();
     }
     
     /**
@@ -125,16 +152,34 @@ public final class BaseDataCache {
      *
      * @param data the data
      */
-    public void removeSelectData(final SelectorData data) {
-        final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-        selectorDataList.removeIf(e -> e.getId().equals(data.getId()));
+    public synchronized void removeSelectData(final SelectorData data) {
+        selectorMap.computeIfPresent(data.getPluginName(), (key, exist) -> SelectorPathIndex.build(exist.getSelectors().stream()
+                .filter(r -> !r.getSelectorData().getId().equals(data.getId())).collect(Collectors.toList())));
+        version.incrementAndGet();
     }
     
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_MAP.clear();
+        refreshSelectorData(Collections.emptyList());
+    }
+    
+    /**
+     * Replace all the selector data at once, the selectors are compiled and indexed before they are published.
+     *
+     * @param selectorDataList the full selector data list
+     */
+    public synchronized void refreshSelectorData(final List<SelectorData> selectorDataList) {
+        final ConcurrentMap<String, SelectorPathIndex> newSelectorMap = Maps.newConcurrentMap();
+        distinct(selectorDataList, SelectorData::getId).stream().map(CompiledSelector::compile)
+                .collect(Collectors.groupingBy(r -> r.getSelectorData().getPluginName()))
+                .forEach((pluginName, selectors) -> {
+                    selectors.sort(Comparator.comparing(r -> r.getSelectorData().getSort()));
+                    newSelectorMap.put(pluginName, SelectorPathIndex.build(selectors));
+                });
+        selectorMap = newSelectorMap;
+        version.incrementAndGet();
     }
     
     /**
@@ -144,25 +189,48 @@ public final class BaseDataCache {
      * @return the list
      */
     public List<SelectorData> obtainSelectorData(final String pluginName) {
-        return SELECTOR_MAP.get(pluginName);
+        final SelectorPathIndex selectorPathIndex = selectorMap.get(pluginName);
+        if (Objects.isNull(selectorPathIndex)) {
+            return null;
+        }
+        return selectorPathIndex.getSelectors().stream().map(CompiledSelector::getSelectorData).collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtain compiled selector list, sorted by selector sort.
+     *
+     * @param pluginName the plugin name
+     * @return the list
+     */
+    public List<CompiledSelector> obtainCompiledSelector(final String pluginName) {
+        final SelectorPathIndex selectorPathIndex = selectorMap.get(pluginName);
+        return Objects.isNull(selectorPathIndex) ? null : selectorPathIndex.getSelectors();
+    }
+    
+    /**
+     * Obtain selector path index, use it to match selector rather than scan the selectors.
+     *
+     * @param pluginName the plugin name
+     * @return the selector path index
+     */
+    public SelectorPathIndex obtainSelectorPathIndex(final String pluginName) {
+        return selectorMap.get(pluginName);
     }
     
     /**
-     * Cache rule data.
+     * Cache rule data, the conditions are compiled here rather than on request.
      *
      * @param ruleData the rule data
      */
-    public void cacheRuleData(final RuleData ruleData) {
-        String selectorId = ruleData.getSelectorId();
-        if (RULE_MAP.containsKey(selectorId)) {
-            List<RuleData> existList = RULE_MAP.get(selectorId);
-            final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(ruleData.getId())).collect(Collectors.toList());
-            resultList.add(ruleData);
-            final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-            RULE_MAP.put(selectorId, collect);
-        } else {
-            RULE_MAP.put(selectorId, Lists.newArrayList(ruleData));
-        }
+    public synchronized void cacheRuleData(final RuleData ruleData) {
+        ruleMap.compute(ruleData.getSelectorId(), (key, existList) -> {
+            final List<CompiledRule> resultList = Objects.isNull(existList) ? Lists.newArrayList()
+                    : existList.stream().filter(r -> !r.getRuleData().getId().equals(ruleData.getId())).collect(Collectors.toList());
+            resultList.add(CompiledRule.compile(ruleData));
+            resultList.sort(Comparator.comparing(r -> r.getRuleData().getSort()));
+            return Collections.unmodifiableList(resultList);
+        });
+        version.incrementAndGet();
     }
     
     /**
@@ -170,16 +238,34 @@ public final class BaseDataCache {
      *
      * @param ruleData the rule data
      */
-    public void removeRuleData(final RuleData ruleData) {
-        final List<RuleData> ruleDataList = RULE_MAP.get(ruleData.getSelectorId());
-        ruleDataList.removeIf(rule -> rule.getId().equals(ruleData.getId()));
+    public synchronized void removeRuleData(final RuleData ruleData) {
+        ruleMap.computeIfPresent(ruleData.getSelectorId(), (key, existList) -> Collections.unmodifiableList(existList.stream()
+                .filter(r -> !r.getRuleData().getId().equals(ruleData.getId())).collect(Collectors.toList())));
+        version.incrementAndGet();
     }
     
     /**
      * Clean rule data.
      */
     public void cleanRuleData() {
-        RULE_MAP.clear();
+        refreshRuleData(Collections.emptyList());
+    }
+    
+    /**
+     * Replace all the rule data at once, the rules are compiled before they are published.
+     *
+     * @param ruleDataList the full rule data list
+     */
+    public synchronized void refreshRuleData(final List<RuleData> ruleDataList) {
+        final ConcurrentMap<String, List<CompiledRule>> newRuleMap = Maps.newConcurrentMap();
+        distinct(ruleDataList, RuleData::getId).stream().map(CompiledRule::compile)
+                .collect(Collectors.groupingBy(r -> r.getRuleData().getSelectorId()))
+                .forEach((selectorId, rules) -> {
+                    rules.sort(Comparator.comparing(r -> r.getRuleData().getSort()));
+                    newRuleMap.put(selectorId, Collections.unmodifiableList(rules));
+                });
+        ruleMap = newRuleMap;
+        version.incrementAndGet();
     }
     
     /**
@@ -189,6 +275,35 @@ public final class BaseDataCache {
      * @return the list
      */
     public List<RuleData> obtainRuleData(final String selectorId) {
-        return RULE_MAP.get(selectorId);
+        final List<CompiledRule> compiledRules = ruleMap.get(selectorId);
+        if (Objects.isNull(compiledRules)) {
+            return null;
+        }
+        return compiledRules.stream().map(CompiledRule::getRuleData).collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtain compiled rule list, sorted by rule sort.
+     *
+     * @param selectorId the selector id
+     * @return the list
+     */
+    public List<CompiledRule> obtainCompiledRule(final String selectorId) {
+        return ruleMap.get(selectorId);
+    }
+    
+    /**
+     * Gets the version of the published data, it changes whenever plugin, selector or rule data changes.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+    
+    private static <T> Collection<T> distinct(final List<T> dataList, final Function<T, String> idFunction) {
+        final Map<String, T> distinctMap = new LinkedHashMap<>(dataList.size());
+        dataList.forEach(data -> distinctMap.put(idFunction.apply(data), data));
+        return distinctMap.values();
     }
 }
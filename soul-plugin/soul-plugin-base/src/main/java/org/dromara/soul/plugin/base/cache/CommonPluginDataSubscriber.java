@@ -17,6 +17,7 @@
 
 package org.dromara.soul.plugin.base.cache;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -62,6 +63,12 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanPluginData();
     }
     
+    @Override
+    public void refreshPluginData(final List<PluginData> pluginDataList) {
+        BaseDataCache.getInstance().refreshPluginData(pluginDataList);
+        pluginDataList.forEach(pluginData -> Optional.ofNullable(handlerMap.get(pluginData.getName())).ifPresent(handler -> handler.handlerPlugin(pluginData)));
+    }
+    
     @Override
     public void onSelectorSubscribe(final SelectorData selectorData) {
         BaseDataCache.getInstance().cacheSelectData(selectorData);
@@ -79,20 +86,37 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanSelectorData();
     }
     
+    @Override
+    public void refreshSelectorData(final List<SelectorData> selectorDataList) {
+        BaseDataCache.getInstance().refreshSelectorData(selectorDataList);
+        final Map<String, List<SelectorData>> pluginSelectorMap = selectorDataList.stream().collect(Collectors.groupingBy(SelectorData::getPluginName));
+        handlerMap.forEach((pluginName, handler) -> handler.refreshSelector(pluginSelectorMap.getOrDefault(pluginName, Collections.emptyList())));
+    }
+    
     @Override
     public void onRuleSubscribe(final RuleData ruleData) {
         BaseDataCache.getInstance().cacheRuleData(ruleData);
+        RuleHandleCache.getInstance().removeHandle(ruleData);
         Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData));
     }
     
     @Override
     public void unRuleSubscribe(final RuleData ruleData) {
         BaseDataCache.getInstance().removeRuleData(ruleData);
+        RuleHandleCache.getInstance().removeHandle(ruleData);
         Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.removeRule(ruleData));
     }
     
     @Override
     public void refreshRuleData() {
         BaseDataCache.getInstance().cleanRuleData();
+        RuleHandleCache.getInstance().cleanHandle();
+    }
+    
+    @Override
+    public void refreshRuleData(final List<RuleData> ruleDataList) {
+        BaseDataCache.getInstance().refreshRuleData(ruleDataList);
+        RuleHandleCache.getInstance().cleanHandle();
+        ruleDataList.forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData)));
     }
 }
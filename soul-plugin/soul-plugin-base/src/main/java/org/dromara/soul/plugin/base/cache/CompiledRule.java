@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.exception.SoulException;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
+import org.dromara.soul.plugin.base.utils.MatchStrategyUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The type Compiled rule, the rule data with its conditions compiled into a matcher.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class CompiledRule {
+    
+    private final RuleData ruleData;
+    
+    private final ConditionMatcher matcher;
+    
+    private CompiledRule(final RuleData ruleData, final ConditionMatcher matcher) {
+        this.ruleData = ruleData;
+        this.matcher = matcher;
+    }
+    
+    /**
+     * Compile rule data.
+     *
+     * @param ruleData the rule data
+     * @return the compiled rule
+     */
+    public static CompiledRule compile(final RuleData ruleData) {
+        return new CompiledRule(ruleData, compileMatcher(ruleData));
+    }
+    
+    private static ConditionMatcher compileMatcher(final RuleData ruleData) {
+        if (!Boolean.TRUE.equals(ruleData.getEnabled())) {
+            return ConditionMatcher.NEVER;
+        }
+        try {
+            return MatchStrategyUtils.compile(ruleData.getMatchMode(), ruleData.getConditionDataList());
+        } catch (SoulException e) {
+            log.error("rule {} compile conditions error, it will never match", ruleData.getName(), e);
+            return ConditionMatcher.NEVER;
+        }
+    }
+    
+    /**
+     * Gets rule data.
+     *
+     * @return the rule data
+     */
+    public RuleData getRuleData() {
+        return ruleData;
+    }
+    
+    /**
+     * Match the exchange, include the enabled check.
+     *
+     * @param exchange the exchange
+     * @return true is match, false is not match
+     */
+    public boolean match(final ServerWebExchange exchange) {
+        return matcher.match(exchange);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.cache;
+
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.common.exception.SoulException;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
+import org.dromara.soul.plugin.base.utils.MatchStrategyUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The type Compiled selector, the selector data with its conditions compiled into a matcher.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class CompiledSelector {
+    
+    private final SelectorData selectorData;
+    
+    private final ConditionMatcher matcher;
+    
+    private CompiledSelector(final SelectorData selectorData, final ConditionMatcher matcher) {
+        this.selectorData = selectorData;
+        this.matcher = matcher;
+    }
+    
+    /**
+     * Compile selector data.
+     *
+     * @param selectorData the selector data
+     * @return the compiled selector
+     */
+    public static CompiledSelector compile(final SelectorData selectorData) {
+        return new CompiledSelector(selectorData, compileMatcher(selectorData));
+    }
+    
+    private static ConditionMatcher compileMatcher(final SelectorData selectorData) {
+        if (!Boolean.TRUE.equals(selectorData.getEnabled())) {
+            return ConditionMatcher.NEVER;
+        }
+        if (!Objects.equals(selectorData.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode())) {
+            return ConditionMatcher.ALWAYS;
+        }
+        if (CollectionUtils.isEmpty(selectorData.getConditionList())) {
+            return ConditionMatcher.NEVER;
+        }
+        try {
+            return MatchStrategyUtils.compile(selectorData.getMatchMode(), selectorData.getConditionList());
+        } catch (SoulException e) {
+            log.error("selector {} compile conditions error, it will never match", selectorData.getName(), e);
+            return ConditionMatcher.NEVER;
+        }
+    }
+    
+    /**
+     * Gets selector data.
+     *
+     * @return the selector data
+     */
+    public SelectorData getSelectorData() {
+        return selectorData;
+    }
+    
+    /**
+     * Match the exchange, include the enabled and selector type check.
+     *
+     * @param exchange the exchange
+     * @return true is match, false is not match
+     */
+    public boolean match(final ServerWebExchange exchange) {
+        return matcher.match(exchange);
+    }
+}
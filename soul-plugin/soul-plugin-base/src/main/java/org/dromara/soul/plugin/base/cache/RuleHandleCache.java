@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.cache;
+
+import com.google.common.collect.Maps;
+import com.google.gson.JsonParseException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.utils.GsonUtils;
+
+/**
+ * The type Rule handle cache, rule id -> the typed handle parsed from {@link RuleData#getHandle()}.
+ * the entry is written only when the rule subscribed, by the data handler of the plugin, so the plugins do not parse
+ * json on request and a request in flight never brings back the entry of a removed rule.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class RuleHandleCache {
+    
+    private static final RuleHandleCache INSTANCE = new RuleHandleCache();
+    
+    /**
+     * ruleId -> HandleEntry.
+     */
+    private static final ConcurrentMap<String, HandleEntry> HANDLE_MAP = Maps.newConcurrentMap();
+    
+    private RuleHandleCache() {
+    }
+    
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static RuleHandleCache getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Obtain the typed handle of rule, it is read only: the handle is parsed without caching when it is absent or has changed.
+     *
+     * @param <T>      the type parameter
+     * @param ruleData the rule data
+     * @param clazz    the handle class
+     * @return the handle, null when the rule has no handle
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtainHandle(final RuleData ruleData, final Class<T> clazz) {
+        final HandleEntry entry = HANDLE_MAP.get(ruleData.getId());
+        if (Objects.nonNull(entry) && entry.clazz == clazz && Objects.equals(entry.handle, ruleData.getHandle())) {
+            return (T) entry.value;
+        }
+        return GsonUtils.getInstance().fromJson(ruleData.getHandle(), clazz);
+    }
+    
+    /**
+     * Cache the typed handle of rule when the rule subscribed.
+     *
+     * @param <T>      the type parameter
+     * @param ruleData the rule data
+     * @param clazz    the handle class
+     */
+    public <T> void cacheHandle(final RuleData ruleData, final Class<T> clazz) {
+        try {
+            final T value = GsonUtils.getInstance().fromJson(ruleData.getHandle(), clazz);
+            HANDLE_MAP.put(ruleData.getId(), new HandleEntry(ruleData.getHandle(), clazz, value));
+        } catch (JsonParseException e) {
+            log.error("rule {} handle can not parse to {} : {}", ruleData.getName(), clazz.getSimpleName(), ruleData.getHandle(), e);
+        }
+    }
+    
+    /**
+     * Remove handle.
+     *
+     * @param ruleData the rule data
+     */
+    public void removeHandle(final RuleData ruleData) {
+        HANDLE_MAP.remove(ruleData.getId());
+    }
+    
+    /**
+     * Clean handle.
+     */
+    public void cleanHandle() {
+        HANDLE_MAP.clear();
+    }
+    
+    private static final class HandleEntry {
+        
+        private final String handle;
+        
+        private final Class<?> clazz;
+        
+        private final Object value;
+        
+        HandleEntry(final String handle, final Class<?> clazz, final Object value) {
+            this.handle = handle;
+            this.clazz = clazz;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The type Selector path index, the selectors of one plugin indexed by the literal prefix of their uri conditions.
+ *
+ * <p>the prefixes are kept in a radix tree, a lookup walks the request path once and only evaluates
+ * the selectors whose prefix matches it, plus the selectors that can not be indexed.
+ * the first matched selector in sort order is returned, the same as a linear scan.
+ *
+ * @author xiaoyu
+ */
+public final class SelectorPathIndex {
+    
+    private static final char SEPARATOR = '/';
+    
+    private static final int[] EMPTY_ORDINALS = new int[0];
+    
+    private final List<CompiledSelector> selectors;
+    
+    private final CompiledSelector[] selectorArray;
+    
+    private final int[] fallbackOrdinals;
+    
+    private final Node root;
+    
+    private SelectorPathIndex(final List<CompiledSelector> selectors, final int[] fallbackOrdinals, final Node root) {
+        this.selectors = selectors;
+        this.selectorArray = selectors.toArray(new CompiledSelector[0]);
+        this.fallbackOrdinals = fallbackOrdinals;
+        this.root = root;
+    }
+    
+    /**
+     * Build the index.
+     *
+     * @param selectors the compiled selectors, sorted by selector sort
+     * @return the selector path index
+     */
+    public static SelectorPathIndex build(final List<CompiledSelector> selectors) {
+        final List<Integer> fallback = new ArrayList<>();
+        final BuildNode buildRoot = new BuildNode();
+        for (int ordinal = 0; ordinal < selectors.size(); ordinal++) {
+            final SelectorData selectorData = selectors.get(ordinal).getSelectorData();
+            if (neverMatch(selectorData)) {
+                continue;
+            }
+            final List<String> prefixes = uriPrefixes(selectorData);
+            if (Objects.isNull(prefixes) || prefixes.contains("")) {
+                fallback.add(ordinal);
+                continue;
+            }
+            for (String prefix : prefixes) {
+                buildRoot.insert(prefix, 0).ordinals.add(ordinal);
+            }
+        }
+        return new SelectorPathIndex(Collections.unmodifiableList(selectors), toArray(fallback), buildRoot.freeze(""));
+    }
+    
+    /**
+     * Gets selectors.
+     *
+     * @return the selectors sorted by selector sort
+     */
+    public List<CompiledSelector> getSelectors() {
+        return selectors;
+    }
+    
+    /**
+     * Is empty boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return selectorArray.length == 0;
+    }
+    
+    /**
+     * Match the first selector in sort order.
+     *
+     * @param exchange the exchange
+     * @return the compiled selector, null if none match
+     */
+    public CompiledSelector match(final ServerWebExchange exchange) {
+        final String path = exchange.getRequest().getURI().getPath();
+        if (!indexable(path)) {
+            for (CompiledSelector selector : selectorArray) {
+                if (selector.match(exchange)) {
+                    return selector;
+                }
+            }
+            return null;
+        }
+        int best = firstMatch(fallbackOrdinals, selectorArray.length, exchange);
+        Node node = root;
+        int index = 0;
+        while (Objects.nonNull(node)) {
+            if (node.ordinals.length > 0 && isBoundary(path, index)) {
+                best = firstMatch(node.ordinals, best, exchange);
+            }
+            node = index < path.length() ? node.next(path, index) : null;
+            if (Objects.nonNull(node)) {
+                index += node.label.length();
+            }
+        }
+        return best < selectorArray.length ? selectorArray[best] : null;
+    }
+    
+    private int firstMatch(final int[] ordinals, final int best, final ServerWebExchange exchange) {
+        for (int ordinal : ordinals) {
+            if (ordinal >= best) {
+                break;
+            }
+            if (selectorArray[ordinal].match(exchange)) {
+                return ordinal;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * the uri condition ignore the empty path segment, so the index can only be used on the normalized path.
+     */
+    private static boolean indexable(final String path) {
+        return StringUtils.isNotEmpty(path) && path.charAt(0) == SEPARATOR && !path.contains("//");
+    }
+    
+    private static boolean isBoundary(final String path, final int index) {
+        return index == path.length() || path.charAt(index) == SEPARATOR;
+    }
+    
+    private static boolean neverMatch(final SelectorData selectorData) {
+        if (!Boolean.TRUE.equals(selectorData.getEnabled())) {
+            return true;
+        }
+        return Objects.equals(selectorData.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode()) && CollectionUtils.isEmpty(selectorData.getConditionList());
+    }
+    
+    /**
+     * the literal uri prefixes one of which the request path must start with, null if the selector can not be indexed.
+     */
+    private static List<String> uriPrefixes(final SelectorData selectorData) {
+        if (!Objects.equals(selectorData.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode())) {
+            return null;
+        }
+        final List<ConditionData> conditionList = selectorData.getConditionList();
+        if (Objects.equals(selectorData.getMatchMode(), MatchModeEnum.OR.getCode())) {
+            final List<String> prefixes = new ArrayList<>();
+            for (ConditionData condition : conditionList) {
+                final List<String> conditionPrefixes = uriPrefixes(condition);
+                if (Objects.isNull(conditionPrefixes)) {
+                    return null;
+                }
+                prefixes.addAll(conditionPrefixes);
+            }
+            return prefixes;
+        }
+        List<String> prefixes = null;
+        int prefixLength = -1;
+        for (ConditionData condition : conditionList) {
+            final List<String> conditionPrefixes = uriPrefixes(condition);
+            if (Objects.nonNull(conditionPrefixes)) {
+                final int length = conditionPrefixes.stream().mapToInt(String::length).min().orElse(Integer.MAX_VALUE);
+                if (length > prefixLength) {
+                    prefixes = conditionPrefixes;
+                    prefixLength = length;
+                }
+            }
+        }
+        return prefixes;
+    }
+    
+    private static List<String> uriPrefixes(final ConditionData condition) {
+        if (!Objects.equals(ParamTypeEnum.URI.getName(), condition.getParamType()) || Objects.isNull(condition.getParamValue())) {
+            return null;
+        }
+        final String paramValue = condition.getParamValue().trim();
+        if (Objects.equals(OperatorEnum.EQ.getAlias(), condition.getOperator())) {
+            return Collections.singletonList(literalPrefix(paramValue, false));
+        }
+        if (Objects.equals(OperatorEnum.MATCH.getAlias(), condition.getOperator())) {
+            final List<String> prefixes = new ArrayList<>();
+            for (String pattern : StringUtils.split(paramValue, ',')) {
+                if (StringUtils.isNotBlank(pattern)) {
+                    prefixes.add(literalPrefix(pattern.trim(), true));
+                }
+            }
+            return prefixes;
+        }
+        return null;
+    }
+    
+    private static String literalPrefix(final String value, final boolean pattern) {
+        final StringBuilder prefix = new StringBuilder();
+        for (String segment : StringUtils.split(value, SEPARATOR)) {
+            if (pattern && StringUtils.containsAny(segment, '*', '?', '{')) {
+                break;
+            }
+            prefix.append(SEPARATOR).append(segment);
+        }
+        return prefix.toString();
+    }
+    
+    private static int[] toArray(final List<Integer> ordinals) {
+        return ordinals.isEmpty() ? EMPTY_ORDINALS : ordinals.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+    }
+    
+    private static final class Node {
+        
+        private final String label;
+        
+        private final int[] ordinals;
+        
+        private final char[] firstChars;
+        
+        private final Node[] children;
+        
+        Node(final String label, final int[] ordinals, final char[] firstChars, final Node[] children) {
+            this.label = label;
+            this.ordinals = ordinals;
+            this.firstChars = firstChars;
+            this.children = children;
+        }
+        
+        Node next(final String path, final int index) {
+            final int position = Arrays.binarySearch(firstChars, path.charAt(index));
+            if (position < 0) {
+                return null;
+            }
+            final Node child = children[position];
+            return path.startsWith(child.label, index) ? child : null;
+        }
+    }
+    
+    private static final class BuildNode {
+        
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+        
+        private final List<Integer> ordinals = new ArrayList<>();
+        
+        BuildNode insert(final String prefix, final int index) {
+            if (index == prefix.length()) {
+                return this;
+            }
+            return children.computeIfAbsent(prefix.charAt(index), c -> new BuildNode()).insert(prefix, index + 1);
+        }
+        
+        Node freeze(final String label) {
+            final char[] firstChars = new char[children.size()];
+            final Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : children.entrySet()) {
+                final StringBuilder childLabel = new StringBuilder().append(entry.getKey());
+                BuildNode child = entry.getValue();
+                while (child.ordinals.isEmpty() && child.children.size() == 1) {
+                    final Map.Entry<Character, BuildNode> only = child.children.entrySet().iterator().next();
+                    childLabel.append(only.getKey());
+                    child = only.getValue();
+                }
+                firstChars[i] = entry.getKey();
+                frozen[i] = child.freeze(childLabel.toString());
+                i++;
+            }
+            return new Node(label, toArray(ordinals), firstChars, frozen);
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.dromara.soul.plugin.base.condition.judge;
 import org.dromara.soul.common.dto.ConditionData;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * this is eq impl.
@@ -33,4 +34,10 @@ public class EqOperatorJudge implements OperatorJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return Objects.equals(realData, conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final String paramValue = conditionData.getParamValue().trim();
+        return realData -> Objects.equals(realData, paramValue);
+    }
 }
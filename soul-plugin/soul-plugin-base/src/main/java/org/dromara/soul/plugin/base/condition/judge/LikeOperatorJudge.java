@@ -20,6 +20,8 @@ package org.dromara.soul.plugin.base.condition.judge;
 
 import org.dromara.soul.common.dto.ConditionData;
 
+import java.util.function.Predicate;
+
 /**
  * this is like impl.
  *
@@ -31,4 +33,10 @@ public class LikeOperatorJudge implements OperatorJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return realData.contains(conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final String paramValue = conditionData.getParamValue().trim();
+        return realData -> realData.contains(paramValue);
+    }
 }
@@ -23,6 +23,7 @@ import org.dromara.soul.common.enums.ParamTypeEnum;
 import org.dromara.soul.common.utils.PathMatchUtils;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * this is match impl.
@@ -38,4 +39,13 @@ public class MatchOperatorJudge implements OperatorJudge {
         }
         return realData.contains(conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final String paramValue = conditionData.getParamValue().trim();
+        if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
+            return PathMatchUtils.compile(paramValue);
+        }
+        return realData -> realData.contains(paramValue);
+    }
 }
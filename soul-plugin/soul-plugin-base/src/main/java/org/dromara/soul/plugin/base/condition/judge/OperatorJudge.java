@@ -20,6 +20,8 @@ package org.dromara.soul.plugin.base.condition.judge;
 
 import org.dromara.soul.common.dto.ConditionData;
 
+import java.util.function.Predicate;
+
 /**
  * this is operator Judge.
  *
@@ -37,4 +39,14 @@ public interface OperatorJudge {
      */
     Boolean judge(ConditionData conditionData, String realData);
 
+    /**
+     * compile conditionData into a predicate, so the request path only tests realData.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     * @return the predicate of realData.
+     */
+    default Predicate<String> compile(final ConditionData conditionData) {
+        return realData -> judge(conditionData, realData);
+    }
+
 }
@@ -22,9 +22,11 @@ import com.google.common.collect.Maps;
 import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.common.dto.ConditionData;
 import org.dromara.soul.common.enums.OperatorEnum;
+import org.dromara.soul.common.exception.SoulException;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * ConditionJudge.
@@ -54,4 +56,23 @@ public class OperatorJudgeFactory {
         }
         return OPERATOR_JUDGE_MAP.get(conditionData.getOperator()).judge(conditionData, realData);
     }
+
+    /**
+     * compile conditionData into a predicate of request realData.
+     * the operator is resolved once here, so the predicate only does the comparison.
+     *
+     * @param conditionData condition data
+     * @return the predicate, blank realData never pass
+     */
+    public static Predicate<String> compile(final ConditionData conditionData) {
+        final OperatorJudge operatorJudge = OPERATOR_JUDGE_MAP.get(conditionData.getOperator());
+        if (Objects.isNull(operatorJudge)) {
+            throw new SoulException("this operator can not support : " + conditionData.getOperator());
+        }
+        if (Objects.isNull(conditionData.getParamValue())) {
+            throw new SoulException("the param value of the condition is null : " + conditionData.getParamName());
+        }
+        final Predicate<String> predicate = operatorJudge.compile(conditionData);
+        return realData -> StringUtils.isNotBlank(realData) && predicate.test(realData);
+    }
 }
@@ -19,8 +19,12 @@
 package org.dromara.soul.plugin.base.condition.judge;
 
 import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.exception.SoulException;
 
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * The type Reg ex operator judge.
@@ -33,4 +37,31 @@ public class RegExOperatorJudge implements OperatorJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return Pattern.matches(conditionData.getParamValue(), realData);
     }
+
+    /**
+     * Compile the regex once, an invalid regex is rejected here rather than on request.
+     * every thread reuses its own matcher, so the match does not allocate, and the matcher is reset after the match
+     * so it does not keep the request data of the last match.
+     *
+     * @param conditionData the condition data
+     * @return the predicate
+     */
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        final Pattern pattern;
+        try {
+            pattern = Pattern.compile(conditionData.getParamValue());
+        } catch (PatternSyntaxException e) {
+            throw new SoulException("this regex is invalid : " + conditionData.getParamValue(), e);
+        }
+        final ThreadLocal<Matcher> matcherHolder = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return realData -> {
+            final Matcher matcher = matcherHolder.get();
+            try {
+                return matcher.reset(realData).matches();
+            } finally {
+                matcher.reset("");
+            }
+        };
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.base.condition.matcher;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+
+/**
+ * this is and condition matcher, short-circuit on the first not match.
+ *
+ * @author xiaoyu(Myth)
+ */
+public final class AndConditionMatcher implements ConditionMatcher {
+
+    private final ConditionMatcher[] matchers;
+
+    private AndConditionMatcher(final ConditionMatcher[] matchers) {
+        this.matchers = matchers;
+    }
+
+    /**
+     * combine the matchers with and.
+     *
+     * @param matchers the matchers
+     * @return the condition matcher
+     */
+    public static ConditionMatcher of(final List<ConditionMatcher> matchers) {
+        if (matchers.isEmpty()) {
+            return ConditionMatcher.ALWAYS;
+        }
+        if (matchers.size() == 1) {
+            return matchers.get(0);
+        }
+        return new AndConditionMatcher(matchers.toArray(new ConditionMatcher[0]));
+    }
+
+    @Override
+    public boolean match(final ServerWebExchange exchange) {
+        for (ConditionMatcher matcher : matchers) {
+            if (!matcher.match(exchange)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -21,16 +21,22 @@ package org.dromara.soul.plugin.base.condition.strategy;
 import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.dto.ConditionData;
 import org.dromara.soul.common.enums.ParamTypeEnum;
+import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.common.utils.ReflectUtils;
 import org.dromara.soul.plugin.api.context.SoulContext;
+import org.dromara.soul.plugin.base.condition.judge.OperatorJudgeFactory;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
 import org.dromara.soul.plugin.base.utils.HostAddressUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * AbstractMatchStrategy.
@@ -47,23 +53,35 @@ abstract class AbstractMatchStrategy {
      * @return the string
      */
     String buildRealData(final ConditionData condition, final ServerWebExchange exchange) {
-        String realData = "";
         ParamTypeEnum paramTypeEnum = ParamTypeEnum.getParamTypeEnumByName(condition.getParamType());
+        return buildRealData(paramTypeEnum, condition.getParamName(), exchange);
+    }
+
+    /**
+     * Build real data string.
+     *
+     * @param paramTypeEnum the param type
+     * @param paramName     the param name
+     * @param exchange      the exchange
+     * @return the string
+     */
+    String buildRealData(final ParamTypeEnum paramTypeEnum, final String paramName, final ServerWebExchange exchange) {
+        String realData = "";
         switch (paramTypeEnum) {
             case HEADER:
                 final HttpHeaders headers = exchange.getRequest().getHeaders();
-                final List<String> list = headers.get(condition.getParamName());
+                final List<String> list = headers.get(paramName);
                 if (CollectionUtils.isEmpty(list)) {
                     return realData;
                 }
-                realData = Objects.requireNonNull(headers.get(condition.getParamName())).stream().findFirst().orElse("");
+                realData = list.get(0);
                 break;
             case URI:
                 realData = exchange.getRequest().getURI().getPath();
                 break;
             case QUERY:
                 final MultiValueMap<String, String> queryParams = exchange.getRequest().getQueryParams();
-                realData = queryParams.getFirst(condition.getParamName());
+                realData = queryParams.getFirst(paramName);
                 break;
             case HOST:
                 realData = HostAddressUtils.acquireHost(exchange);
@@ -73,7 +91,7 @@ abstract class AbstractMatchStrategy {
                 break;
             case POST:
                 final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-                realData = (String) ReflectUtils.getFieldValue(soulContext, condition.getParamName());
+                realData = (String) ReflectUtils.getFieldValue(soulContext, paramName);
                 break;
             default:
                 break;
@@ -81,4 +99,33 @@ abstract class AbstractMatchStrategy {
         return realData;
     }
 
+    /**
+     * Compile condition into matcher, the param type and operator are resolved here.
+     *
+     * @param condition the condition
+     * @return the condition matcher
+     */
+    ConditionMatcher compileCondition(final ConditionData condition) {
+        if (Objects.isNull(condition)) {
+            throw new SoulException("the condition is null");
+        }
+        final ParamTypeEnum paramTypeEnum = ParamTypeEnum.getParamTypeEnumByName(condition.getParamType());
+        final String paramName = condition.getParamName();
+        final Predicate<String> predicate = OperatorJudgeFactory.compile(condition);
+        return exchange -> predicate.test(buildRealData(paramTypeEnum, paramName, exchange));
+    }
+
+    /**
+     * Compile condition list into matchers.
+     *
+     * @param conditionDataList the condition list
+     * @return the condition matchers
+     */
+    List<ConditionMatcher> compileConditions(final List<ConditionData> conditionDataList) {
+        if (Objects.isNull(conditionDataList)) {
+            return Collections.emptyList();
+        }
+        return conditionDataList.stream().map(this::compileCondition).collect(Collectors.toList());
+    }
+
 }
@@ -19,6 +19,7 @@
 package org.dromara.soul.plugin.base.condition.strategy;
 
 import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
 import org.dromara.soul.spi.SPI;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -40,4 +41,14 @@ public interface MatchStrategy {
      * @return true is match , false is not match.
      */
     Boolean match(List<ConditionData> conditionDataList, ServerWebExchange exchange);
+
+    /**
+     * compile condition list into a matcher, call it when data sync rather than on request.
+     *
+     * @param conditionDataList condition list.
+     * @return the condition matcher.
+     */
+    default ConditionMatcher compile(final List<ConditionData> conditionDataList) {
+        return exchange -> match(conditionDataList, exchange);
+    }
 }
@@ -20,6 +20,8 @@ package org.dromara.soul.plugin.base.condition.strategy;
 
 import org.dromara.soul.common.dto.ConditionData;
 import org.dromara.soul.plugin.base.condition.judge.OperatorJudgeFactory;
+import org.dromara.soul.plugin.base.condition.matcher.OrConditionMatcher;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
 import org.dromara.soul.spi.Join;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -39,4 +41,9 @@ public class OrMatchStrategy extends AbstractMatchStrategy implements MatchStrat
                 .stream()
                 .anyMatch(condition -> OperatorJudgeFactory.judge(condition, buildRealData(condition, exchange)));
     }
+
+    @Override
+    public ConditionMatcher compile(final List<ConditionData> conditionDataList) {
+        return OrConditionMatcher.of(compileConditions(conditionDataList));
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.dromara.soul.plugin.base.handler;
 
+import java.util.List;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
@@ -58,6 +59,15 @@ public interface PluginDataHandler {
     default void removeSelector(SelectorData selectorData) {
     }
     
+    /**
+     * Refresh selector, the list holds all the selectors of this plugin.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void refreshSelector(List<SelectorData> selectorDataList) {
+        selectorDataList.forEach(this::handlerSelector);
+    }
+    
     /**
      * Handler rule.
      *
@@ -19,11 +19,13 @@ package org.dromara.soul.plugin.base.utils;
 
 import org.dromara.soul.common.dto.ConditionData;
 import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
 import org.dromara.soul.plugin.base.condition.strategy.MatchStrategy;
 import org.dromara.soul.spi.ExtensionLoader;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * MatchStrategyFactory.
@@ -45,4 +47,17 @@ public class MatchStrategyUtils {
         MatchStrategy matchStrategy = ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoin(matchMode);
         return matchStrategy.match(conditionDataList, exchange);
     }
+
+    /**
+     * Compile condition data list into condition matcher.
+     *
+     * @param strategy          the strategy
+     * @param conditionDataList the condition data list
+     * @return the condition matcher
+     */
+    public static ConditionMatcher compile(final Integer strategy, final List<ConditionData> conditionDataList) {
+        String matchMode = Objects.isNull(strategy) ? MatchModeEnum.AND.getName() : MatchModeEnum.getMatchModeByCode(strategy);
+        MatchStrategy matchStrategy = ExtensionLoader.getExtensionLoader(MatchStrategy.class).getJoin(matchMode);
+        return matchStrategy.compile(conditionDataList);
+    }
 }
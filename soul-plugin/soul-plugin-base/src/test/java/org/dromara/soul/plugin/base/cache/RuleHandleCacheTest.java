@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.cache;
+
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.convert.RewriteHandle;
+import org.dromara.soul.plugin.base.handler.PluginDataHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * The type Rule handle cache test.
+ *
+ * @author xiaoyu
+ */
+public class RuleHandleCacheTest {
+    
+    private static final String PLUGIN_NAME = "ruleHandleCacheTest";
+    
+    private final CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Collections.singletonList(new PluginDataHandler() {
+        
+        @Override
+        public void handlerRule(final RuleData ruleData) {
+            RuleHandleCache.getInstance().cacheHandle(ruleData, RewriteHandle.class);
+        }
+        
+        @Override
+        public String pluginNamed() {
+            return PLUGIN_NAME;
+        }
+    }));
+    
+    @After
+    public void tearDown() {
+        subscriber.refreshRuleData();
+    }
+    
+    /**
+     * The handle is parsed again when it changes, a request in flight with the old rule does not replace the new one.
+     */
+    @Test
+    public void handleChangeTest() {
+        final RuleData old = buildRuleData("/a");
+        subscriber.onRuleSubscribe(old);
+        final RewriteHandle oldHandle = RuleHandleCache.getInstance().obtainHandle(old, RewriteHandle.class);
+        Assert.assertEquals("/a", oldHandle.getRewriteURI());
+        Assert.assertSame(oldHandle, RuleHandleCache.getInstance().obtainHandle(old, RewriteHandle.class));
+        
+        final RuleData changed = buildRuleData("/b");
+        subscriber.onRuleSubscribe(changed);
+        final RewriteHandle changedHandle = RuleHandleCache.getInstance().obtainHandle(changed, RewriteHandle.class);
+        Assert.assertEquals("/b", changedHandle.getRewriteURI());
+        Assert.assertEquals("/a", RuleHandleCache.getInstance().obtainHandle(old, RewriteHandle.class).getRewriteURI());
+        Assert.assertSame(changedHandle, RuleHandleCache.getInstance().obtainHandle(changed, RewriteHandle.class));
+    }
+    
+    /**
+     * A request in flight with the removed rule does not bring its handle back.
+     */
+    @Test
+    public void removeTest() {
+        final RuleData ruleData = buildRuleData("/a");
+        subscriber.onRuleSubscribe(ruleData);
+        Assert.assertSame(RuleHandleCache.getInstance().obtainHandle(ruleData, RewriteHandle.class),
+                RuleHandleCache.getInstance().obtainHandle(ruleData, RewriteHandle.class));
+        
+        subscriber.unRuleSubscribe(ruleData);
+        final RewriteHandle inFlight = RuleHandleCache.getInstance().obtainHandle(ruleData, RewriteHandle.class);
+        Assert.assertEquals("/a", inFlight.getRewriteURI());
+        Assert.assertNotSame(inFlight, RuleHandleCache.getInstance().obtainHandle(ruleData, RewriteHandle.class));
+    }
+    
+    private static RuleData buildRuleData(final String rewriteURI) {
+        return new RuleData().setId("rule-handle-cache-test").setName("rule-handle-cache-test").setPluginName(PLUGIN_NAME)
+                .setSelectorId("rule-handle-cache-test").setHandle("{\"rewriteURI\":\"" + rewriteURI + "\"}")
+                .setConditionDataList(Collections.emptyList());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.cache;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.plugin.base.utils.MatchStrategyUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The type Selector path index test, every lookup is compared with the linear scan the index replaced.
+ *
+ * @author xiaoyu
+ */
+public class SelectorPathIndexTest {
+    
+    private static final String PLUGIN_NAME = "selectorPathIndexTest";
+    
+    private static final List<String> PATHS = Arrays.asList("/http/order/findById", "/http/order", "/http/orders", "/http",
+            "/http/user/save", "/dubbo/a/b", "/sofa/b/x", "/sofa/b/y", "/1/detail", "/other", "/", "//http/order/findById");
+    
+    @After
+    public void tearDown() {
+        BaseDataCache.getInstance().cleanSelectorData();
+    }
+    
+    /**
+     * Exact, wildcard, shadowed, non path condition and fallback selectors match the same as the linear scan.
+     */
+    @Test
+    public void matchTest() {
+        List<SelectorData> selectors = Arrays.asList(
+                selector("wildcard", 1, MatchModeEnum.AND, uri("match", "/http/order/**")),
+                selector("shadowed", 2, MatchModeEnum.AND, uri("=", "/http/order/findById")),
+                selector("exact", 3, MatchModeEnum.AND, uri("=", "/http/user/save")),
+                selector("header", 4, MatchModeEnum.AND, header("X-Tenant", "a")),
+                selector("headerAndUri", 0, MatchModeEnum.AND, uri("match", "/http/**"), header("X-Tenant", "b")),
+                selector("like", 5, MatchModeEnum.AND, uri("like", "other")),
+                selector("or", 6, MatchModeEnum.OR, uri("match", "/dubbo/**"), uri("match", "/sofa/*/x")),
+                selector("variable", 7, MatchModeEnum.AND, uri("match", "/{id}/detail")),
+                disabled(selector("disabled", -1, MatchModeEnum.AND, uri("match", "/http/**"))),
+                selector("noCondition", -2, MatchModeEnum.AND));
+        SelectorPathIndex index = index(selectors);
+        for (String tenant : Arrays.asList(null, "a", "b")) {
+            for (String path : PATHS) {
+                assertSameMatch(index, exchange(path, tenant));
+            }
+        }
+        Assert.assertEquals("wildcard", index.match(exchange("/http/order/findById", null)).getSelectorData().getId());
+        Assert.assertEquals("headerAndUri", index.match(exchange("/http/order/findById", "b")).getSelectorData().getId());
+        Assert.assertNull(index.match(exchange("/http", null)));
+    }
+    
+    /**
+     * The full flow selector matches every path, the indexed selectors before it still win.
+     */
+    @Test
+    public void fullFlowTest() {
+        SelectorData fullFlow = selector("fullFlow", 5, MatchModeEnum.AND);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        SelectorPathIndex index = index(Arrays.asList(selector("first", 1, MatchModeEnum.AND, uri("match", "/http/**")),
+                fullFlow, selector("last", 9, MatchModeEnum.AND, uri("match", "/dubbo/**"))));
+        for (String path : PATHS) {
+            assertSameMatch(index, exchange(path, null));
+        }
+        Assert.assertEquals("first", index.match(exchange("/http/order", null)).getSelectorData().getId());
+        Assert.assertEquals("fullFlow", index.match(exchange("/dubbo/a/b", null)).getSelectorData().getId());
+    }
+    
+    /**
+     * The index is rebuilt when a selector is removed or updated.
+     */
+    @Test
+    public void removeAndUpdateTest() {
+        BaseDataCache cache = BaseDataCache.getInstance();
+        SelectorData wildcard = selector("wildcard", 1, MatchModeEnum.AND, uri("match", "/http/order/**"));
+        cache.cacheSelectData(wildcard);
+        cache.cacheSelectData(selector("exact", 2, MatchModeEnum.AND, uri("=", "/http/order/findById")));
+        cache.cacheSelectData(selector("other", 3, MatchModeEnum.AND, uri("match", "/dubbo/**")));
+        Assert.assertEquals("wildcard", cache.obtainSelectorPathIndex(PLUGIN_NAME).match(exchange("/http/order/findById", null)).getSelectorData().getId());
+        
+        cache.removeSelectData(wildcard);
+        SelectorPathIndex index = cache.obtainSelectorPathIndex(PLUGIN_NAME);
+        Assert.assertEquals("exact", index.match(exchange("/http/order/findById", null)).getSelectorData().getId());
+        Assert.assertNull(index.match(exchange("/http/order/save", null)));
+        
+        cache.cacheSelectData(selector("other", 0, MatchModeEnum.AND, uri("match", "/http/**")));
+        index = cache.obtainSelectorPathIndex(PLUGIN_NAME);
+        Assert.assertEquals(2, index.getSelectors().size());
+        Assert.assertEquals("other", index.match(exchange("/http/order/findById", null)).getSelectorData().getId());
+        Assert.assertNull(index.match(exchange("/dubbo/a/b", null)));
+        for (String path : PATHS) {
+            assertSameMatch(index, exchange(path, null));
+        }
+    }
+    
+    private static void assertSameMatch(final SelectorPathIndex index, final ServerWebExchange exchange) {
+        CompiledSelector expected = linearMatch(index.getSelectors(), exchange);
+        CompiledSelector actual = index.match(exchange);
+        Assert.assertEquals(exchange.getRequest().getURI().toString(), Objects.isNull(expected) ? null : expected.getSelectorData().getId(),
+                Objects.isNull(actual) ? null : actual.getSelectorData().getId());
+    }
+    
+    /**
+     * the selector match of the plugin before the selectors were indexed.
+     */
+    private static CompiledSelector linearMatch(final List<CompiledSelector> selectors, final ServerWebExchange exchange) {
+        return selectors.stream().filter(selector -> {
+            SelectorData data = selector.getSelectorData();
+            if (!data.getEnabled()) {
+                return false;
+            }
+            if (data.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
+                return CollectionUtils.isNotEmpty(data.getConditionList()) && MatchStrategyUtils.match(data.getMatchMode(), data.getConditionList(), exchange);
+            }
+            return true;
+        }).findFirst().orElse(null);
+    }
+    
+    private static SelectorPathIndex index(final List<SelectorData> selectors) {
+        return SelectorPathIndex.build(selectors.stream().sorted(Comparator.comparing(SelectorData::getSort))
+                .map(CompiledSelector::compile).collect(Collectors.toList()));
+    }
+    
+    private static ServerWebExchange exchange(final String path, final String tenant) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("http://localhost:9195" + path);
+        if (Objects.nonNull(tenant)) {
+            request.header("X-Tenant", tenant);
+        }
+        return MockServerWebExchange.from(request);
+    }
+    
+    private static SelectorData selector(final String id, final int sort, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        SelectorData selectorData = new SelectorData();
+        selectorData.setId(id);
+        selectorData.setName(id);
+        selectorData.setPluginName(PLUGIN_NAME);
+        selectorData.setSort(sort);
+        selectorData.setEnabled(true);
+        selectorData.setLoged(false);
+        selectorData.setType(SelectorTypeEnum.CUSTOM_FLOW.getCode());
+        selectorData.setMatchMode(matchMode.getCode());
+        selectorData.setConditionList(conditions.length == 0 ? Collections.emptyList() : Arrays.asList(conditions));
+        return selectorData;
+    }
+    
+    private static SelectorData disabled(final SelectorData selectorData) {
+        selectorData.setEnabled(false);
+        return selectorData;
+    }
+    
+    private static ConditionData uri(final String operator, final String value) {
+        return condition("uri", operator, "/", value);
+    }
+    
+    private static ConditionData header(final String name, final String value) {
+        return condition("header", "=", name, value);
+    }
+    
+    private static ConditionData condition(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramName);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.base.condition;
+
+import org.dromara.soul.common.dto.ConditionData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.enums.MatchModeEnum;
+import org.dromara.soul.common.enums.SelectorTypeEnum;
+import org.dromara.soul.plugin.base.cache.CompiledRule;
+import org.dromara.soul.plugin.base.cache.CompiledSelector;
+import org.dromara.soul.plugin.base.condition.judge.OperatorJudgeFactory;
+import org.dromara.soul.plugin.base.condition.matcher.AndConditionMatcher;
+import org.dromara.soul.plugin.base.condition.matcher.ConditionMatcher;
+import org.dromara.soul.plugin.base.condition.matcher.OrConditionMatcher;
+import org.dromara.soul.plugin.base.utils.MatchStrategyUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * The type Condition matcher test, the compiled matchers are compared with the match strategies they replaced.
+ *
+ * @author xiaoyu
+ */
+public class ConditionMatcherTest {
+    
+    private static final List<ConditionData> CONDITIONS = Arrays.asList(
+            condition("uri", "=", "/", "/http/order/findById"),
+            condition("uri", "match", "/", "/http/**"),
+            condition("uri", "like", "/", "order"),
+            condition("header", "=", "X-Tenant", "a"),
+            condition("query", "regEx", "id", "[0-9]+"));
+    
+    private static final List<ServerWebExchange> EXCHANGES = Arrays.asList(
+            exchange("/http/order/findById?id=1", "a"),
+            exchange("/http/order/findById?id=x", "a"),
+            exchange("/http/user/save", null),
+            exchange("/dubbo/order?id=2", "b"),
+            exchange("/other", null));
+    
+    /**
+     * Every pair of conditions matches the same as the and and or strategies.
+     */
+    @Test
+    public void sameAsMatchStrategyTest() {
+        for (MatchModeEnum matchMode : MatchModeEnum.values()) {
+            for (ConditionData first : CONDITIONS) {
+                for (ConditionData second : CONDITIONS) {
+                    List<ConditionData> conditions = Arrays.asList(first, second);
+                    ConditionMatcher matcher = MatchStrategyUtils.compile(matchMode.getCode(), conditions);
+                    for (ServerWebExchange exchange : EXCHANGES) {
+                        Assert.assertEquals(matchMode + " " + first.getParamValue() + " " + second.getParamValue() + " " + exchange.getRequest().getURI(),
+                                MatchStrategyUtils.match(matchMode.getCode(), conditions, exchange), matcher.match(exchange));
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * The and matcher stops at the first miss and the or matcher at the first match.
+     */
+    @Test
+    public void shortCircuitTest() {
+        AtomicInteger calls = new AtomicInteger();
+        List<ConditionMatcher> matchers = new ArrayList<>();
+        matchers.add(counting(calls, false));
+        matchers.add(counting(calls, true));
+        matchers.add(counting(calls, true));
+        ServerWebExchange exchange = EXCHANGES.get(0);
+        Assert.assertFalse(AndConditionMatcher.of(matchers).match(exchange));
+        Assert.assertEquals(1, calls.get());
+        calls.set(0);
+        Assert.assertTrue(OrConditionMatcher.of(matchers).match(exchange));
+        Assert.assertEquals(2, calls.get());
+        Assert.assertSame(ConditionMatcher.ALWAYS, AndConditionMatcher.of(Collections.emptyList()));
+    }
+    
+    /**
+     * A condition which can not compile makes its selector or rule never match, rather than failing the sync.
+     */
+    @Test
+    public void neverMatchTest() {
+        List<List<ConditionData>> invalid = Arrays.asList(
+                Collections.singletonList(condition("uri", "=", "/", null)),
+                Collections.singletonList(condition("uri", "like", "/", null)),
+                Collections.singletonList(condition("uri", "match", "/", null)),
+                Collections.singletonList(condition("uri", "unknown", "/", "/http/**")),
+                Collections.singletonList(condition("unknown", "=", "/", "/http/**")),
+                Collections.singletonList(condition("uri", "regEx", "/", "/http/.*(")),
+                Arrays.asList(condition("uri", "match", "/", "/http/**"), null));
+        for (List<ConditionData> conditions : invalid) {
+            SelectorData selectorData = new SelectorData();
+            selectorData.setName("invalid");
+            selectorData.setEnabled(true);
+            selectorData.setType(SelectorTypeEnum.CUSTOM_FLOW.getCode());
+            selectorData.setMatchMode(MatchModeEnum.OR.getCode());
+            selectorData.setConditionList(conditions);
+            RuleData ruleData = new RuleData();
+            ruleData.setName("invalid");
+            ruleData.setEnabled(true);
+            ruleData.setMatchMode(MatchModeEnum.OR.getCode());
+            ruleData.setConditionDataList(conditions);
+            for (ServerWebExchange exchange : EXCHANGES) {
+                Assert.assertFalse(CompiledSelector.compile(selectorData).match(exchange));
+                Assert.assertFalse(CompiledRule.compile(ruleData).match(exchange));
+            }
+        }
+    }
+    
+    /**
+     * The compiled regex matches the whole value, the same as the regex judge, on every thread.
+     */
+    @Test
+    public void regExTest() throws InterruptedException {
+        ConditionData conditionData = condition("uri", "regEx", "/", "/http/[a-z]+/[0-9]+");
+        Predicate<String> predicate = OperatorJudgeFactory.compile(conditionData);
+        List<String> values = Arrays.asList("/http/order/1", "/http/order/x", "/http/order/1/detail", "/dubbo/http/order/1", "");
+        for (String value : values) {
+            Assert.assertEquals(value, OperatorJudgeFactory.judge(conditionData, value), predicate.test(value));
+            Assert.assertEquals(value, OperatorJudgeFactory.judge(conditionData, value), predicate.test(value));
+        }
+        AtomicInteger matched = new AtomicInteger();
+        Thread thread = new Thread(() -> values.stream().filter(predicate).forEach(value -> matched.incrementAndGet()));
+        thread.start();
+        thread.join();
+        Assert.assertEquals(1, matched.get());
+    }
+    
+    private static ConditionMatcher counting(final AtomicInteger calls, final boolean result) {
+        return exchange -> {
+            calls.incrementAndGet();
+            return result;
+        };
+    }
+    
+    private static ServerWebExchange exchange(final String path, final String tenant) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("http://localhost:9195" + path);
+        if (tenant != null) {
+            request.header("X-Tenant", tenant);
+        }
+        return MockServerWebExchange.from(request);
+    }
+    
+    private static ConditionData condition(final String paramType, final String operator, final String paramName, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName(paramName);
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
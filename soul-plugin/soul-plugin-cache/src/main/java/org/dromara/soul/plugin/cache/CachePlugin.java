@@ -0,0 +1,157 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.rule.CacheRuleHandle;
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.enums.RpcTypeEnum;
+import org.dromara.soul.metrics.enums.MetricsLabelEnum;
+import org.dromara.soul.metrics.facade.MetricsTrackerFacade;
+import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.plugin.base.AbstractSoulPlugin;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
+import org.dromara.soul.plugin.base.utils.Singleton;
+import org.dromara.soul.plugin.cache.response.CacheDirectives;
+import org.dromara.soul.plugin.cache.response.CacheResponseDecorator;
+import org.dromara.soul.plugin.cache.store.CachedResponse;
+import org.dromara.soul.plugin.cache.store.ResponseCache;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The cache plugin, which answers a GET from the cached response of the upstream.
+ *
+ * <p>The key is the method, the path, the query and the request headers named by the rule.
+ * A request with Cache-Control no-store bypasses the cache, and a request with no-cache is sent to the upstream
+ * and refreshes the cached response.
+ *
+ * @author xiaoyu
+ */
+public class CachePlugin extends AbstractSoulPlugin {
+
+    private static final String HIT = "hit";
+
+    private static final String MISS = "miss";
+
+    private static final String BYPASS = "bypass";
+
+    @Override
+    protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
+        final ResponseCache cache = Singleton.INST.get(ResponseCache.class);
+        final CacheRuleHandle cacheRuleHandle = RuleHandleCache.getInstance().obtainHandle(rule, CacheRuleHandle.class);
+        final ServerHttpRequest request = exchange.getRequest();
+        if (Objects.isNull(cache) || Objects.isNull(cacheRuleHandle) || cacheRuleHandle.getTtl() <= 0 || request.getMethod() != HttpMethod.GET) {
+            return chain.execute(exchange);
+        }
+        final CacheDirectives directives = CacheDirectives.parse(request.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        if (directives.has("no-store")) {
+            track(BYPASS);
+            return chain.execute(exchange);
+        }
+        final List<String> keyHeaders = splitHeaders(cacheRuleHandle.getKeyHeaders());
+        final String key = buildKey(request, keyHeaders);
+        if (!directives.has("no-cache") && !"no-cache".equalsIgnoreCase(request.getHeaders().getPragma())) {
+            final long now = System.currentTimeMillis();
+            final CachedResponse cached = cache.get(key, now);
+            if (Objects.nonNull(cached)) {
+                track(HIT);
+                return write(exchange.getResponse(), cached, now);
+            }
+        }
+        track(MISS);
+        final CacheResponseDecorator decorator = new CacheResponseDecorator(exchange, cache, key, keyHeaders, cacheRuleHandle.getTtl());
+        return chain.execute(exchange.mutate().response(decorator).build());
+    }
+
+    @Override
+    public boolean supportRpcType(final String rpcType) {
+        return !Objects.equals(rpcType, RpcTypeEnum.DUBBO.getName());
+    }
+
+    @Override
+    public String named() {
+        return PluginEnum.CACHE.getName();
+    }
+
+    @Override
+    public int getOrder() {
+        return PluginEnum.CACHE.getCode();
+    }
+
+    private static List<String> splitHeaders(final String keyHeaders) {
+        if (StringUtils.isBlank(keyHeaders)) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(keyHeaders.split(",")).map(String::trim).filter(StringUtils::isNotEmpty).collect(Collectors.toList());
+    }
+
+    private static String buildKey(final ServerHttpRequest request, final List<String> keyHeaders) {
+        final StringBuilder key = new StringBuilder(128).append(request.getMethodValue()).append(' ').append(request.getURI().getRawPath());
+        final String query = request.getURI().getRawQuery();
+        if (Objects.nonNull(query)) {
+            key.append('?').append(query);
+        }
+        for (String name : keyHeaders) {
+            key.append('\n').append(name).append(':');
+            final List<String> values = request.getHeaders().get(name);
+            if (Objects.nonNull(values)) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    private static Mono<Void> write(final ServerHttpResponse response, final CachedResponse cached, final long now) {
+        final ByteBuf body = cached.getBody();
+        response.setStatusCode(cached.getStatus());
+        response.getHeaders().putAll(cached.getHeaders());
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.getAge(now)));
+        response.getHeaders().setContentLength(body.readableBytes());
+        final DataBuffer buffer;
+        if (response.bufferFactory() instanceof NettyDataBufferFactory) {
+            // the duplicate retains the body for the write, which releases it, so the reference of the lookup is done.
+            buffer = ((NettyDataBufferFactory) response.bufferFactory()).wrap(body.retainedDuplicate());
+        } else {
+            buffer = response.bufferFactory().wrap(ByteBufUtil.getBytes(body));
+        }
+        cached.release();
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static void track(final String result) {
+        MetricsTrackerFacade.getInstance().counterInc(MetricsLabelEnum.CACHE_REQUEST_TOTAL.getName(), result);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+
+/**
+ * The cache plugin configuration.
+ *
+ * @author xiaoyu
+ */
+@Data
+@EqualsAndHashCode
+public class CacheConfig implements Serializable {
+
+    /**
+     * the max megabytes of the cached responses.
+     */
+    private long maxSize = 64;
+
+    /**
+     * keep the response bodies in pooled direct buffers instead of the heap.
+     */
+    private boolean offHeap;
+
+    /**
+     * the max kilobytes of one response body, a larger response is not cached.
+     */
+    private int maxEntrySize = 1024;
+}
@@ -0,0 +1,79 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache.handler;
+
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.convert.rule.CacheRuleHandle;
+import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
+import org.dromara.soul.plugin.base.handler.PluginDataHandler;
+import org.dromara.soul.plugin.base.utils.Singleton;
+import org.dromara.soul.plugin.cache.config.CacheConfig;
+import org.dromara.soul.plugin.cache.store.ResponseCache;
+
+import java.util.Objects;
+
+/**
+ * The type Cache plugin data handler.
+ *
+ * @author xiaoyu
+ */
+public class CachePluginDataHandler implements PluginDataHandler {
+
+    @Override
+    public void handlerPlugin(final PluginData pluginData) {
+        final ResponseCache current = Singleton.INST.get(ResponseCache.class);
+        if (Objects.nonNull(pluginData) && pluginData.getEnabled()) {
+            CacheConfig cacheConfig = GsonUtils.getInstance().fromJson(pluginData.getConfig(), CacheConfig.class);
+            if (Objects.isNull(cacheConfig)) {
+                cacheConfig = new CacheConfig();
+            }
+            if (Objects.isNull(current) || !cacheConfig.equals(Singleton.INST.get(CacheConfig.class))) {
+                Singleton.INST.single(ResponseCache.class,
+                        new ResponseCache(cacheConfig.getMaxSize() << 20, cacheConfig.getMaxEntrySize() << 10, cacheConfig.isOffHeap()));
+                Singleton.INST.single(CacheConfig.class, cacheConfig);
+                if (Objects.nonNull(current)) {
+                    current.retire();
+                }
+            }
+        } else if (Objects.nonNull(current)) {
+            current.clear();
+        }
+    }
+
+    @Override
+    public void removePlugin(final PluginData pluginData) {
+        final ResponseCache current = Singleton.INST.get(ResponseCache.class);
+        if (Objects.nonNull(current)) {
+            current.clear();
+        }
+    }
+
+    @Override
+    public void handlerRule(final RuleData ruleData) {
+        RuleHandleCache.getInstance().cacheHandle(ruleData, CacheRuleHandle.class);
+    }
+
+    @Override
+    public String pluginNamed() {
+        return PluginEnum.CACHE.getName();
+    }
+}
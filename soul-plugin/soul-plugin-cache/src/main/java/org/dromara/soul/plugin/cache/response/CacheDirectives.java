@@ -0,0 +1,96 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache.response;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The directives of the Cache-Control headers.
+ *
+ * @author xiaoyu
+ */
+public final class CacheDirectives {
+
+    private static final CacheDirectives EMPTY = new CacheDirectives(Collections.emptyMap());
+
+    private final Map<String, String> directives;
+
+    private CacheDirectives(final Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    /**
+     * Parse the Cache-Control header values.
+     *
+     * @param values the header values, may be null
+     * @return the cache directives
+     */
+    public static CacheDirectives parse(final List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        final Map<String, String> directives = new HashMap<>(8);
+        for (String value : values) {
+            for (String directive : value.split(",")) {
+                final int eq = directive.indexOf('=');
+                final String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty()) {
+                    directives.put(name, eq < 0 ? "" : unquote(directive.substring(eq + 1).trim()));
+                }
+            }
+        }
+        return new CacheDirectives(directives);
+    }
+
+    /**
+     * Whether the directive is present.
+     *
+     * @param name the lower case directive name
+     * @return the boolean
+     */
+    public boolean has(final String name) {
+        return directives.containsKey(name);
+    }
+
+    /**
+     * Gets the seconds of the directive, such as max-age.
+     *
+     * @param name the lower case directive name
+     * @return the seconds, -1 when absent or invalid
+     */
+    public long getSeconds(final String name) {
+        final String value = directives.get(name);
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String unquote(final String value) {
+        return value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"' ? value.substring(1, value.length() - 1) : value;
+    }
+}
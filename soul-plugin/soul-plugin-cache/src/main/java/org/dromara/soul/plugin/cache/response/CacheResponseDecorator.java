@@ -0,0 +1,198 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache.response;
+
+import io.netty.buffer.ByteBuf;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.plugin.cache.store.CachedResponse;
+import org.dromara.soul.plugin.cache.store.ResponseCache;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The response decorator which copies the body written to the client into the response cache.
+ *
+ * <p>Only the response of the upstream is cached, when it is a 200 without cookies and the Cache-Control
+ * allows a shared cache to store it. A streaming response which is written by {@code writeAndFlushWith} is not cached.
+ *
+ * @author xiaoyu
+ */
+public class CacheResponseDecorator extends ServerHttpResponseDecorator {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final ServerWebExchange exchange;
+
+    private final ResponseCache cache;
+
+    private final String key;
+
+    private final List<String> keyHeaders;
+
+    private final long ttlSeconds;
+
+    /**
+     * Instantiates a new Cache response decorator.
+     *
+     * @param exchange   the exchange
+     * @param cache      the response cache
+     * @param key        the cache key
+     * @param keyHeaders the request headers in the cache key
+     * @param ttlSeconds the ttl of the rule
+     */
+    public CacheResponseDecorator(final ServerWebExchange exchange, final ResponseCache cache, final String key,
+                                  final List<String> keyHeaders, final long ttlSeconds) {
+        super(exchange.getResponse());
+        this.exchange = exchange;
+        this.cache = cache;
+        this.key = key;
+        this.keyHeaders = keyHeaders;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+        final long ttlMillis = cacheableMillis();
+        if (ttlMillis <= 0) {
+            return super.writeWith(body);
+        }
+        final Capture capture = new Capture(ttlMillis);
+        return super.writeWith(Flux.from(body)
+                .doOnNext(capture::append)
+                .doOnComplete(capture::complete)
+                .doFinally(signal -> capture.release()));
+    }
+
+    private long cacheableMillis() {
+        if (exchange.getAttribute(Constants.CLIENT_RESPONSE_ATTR) == null && exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR) == null
+                && exchange.getAttribute(Constants.CLIENT_RESPONSE_BODY_ATTR) == null) {
+            return 0;
+        }
+        final HttpStatus status = getStatusCode();
+        final HttpHeaders headers = getHeaders();
+        if (status != null && status != HttpStatus.OK || !getCookies().isEmpty() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return 0;
+        }
+        final CacheDirectives directives = CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.has("no-store") || directives.has("private") || directives.has("no-cache")) {
+            return 0;
+        }
+        if (exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                && !directives.has("public") && !directives.has("s-maxage") && !directives.has("must-revalidate")) {
+            return 0;
+        }
+        if (!varyOnKeyHeaders(headers.get(HttpHeaders.VARY)) || headers.getContentLength() > cache.getMaxEntrySize()) {
+            return 0;
+        }
+        long ttl = ttlSeconds;
+        long maxAge = directives.getSeconds("s-maxage");
+        if (maxAge < 0) {
+            maxAge = directives.getSeconds("max-age");
+        }
+        if (maxAge >= 0) {
+            ttl = Math.min(ttl, maxAge);
+        }
+        return ttl * 1000;
+    }
+
+    /**
+     * the response which varies on a request header out of the cache key can not be shared.
+     */
+    private boolean varyOnKeyHeaders(final List<String> vary) {
+        if (vary == null) {
+            return true;
+        }
+        for (String value : vary) {
+            for (String name : value.split(",")) {
+                final String trimmed = name.trim();
+                if ("*".equals(trimmed) || !trimmed.isEmpty() && keyHeaders.stream().noneMatch(trimmed::equalsIgnoreCase)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * the copy of the body, which is dropped when the body exceeds the max entry size or the write fails.
+     */
+    private final class Capture {
+
+        private final long ttlMillis;
+
+        private ByteBuf buffer;
+
+        private boolean aborted;
+
+        Capture(final long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+
+        synchronized void append(final DataBuffer dataBuffer) {
+            if (aborted) {
+                return;
+            }
+            final int size = dataBuffer.readableByteCount();
+            if (buffer == null) {
+                buffer = cache.allocate(initialCapacity(size));
+            }
+            if (buffer.writerIndex() + size > cache.getMaxEntrySize()) {
+                aborted = true;
+                release();
+                return;
+            }
+            buffer.writeBytes(dataBuffer.asByteBuffer());
+        }
+
+        synchronized void complete() {
+            if (aborted) {
+                return;
+            }
+            final ByteBuf body = buffer == null ? cache.allocate(0) : buffer;
+            buffer = null;
+            final HttpHeaders headers = new HttpHeaders();
+            headers.putAll(getDelegate().getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.remove(HttpHeaders.CONNECTION);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            final long now = System.currentTimeMillis();
+            cache.put(key, new CachedResponse(HttpStatus.OK, headers, body.capacity(body.writerIndex()), now, ttlMillis), now);
+        }
+
+        synchronized void release() {
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
+
+        private int initialCapacity(final int size) {
+            final long contentLength = getDelegate().getHeaders().getContentLength();
+            return (int) Math.min(cache.getMaxEntrySize(), Math.max(size, contentLength > 0 ? contentLength : DEFAULT_CAPACITY));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache.store;
+
+import io.netty.buffer.ByteBuf;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One cached response, the cache and every reader hold a reference of it, and its body is released with the last one.
+ *
+ * <p>The references are counted here rather than on the body, a pooled body is recycled once it is released,
+ * so retaining it after the eviction could succeed on a buffer which holds another response by then.
+ *
+ * @author xiaoyu
+ */
+public final class CachedResponse {
+
+    /**
+     * the rough size of the objects around the body and the headers.
+     */
+    private static final int OVERHEAD = 256;
+
+    private final HttpStatus status;
+
+    private final HttpHeaders headers;
+
+    private final ByteBuf body;
+
+    private final long createdMillis;
+
+    private final long expireMillis;
+
+    private final int weight;
+
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /**
+     * Instantiates a new Cached response.
+     *
+     * @param status        the status
+     * @param headers       the headers
+     * @param body          the body, the cached response owns it
+     * @param createdMillis the created millis
+     * @param ttlMillis     the ttl millis
+     */
+    public CachedResponse(final HttpStatus status, final HttpHeaders headers, final ByteBuf body, final long createdMillis, final long ttlMillis) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.createdMillis = createdMillis;
+        this.expireMillis = createdMillis + ttlMillis;
+        int headerSize = 0;
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            headerSize += entry.getKey().length();
+            for (String value : entry.getValue()) {
+                headerSize += value.length();
+            }
+        }
+        this.weight = body.capacity() + headerSize * 2 + OVERHEAD;
+    }
+
+    /**
+     * Gets status.
+     *
+     * @return the status
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets headers.
+     *
+     * @return the headers
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets body, which is valid while the reader holds its reference.
+     *
+     * @return the body
+     */
+    public ByteBuf getBody() {
+        return body;
+    }
+
+    /**
+     * The seconds since the response was cached.
+     *
+     * @param nowMillis the now millis
+     * @return the age seconds
+     */
+    public long getAge(final long nowMillis) {
+        return Math.max(0, nowMillis - createdMillis) / 1000;
+    }
+
+    /**
+     * Whether the response is expired.
+     *
+     * @param nowMillis the now millis
+     * @return the boolean
+     */
+    public boolean isExpired(final long nowMillis) {
+        return nowMillis >= expireMillis;
+    }
+
+    /**
+     * The bytes the response takes in the cache.
+     *
+     * @return the weight
+     */
+    int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Retain the response for a reader.
+     *
+     * @return false when the response was released by the eviction in the meantime
+     */
+    boolean retain() {
+        while (true) {
+            final int current = references.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a reference of the response, the body is released with the last one.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            body.release();
+        }
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache.store;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The response cache which is bounded by the bytes of the responses, with the W-TinyLFU eviction.
+ *
+ * <p>A new response enters the window LRU, which takes 1% of the max size. The response which leaves the window
+ * is admitted to the main space only when its key is used more often than the key the main space would evict
+ * for it, the frequency is estimated by a count-min sketch, so a burst of one-off keys can not flush the popular
+ * responses. The main space is a segmented LRU: a hit in the probation segment promotes the response to the
+ * protected segment, which takes 80% of the main space.
+ *
+ * <p>The lookup is lock free and the policy is updated under a lock, a hit skips the update when the lock is busy.
+ * The bodies are kept in heap buffers, or in pooled direct buffers when off heap, so a large cache does not add
+ * to the heap the GC has to scan. An evicted body is released when its last reader released it.
+ *
+ * @author xiaoyu
+ */
+public final class ResponseCache {
+
+    private static final int WINDOW_PERCENT = 1;
+
+    private static final int PROTECTED_PERCENT = 80;
+
+    /**
+     * the average response size which the frequency sketch is sized for.
+     */
+    private static final int AVERAGE_WEIGHT = 4096;
+
+    private final long maxWeight;
+
+    private final long windowMaxWeight;
+
+    private final long protectedMaxWeight;
+
+    private final int maxEntrySize;
+
+    private final boolean offHeap;
+
+    private final Map<String, Node> data = new ConcurrentHashMap<>(64);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final FrequencySketch sketch;
+
+    private final AccessOrder window = new AccessOrder();
+
+    private final AccessOrder probation = new AccessOrder();
+
+    private final AccessOrder protectedOrder = new AccessOrder();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private long weight;
+
+    private long windowWeight;
+
+    private long protectedWeight;
+
+    /**
+     * whether the cache is replaced by another one, guarded by the lock.
+     */
+    private boolean retired;
+
+    /**
+     * Instantiates a new Response cache.
+     *
+     * @param maxWeight    the max bytes of the cached responses
+     * @param maxEntrySize the max bytes of one response body
+     * @param offHeap      whether the bodies are kept in pooled direct buffers
+     */
+    public ResponseCache(final long maxWeight, final int maxEntrySize, final boolean offHeap) {
+        this.maxWeight = maxWeight;
+        this.windowMaxWeight = Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+        this.protectedMaxWeight = (maxWeight - windowMaxWeight) * PROTECTED_PERCENT / 100;
+        this.maxEntrySize = maxEntrySize;
+        this.offHeap = offHeap;
+        this.sketch = new FrequencySketch((int) Math.min(1 << 22, maxWeight / AVERAGE_WEIGHT));
+    }
+
+    /**
+     * Gets the max bytes of one response body.
+     *
+     * @return the max entry size
+     */
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Allocate the buffer which a response body is collected in.
+     *
+     * @param initialCapacity the initial capacity
+     * @return the buffer
+     */
+    public ByteBuf allocate(final int initialCapacity) {
+        return offHeap ? PooledByteBufAllocator.DEFAULT.directBuffer(initialCapacity, maxEntrySize) : Unpooled.buffer(initialCapacity, maxEntrySize);
+    }
+
+    /**
+     * Get the cached response, it is retained for the caller who releases it once.
+     *
+     * @param key       the key
+     * @param nowMillis the now millis
+     * @return the cached response, null when absent or expired
+     */
+    public CachedResponse get(final String key, final long nowMillis) {
+        final Node node = data.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        if (node.response.isExpired(nowMillis)) {
+            lock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    discard(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+            missCount.increment();
+            return null;
+        }
+        if (!node.response.retain()) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        if (lock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.response;
+    }
+
+    /**
+     * Put the response, the cache owns its body from now on.
+     *
+     * @param key       the key
+     * @param response  the response
+     * @param nowMillis the now millis
+     */
+    public void put(final String key, final CachedResponse response, final long nowMillis) {
+        final Node node = new Node(key, response, response.getWeight() + key.length() * 2);
+        if (node.weight > maxWeight) {
+            response.release();
+            return;
+        }
+        lock.lock();
+        try {
+            if (retired) {
+                response.release();
+                return;
+            }
+            sketch.increment(key.hashCode());
+            final Node old = data.put(key, node);
+            if (old != null) {
+                discard(old);
+            }
+            window.addLast(node);
+            node.queue = window;
+            windowWeight += node.weight;
+            weight += node.weight;
+            expire(nowMillis);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove every response.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            for (Node node : data.values()) {
+                discard(node);
+            }
+            data.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retire the cache which is replaced by another one, every response is removed and the response
+     * which an in flight request puts later is released at once.
+     */
+    public void retire() {
+        lock.lock();
+        try {
+            retired = true;
+            clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets hit count.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets miss count.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the hit ratio of the lookups.
+     *
+     * @return the hit ratio
+     */
+    public double getHitRatio() {
+        final long hits = hitCount.sum();
+        final long total = hits + missCount.sum();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the count of the responses evicted for the size.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Gets the count of the cached responses.
+     *
+     * @return the size
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Gets the bytes of the cached responses.
+     *
+     * @return the weight
+     */
+    public long getWeight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAccess(final Node node) {
+        sketch.increment(node.key.hashCode());
+        if (node.queue == window) {
+            window.moveToLast(node);
+        } else if (node.queue == probation) {
+            probation.remove(node);
+            protectedOrder.addLast(node);
+            node.queue = protectedOrder;
+            protectedWeight += node.weight;
+            while (protectedWeight > protectedMaxWeight) {
+                final Node demoted = protectedOrder.first();
+                protectedOrder.remove(demoted);
+                protectedWeight -= demoted.weight;
+                probation.addLast(demoted);
+                demoted.queue = probation;
+            }
+        } else if (node.queue == protectedOrder) {
+            protectedOrder.moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowMaxWeight) {
+            Node candidate = window.first();
+            window.remove(candidate);
+            windowWeight -= candidate.weight;
+            candidate.queue = null;
+            while (candidate != null && weight > maxWeight) {
+                final Node victim = probation.first() != null ? probation.first() : protectedOrder.first();
+                if (victim == null) {
+                    break;
+                }
+                if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                    evictEntry(victim);
+                } else {
+                    evictEntry(candidate);
+                    candidate = null;
+                }
+            }
+            if (candidate != null) {
+                probation.addLast(candidate);
+                candidate.queue = probation;
+            }
+        }
+        while (weight > maxWeight) {
+            Node victim = probation.first();
+            if (victim == null) {
+                victim = protectedOrder.first() != null ? protectedOrder.first() : window.first();
+            }
+            evictEntry(victim);
+        }
+    }
+
+    /**
+     * the expired responses at the cold end of every segment are dropped, the others are dropped when looked up.
+     */
+    private void expire(final long nowMillis) {
+        for (AccessOrder order : new AccessOrder[]{window, probation, protectedOrder}) {
+            Node node = order.first();
+            while (node != null && node.response.isExpired(nowMillis)) {
+                data.remove(node.key, node);
+                discard(node);
+                node = order.first();
+            }
+        }
+    }
+
+    private void evictEntry(final Node node) {
+        data.remove(node.key, node);
+        discard(node);
+        evictionCount.increment();
+    }
+
+    private void discard(final Node node) {
+        if (node.queue != null) {
+            node.queue.remove(node);
+            if (node.queue == window) {
+                windowWeight -= node.weight;
+            } else if (node.queue == protectedOrder) {
+                protectedWeight -= node.weight;
+            }
+            node.queue = null;
+        }
+        weight -= node.weight;
+        node.response.release();
+    }
+
+    private static final class Node {
+
+        private final String key;
+
+        private final CachedResponse response;
+
+        private final int weight;
+
+        private AccessOrder queue;
+
+        private Node prev;
+
+        private Node next;
+
+        Node(final String key, final CachedResponse response, final int weight) {
+            this.key = key;
+            this.response = response;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * the doubly linked list of the nodes, from the least recently used to the most recently used.
+     */
+    private static final class AccessOrder {
+
+        private Node head;
+
+        private Node tail;
+
+        Node first() {
+            return head;
+        }
+
+        void addLast(final Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(final Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToLast(final Node node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.cache;
+
+import io.netty.buffer.ByteBuf;
+import org.dromara.soul.plugin.cache.store.CachedResponse;
+import org.dromara.soul.plugin.cache.store.ResponseCache;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The type Response cache test.
+ *
+ * @author xiaoyu
+ */
+public class ResponseCacheTest {
+
+    private static final int BODY_SIZE = 1000;
+
+    /**
+     * The frequently used responses survive a scan of one-off keys.
+     */
+    @Test
+    public void admitByFrequency() {
+        ResponseCache cache = new ResponseCache(20 * 1400, BODY_SIZE, false);
+        for (int i = 0; i < 10; i++) {
+            cache.put("hot-" + i, response(cache, 0, 60000), 0);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.get("hot-" + i, 0).release();
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            cache.put("cold-" + i, response(cache, 0, 60000), 0);
+            Assert.assertTrue(cache.getWeight() <= 20 * 1400);
+        }
+        for (int i = 0; i < 10; i++) {
+            CachedResponse cached = cache.get("hot-" + i, 0);
+            Assert.assertNotNull("hot-" + i, cached);
+            cached.release();
+        }
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+        Assert.assertTrue(cache.getHitRatio() > 0.2);
+    }
+
+    /**
+     * The expired response is a miss and its body is released.
+     */
+    @Test
+    public void expire() {
+        ResponseCache cache = new ResponseCache(1 << 20, BODY_SIZE, false);
+        CachedResponse response = response(cache, 0, 1000);
+        cache.put("a", response, 0);
+        CachedResponse cached = cache.get("a", 999);
+        Assert.assertSame(response, cached);
+        Assert.assertEquals(0, cached.getAge(999));
+        cached.release();
+        Assert.assertNull(cache.get("a", 1000));
+        Assert.assertEquals(0, response.getBody().refCnt());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    /**
+     * The evicted body lives until its reader releases it.
+     */
+    @Test
+    public void releaseAfterReader() {
+        ResponseCache cache = new ResponseCache(1 << 20, BODY_SIZE, true);
+        CachedResponse response = response(cache, 0, 60000);
+        Assert.assertTrue(response.getBody().isDirect());
+        cache.put("a", response, 0);
+        CachedResponse cached = cache.get("a", 0);
+        cache.put("a", response(cache, 0, 60000), 0);
+        Assert.assertEquals(1, cached.getBody().refCnt());
+        cached.release();
+        Assert.assertEquals(0, response.getBody().refCnt());
+        cache.clear();
+        Assert.assertEquals(0, cache.getWeight());
+    }
+
+    /**
+     * The response an in flight request puts into the retired cache is released rather than kept.
+     */
+    @Test
+    public void putAfterRetire() {
+        ResponseCache cache = new ResponseCache(1 << 20, BODY_SIZE, true);
+        CachedResponse kept = response(cache, 0, 60000);
+        cache.put("a", kept, 0);
+        CachedResponse inFlight = response(cache, 0, 60000);
+        cache.retire();
+        Assert.assertEquals(0, kept.getBody().refCnt());
+        cache.put("b", inFlight, 0);
+        Assert.assertEquals(0, inFlight.getBody().refCnt());
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getWeight());
+    }
+
+    /**
+     * The readers racing the eviction of pooled bodies never see the bytes of another response.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void concurrentGetAndEvict() throws InterruptedException {
+        ResponseCache cache = new ResponseCache(8 * 1400, BODY_SIZE, true);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger corrupted = new AtomicInteger();
+        AtomicInteger hits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 3; t++) {
+            executor.execute(() -> {
+                while (running.get()) {
+                    for (int i = 0; i < 32; i++) {
+                        CachedResponse cached = cache.get("key-" + i, 0);
+                        if (cached != null) {
+                            hits.incrementAndGet();
+                            ByteBuf body = cached.getBody();
+                            if (body.refCnt() == 0 || body.getByte(0) != i || body.getByte(BODY_SIZE - 1) != i) {
+                                corrupted.incrementAndGet();
+                            }
+                            cached.release();
+                        }
+                    }
+                }
+            });
+        }
+        executor.execute(() -> {
+            for (int round = 0; round < 2000; round++) {
+                for (int i = 0; i < 32; i++) {
+                    ByteBuf body = cache.allocate(BODY_SIZE);
+                    for (int b = 0; b < BODY_SIZE; b++) {
+                        body.writeByte(i);
+                    }
+                    cache.put("key-" + i, new CachedResponse(HttpStatus.OK, new HttpHeaders(), body, 0, 60000), 0);
+                }
+            }
+            running.set(false);
+        });
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        Assert.assertTrue(hits.get() > 0);
+        Assert.assertEquals(0, corrupted.get());
+        cache.clear();
+        Assert.assertEquals(0, cache.getWeight());
+    }
+
+    private static CachedResponse response(final ResponseCache cache, final long now, final long ttlMillis) {
+        ByteBuf body = cache.allocate(BODY_SIZE);
+        body.writeZero(BODY_SIZE);
+        return new CachedResponse(HttpStatus.OK, new HttpHeaders(), body, now, ttlMillis);
+    }
+}
@@ -18,8 +18,10 @@
 
 package org.dromara.soul.plugin.divide;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.common.constant.Constants;
@@ -29,17 +31,24 @@ import org.dromara.soul.common.dto.convert.DivideUpstream;
 import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.RpcTypeEnum;
-import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.plugin.api.UpstreamAttempt;
 import org.dromara.soul.plugin.api.context.SoulContext;
 import org.dromara.soul.plugin.api.result.SoulResultEnum;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.AbstractSoulPlugin;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.base.utils.WebFluxResultUtils;
 import org.dromara.soul.plugin.divide.balance.utils.LoadBalanceUtils;
 import org.dromara.soul.plugin.divide.cache.UpstreamCacheManager;
+import org.dromara.soul.plugin.divide.retry.DivideRetryPolicy;
+import org.dromara.soul.plugin.divide.stats.UpstreamCall;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -52,11 +61,15 @@ public class DividePlugin extends AbstractSoulPlugin {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(DividePlugin.class);
     
+    private static final String[] CREDENTIAL_HEADERS = {HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE};
+    
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+    
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
         final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
         assert soulContext != null;
-        final DivideRuleHandle ruleHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), DivideRuleHandle.class);
+        final DivideRuleHandle ruleHandle = RuleHandleCache.getInstance().obtainHandle(rule, DivideRuleHandle.class);
         final List<DivideUpstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selector.getId());
         if (CollectionUtils.isEmpty(upstreamList)) {
             LOGGER.error("divide upstream configuration error：{}", rule.toString());
@@ -64,19 +77,35 @@ public class DividePlugin extends AbstractSoulPlugin {
             return WebFluxResultUtils.result(exchange, error);
         }
         final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
-        DivideUpstream divideUpstream = LoadBalanceUtils.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
+        final List<DivideUpstream> healthyList = UpstreamStatsManager.getInstance().filter(upstreamList);
+        DivideUpstream divideUpstream = LoadBalanceUtils.selector(selector.getId(), healthyList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(divideUpstream)) {
             LOGGER.error("divide has no upstream");
             Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
+        //设置下超时时间
+        exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
+        final ServerHttpRequest request = exchange.getRequest();
+        if (ruleHandle.isCoalesce() && request.getMethod() == HttpMethod.GET && !hasBody(request.getHeaders())) {
+            exchange.getAttributes().put(Constants.UPSTREAM_COALESCE_KEY, buildCoalesceKey(rule.getId(), ruleHandle.getCoalesceHeaders(), soulContext, exchange));
+        }
+        if (isRetryable(ruleHandle, request)) {
+            final DivideRetryPolicy retryPolicy = new DivideRetryPolicy(rule.getId(), ruleHandle, healthyList,
+                    ruleHandle.isHedge() && request.getMethod() == HttpMethod.GET, upstream -> buildRealURL(buildDomain(upstream), soulContext, exchange));
+            final UpstreamAttempt attempt = retryPolicy.first(divideUpstream);
+            exchange.getAttributes().put(Constants.HTTP_URL, attempt.getUrl());
+            exchange.getAttributes().put(Constants.UPSTREAM_CALL_LISTENER, attempt.getListener());
+            exchange.getAttributes().put(Constants.UPSTREAM_RETRY_POLICY, retryPolicy);
+            return chain.execute(exchange).doFinally(signal -> retryPolicy.onFinally());
+        }
         //设置一下 http url
         String domain = buildDomain(divideUpstream);
         String realURL = buildRealURL(domain, soulContext, exchange);
         exchange.getAttributes().put(Constants.HTTP_URL, realURL);
-        //设置下超时时间
-        exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
-        return chain.execute(exchange);
+        final UpstreamCall upstreamCall = UpstreamStatsManager.getInstance().prepare(divideUpstream);
+        exchange.getAttributes().put(Constants.UPSTREAM_CALL_LISTENER, upstreamCall);
+        return chain.execute(exchange).doFinally(signal -> upstreamCall.onFinally());
     }
     
     @Override
@@ -85,9 +114,8 @@ public class DividePlugin extends AbstractSoulPlugin {
     }
     
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        return !Objects.equals(Objects.requireNonNull(soulContext).getRpcType(), RpcTypeEnum.HTTP.getName());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.HTTP.getName());
     }
     
     @Override
@@ -95,6 +123,43 @@ public class DividePlugin extends AbstractSoulPlugin {
         return PluginEnum.DIVIDE.getCode();
     }
     
+    /**
+     * only the idempotent requests without body can be sent again, the body of the request is read once.
+     */
+    private boolean isRetryable(final DivideRuleHandle ruleHandle, final ServerHttpRequest request) {
+        if (ruleHandle.getRetry() <= 0 && !ruleHandle.isHedge()) {
+            return false;
+        }
+        return IDEMPOTENT_METHODS.contains(request.getMethod()) && !hasBody(request.getHeaders());
+    }
+    
+    private boolean hasBody(final HttpHeaders headers) {
+        return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+    
+    /**
+     * the key is the rule, the path and query sent to the upstream, the credentials and the configured request headers,
+     * so the requests of different users are never coalesced.
+     */
+    private String buildCoalesceKey(final String ruleId, final String coalesceHeaders, final SoulContext soulContext, final ServerWebExchange exchange) {
+        final StringBuilder key = new StringBuilder(ruleId).append(' ').append(buildRealURL("", soulContext, exchange));
+        final HttpHeaders headers = exchange.getRequest().getHeaders();
+        for (String name : CREDENTIAL_HEADERS) {
+            appendHeader(key, name, headers);
+        }
+        if (StringUtils.isNotBlank(coalesceHeaders)) {
+            for (String name : StringUtils.split(coalesceHeaders, ',')) {
+                appendHeader(key, name.trim(), headers);
+            }
+        }
+        return key.toString();
+    }
+    
+    private void appendHeader(final StringBuilder key, final String name, final HttpHeaders headers) {
+        final List<String> values = headers.get(name);
+        key.append('\n').append(name).append(':').append(Objects.isNull(values) ? "" : String.join(",", values));
+    }
+    
     private String buildDomain(final DivideUpstream divideUpstream) {
         String protocol = divideUpstream.getProtocol();
         if (StringUtils.isBlank(protocol)) {
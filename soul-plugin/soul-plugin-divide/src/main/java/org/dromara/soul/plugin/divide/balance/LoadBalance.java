@@ -39,4 +39,24 @@ public interface LoadBalance {
      * @return divide upstream
      */
     DivideUpstream select(List<DivideUpstream> upstreamList, String ip);
+
+    /**
+     * this is select one for upstream list of the selector, the load balance which keeps state per selector overrides it.
+     *
+     * @param selectorId selector id
+     * @param upstreamList upstream list
+     * @param ip ip
+     * @return divide upstream
+     */
+    default DivideUpstream select(String selectorId, List<DivideUpstream> upstreamList, String ip) {
+        return select(upstreamList, ip);
+    }
+
+    /**
+     * this is remove the state kept for the selector, when the selector is removed.
+     *
+     * @param selectorId selector id
+     */
+    default void remove(String selectorId) {
+    }
 }
@@ -13,6 +13,8 @@ import java.util.List;
  */
 public abstract class AbstractLoadBalance implements LoadBalance {
 
+    private static final int DEFAULT_WARMUP = Integer.getInteger("soul.upstream.warmup", 60000);
+
     /**
      * Do select divide upstream.
      *
@@ -22,6 +24,18 @@ public abstract class AbstractLoadBalance implements LoadBalance {
      */
     protected abstract DivideUpstream doSelect(List<DivideUpstream> upstreamList, String ip);
 
+    /**
+     * Do select divide upstream of the selector, by default the selector is ignored.
+     *
+     * @param selectorId   the selector id
+     * @param upstreamList the upstream list
+     * @param ip           the ip
+     * @return the divide upstream
+     */
+    protected DivideUpstream doSelect(final String selectorId, final List<DivideUpstream> upstreamList, final String ip) {
+        return doSelect(upstreamList, ip);
+    }
+
     @Override
     public DivideUpstream select(final List<DivideUpstream> upstreamList, final String ip) {
         if (CollectionUtils.isEmpty(upstreamList)) {
@@ -33,4 +47,57 @@ public abstract class AbstractLoadBalance implements LoadBalance {
         return doSelect(upstreamList, ip);
     }
 
+    @Override
+    public DivideUpstream select(final String selectorId, final List<DivideUpstream> upstreamList, final String ip) {
+        if (CollectionUtils.isEmpty(upstreamList)) {
+            return null;
+        }
+        if (upstreamList.size() == 1) {
+            return upstreamList.get(0);
+        }
+        return doSelect(selectorId, upstreamList, ip);
+    }
+
+    /**
+     * Gets the weight of the upstream, it ramps up linearly from 1 during the warm up after the registration.
+     * A warm upstream costs one comparison.
+     *
+     * @param upstream   the upstream
+     * @param nowMillis  the current time millis
+     * @return the weight
+     */
+    protected static int getWeight(final DivideUpstream upstream, final long nowMillis) {
+        final int weight = upstream.getWeight();
+        final long uptime = nowMillis - upstream.getTimestamp();
+        final int warmup = upstream.getWarmup() > 0 ? upstream.getWarmup() : DEFAULT_WARMUP;
+        if (upstream.getTimestamp() <= 0 || weight <= 1 || uptime >= warmup) {
+            return weight;
+        }
+        if (uptime < -warmup) {
+            // the clock of the admin is far ahead, do not keep the upstream cold for that long.
+            return weight;
+        }
+        return (int) Math.max(1, weight * Math.max(uptime, 0) / warmup);
+    }
+
+    /**
+     * Gets the end of the warm up of the upstream list, 0 when every upstream is warm.
+     *
+     * @param upstreamList the upstream list
+     * @param nowMillis    the current time millis
+     * @return the warm up end millis
+     */
+    protected static long getWarmupEnd(final List<DivideUpstream> upstreamList, final long nowMillis) {
+        long end = 0;
+        for (DivideUpstream upstream : upstreamList) {
+            if (upstream.getTimestamp() > 0 && upstream.getWeight() > 1) {
+                final int warmup = upstream.getWarmup() > 0 ? upstream.getWarmup() : DEFAULT_WARMUP;
+                final long upstreamEnd = upstream.getTimestamp() + warmup;
+                if (upstreamEnd > nowMillis && getWeight(upstream, nowMillis) < upstream.getWeight()) {
+                    end = Math.max(end, upstreamEnd);
+                }
+            }
+        }
+        return end;
+    }
 }
@@ -18,65 +18,114 @@
 
 package org.dromara.soul.plugin.divide.balance.spi;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.dromara.soul.common.dto.convert.DivideUpstream;
-import org.dromara.soul.common.exception.SoulException;
 import org.dromara.soul.spi.Join;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * hash algorithm impl.
  *
+ * <p>The consistent hash ring is built once per upstream list and looked up with a binary search.
+ * {@code UpstreamCacheManager} replaces the whole (unmodifiable) list when the upstream changes,
+ * so the ring is cached by the identity of the list and a new list builds a new ring.
+ *
  * @author xiaoyu(Myth)
  */
 @Join
 public class HashLoadBalance extends AbstractLoadBalance {
 
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private static final int VIRTUAL_NODE_NUM = Integer.getInteger("soul.upstream.hash.virtualNodes", 160);
+
+    /**
+     * upstream list -> ring, weak identity keys so the ring of a replaced list goes away with it.
+     */
+    private final Cache<List<DivideUpstream>, ConsistentHashRing> ringCache = CacheBuilder.newBuilder().weakKeys().build();
 
     @Override
     public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, DivideUpstream> treeMap = new ConcurrentSkipListMap<>();
-        for (DivideUpstream address : upstreamList) {
-            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
-                long addressHash = hash("SOUL-" + address.getUpstreamUrl() + "-HASH-" + i);
-                treeMap.put(addressHash, address);
-            }
-        }
-        long hash = hash(String.valueOf(ip));
-        SortedMap<Long, DivideUpstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        ConsistentHashRing ring = ringCache.getIfPresent(upstreamList);
+        if (ring == null) {
+            ring = ringCache.asMap().computeIfAbsent(upstreamList, list -> new ConsistentHashRing(list, VIRTUAL_NODE_NUM));
         }
-        return treeMap.firstEntry().getValue();
+        return ring.select(String.valueOf(ip));
     }
 
-    private static long hash(final String key) {
-        // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new SoulException("MD5 not supported", e);
+    /**
+     * 64 bit FNV-1a over the chars of the key, finished with the murmur3 mix so that close keys spread over the ring.
+     *
+     * @param key the key
+     * @return the hash
+     */
+    static long hash(final String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
         }
-        md5.reset();
-        byte[] keyBytes;
-        keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The sorted virtual node hashes and the upstream owning each of them.
+     */
+    static final class ConsistentHashRing {
+
+        private final long[] hashes;
 
-        md5.update(keyBytes);
-        byte[] digest = md5.digest();
+        private final DivideUpstream[] upstreams;
 
-        // hash code, Truncate to 32-bits
-        long hashCode = (long) (digest[3] & 0xFF) << 24
-                | ((long) (digest[2] & 0xFF) << 16)
-                | ((long) (digest[1] & 0xFF) << 8)
-                | (digest[0] & 0xFF);
-        return hashCode & 0xffffffffL;
+        /**
+         * Instantiates a new Consistent hash ring.
+         *
+         * @param upstreamList    the upstream list
+         * @param virtualNodeNum the virtual node num of every upstream
+         */
+        ConsistentHashRing(final List<DivideUpstream> upstreamList, final int virtualNodeNum) {
+            final Map<Long, DivideUpstream> ring = new TreeMap<>();
+            for (DivideUpstream upstream : upstreamList) {
+                for (int i = 0; i < virtualNodeNum; i++) {
+                    ring.putIfAbsent(hash("SOUL-" + upstream.getUpstreamUrl() + "-HASH-" + i), upstream);
+                }
+            }
+            hashes = new long[ring.size()];
+            upstreams = new DivideUpstream[ring.size()];
+            int index = 0;
+            for (Map.Entry<Long, DivideUpstream> entry : ring.entrySet()) {
+                hashes[index] = entry.getKey();
+                upstreams[index++] = entry.getValue();
+            }
+        }
+
+        /**
+         * Select the first virtual node clockwise from the hash of the key.
+         *
+         * @param key the key
+         * @return the divide upstream
+         */
+        DivideUpstream select(final String key) {
+            final long hash = hash(key);
+            int low = 0;
+            int high = hashes.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (hashes[mid] < hash) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return upstreams[low == hashes.length ? 0 : low];
+        }
     }
 
 }
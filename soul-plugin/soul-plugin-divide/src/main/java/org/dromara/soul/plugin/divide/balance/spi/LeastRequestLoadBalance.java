@@ -0,0 +1,58 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.balance.spi;
+
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
+import org.dromara.soul.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Least request load balance impl, the power of two choices.
+ *
+ * <p>Two random upstreams are compared and the one with the lower cost wins, the cost is the ewma latency
+ * times the requests in flight, divided by the weight. The http client plugins feed the stats.
+ *
+ * @author xiaoyu
+ */
+@Join
+public class LeastRequestLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int size = upstreamList.size();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        final long nowNanos = System.nanoTime();
+        final long nowMillis = System.currentTimeMillis();
+        final DivideUpstream left = upstreamList.get(first);
+        final DivideUpstream right = upstreamList.get(second);
+        return cost(right, nowNanos, nowMillis) < cost(left, nowNanos, nowMillis) ? right : left;
+    }
+
+    private static double cost(final DivideUpstream divideUpstream, final long nowNanos, final long nowMillis) {
+        return UpstreamStatsManager.getInstance().obtain(divideUpstream).cost(nowNanos) / Math.max(getWeight(divideUpstream, nowMillis), 1);
+    }
+}
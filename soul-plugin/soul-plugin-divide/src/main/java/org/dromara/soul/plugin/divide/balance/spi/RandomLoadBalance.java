@@ -42,22 +42,26 @@ public class RandomLoadBalance extends AbstractLoadBalance {
         int totalWeight = 0;
         // 权重是否都一样
         boolean sameWeight = true;
+        // 预热中的节点按当前权重计算
+        final long now = System.currentTimeMillis();
+        int lastWeight = 0;
         for (int i = 0; i < length; i++) {
-            int weight = upstreamList.get(i).getWeight();
+            int weight = getWeight(upstreamList.get(i), now);
             // 累计总权重
             totalWeight += weight;
             if (sameWeight && i > 0
-                    && weight != upstreamList.get(i - 1).getWeight()) {
+                    && weight != lastWeight) {
                 // 计算所有权重是否一样
                 sameWeight = false;
             }
+            lastWeight = weight;
         }
         if (totalWeight > 0 && !sameWeight) {
             // 如果权重不相同且权重大于0则按总权重数随机
             int offset = RANDOM.nextInt(totalWeight);
             // 并确定随机值落在哪个片断上
             for (DivideUpstream divideUpstream : upstreamList) {
-                offset -= divideUpstream.getWeight();
+                offset -= getWeight(divideUpstream, now);
                 if (offset < 0) {
                     return divideUpstream;
                 }
@@ -21,145 +21,187 @@ package org.dromara.soul.plugin.divide.balance.spi;
 import org.dromara.soul.common.dto.convert.DivideUpstream;
 import org.dromara.soul.spi.Join;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Round robin load balance impl.
  *
+ * <p>Every selector has a precomputed smooth weighted schedule, a pick is one atomic increment and an array index.
+ * The schedule is rebuilt only when the upstream url or weight of the selector changes,
+ * and every second while an upstream of the selector warms up.
+ *
  * @author xiaoyu
  */
 @Join
 public class RoundRobinLoadBalance extends AbstractLoadBalance {
 
-    private final int recyclePeriod = 60000;
-
-    private ConcurrentMap<String, ConcurrentMap<String, WeightedRoundRobin>> methodWeightMap = new ConcurrentHashMap<>(16);
-
-    private AtomicBoolean updateLock = new AtomicBoolean();
+    private final ConcurrentMap<String, Schedule> scheduleMap = new ConcurrentHashMap<>(16);
 
     @Override
     public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
-        String key = upstreamList.get(0).getUpstreamUrl();
-        ConcurrentMap<String, WeightedRoundRobin> map = methodWeightMap.get(key);
-        if (map == null) {
-            methodWeightMap.putIfAbsent(key, new ConcurrentHashMap<>(16));
-            map = methodWeightMap.get(key);
-        }
-        int totalWeight = 0;
-        long maxCurrent = Long.MIN_VALUE;
-        long now = System.currentTimeMillis();
-        DivideUpstream selectedInvoker = null;
-        WeightedRoundRobin selectedWRR = null;
-        for (DivideUpstream upstream : upstreamList) {
-            String rKey = upstream.getUpstreamUrl();
-            WeightedRoundRobin weightedRoundRobin = map.get(rKey);
-            int weight = upstream.getWeight();
-            if (weightedRoundRobin == null) {
-                weightedRoundRobin = new WeightedRoundRobin();
-                weightedRoundRobin.setWeight(weight);
-                map.putIfAbsent(rKey, weightedRoundRobin);
-            }
-            if (weight != weightedRoundRobin.getWeight()) {
-                //weight changed
-                weightedRoundRobin.setWeight(weight);
-            }
-            long cur = weightedRoundRobin.increaseCurrent();
-            weightedRoundRobin.setLastUpdate(now);
-            if (cur > maxCurrent) {
-                maxCurrent = cur;
-                selectedInvoker = upstream;
-                selectedWRR = weightedRoundRobin;
-            }
-            totalWeight += weight;
-        }
-        if (!updateLock.get() && upstreamList.size() != map.size()) {
-            if (updateLock.compareAndSet(false, true)) {
-                try {
-                    // copy -> modify -> update reference
-                    ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
-                    newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
-                    methodWeightMap.put(key, newMap);
-                } finally {
-                    updateLock.set(false);
-                }
-            }
-        }
-        if (selectedInvoker != null) {
-            selectedWRR.sel(totalWeight);
-            return selectedInvoker;
+        // no selector, the upstream list is identified by its first upstream.
+        return doSelect(upstreamList.get(0).getUpstreamUrl(), upstreamList, ip);
+    }
+
+    @Override
+    protected DivideUpstream doSelect(final String selectorId, final List<DivideUpstream> upstreamList, final String ip) {
+        Schedule schedule = scheduleMap.get(selectorId);
+        if (schedule == null || schedule.upstreamList != upstreamList || schedule.isExpired()) {
+            schedule = scheduleMap.compute(selectorId, (key, current) -> Schedule.of(current, upstreamList));
         }
-        // should not happen here
-        return upstreamList.get(0);
+        return schedule.next();
+    }
+
+    @Override
+    public void remove(final String selectorId) {
+        scheduleMap.remove(selectorId);
     }
 
     /**
-     * The type Weighted round robin.
+     * The interleaved weighted schedule of one upstream list.
      */
-    protected static class WeightedRoundRobin {
+    static final class Schedule {
 
-        private int weight;
+        private static final int MAX_SLOTS = 1 << 16;
 
-        private AtomicLong current = new AtomicLong(0);
+        private static final long WARMUP_REFRESH_MILLIS = 1000;
 
-        private long lastUpdate;
+        private final List<DivideUpstream> upstreamList;
 
-        /**
-         * Gets weight.
-         *
-         * @return the weight
-         */
-        int getWeight() {
-            return weight;
+        private final int[] weights;
+
+        private final DivideUpstream[] slots;
+
+        private final AtomicInteger position;
+
+        private final long expireMillis;
+
+        private Schedule(final List<DivideUpstream> upstreamList, final int[] weights, final DivideUpstream[] slots,
+                         final AtomicInteger position, final long expireMillis) {
+            this.upstreamList = upstreamList;
+            this.weights = weights;
+            this.slots = slots;
+            this.position = position;
+            this.expireMillis = expireMillis;
         }
 
         /**
-         * Sets weight.
+         * Reuse the current schedule when only the list instance changed, otherwise build a new one.
          *
-         * @param weight the weight
+         * @param current      the current schedule, may be null
+         * @param upstreamList the upstream list
+         * @return the schedule
          */
-        void setWeight(final int weight) {
-            this.weight = weight;
-            current.set(0);
+        static Schedule of(final Schedule current, final List<DivideUpstream> upstreamList) {
+            if (current != null && current.upstreamList == upstreamList && !current.isExpired()) {
+                return current;
+            }
+            final long now = System.currentTimeMillis();
+            final int[] weights = new int[upstreamList.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = getWeight(upstreamList.get(i), now);
+            }
+            final long expireMillis = getWarmupEnd(upstreamList, now) > 0 ? now + WARMUP_REFRESH_MILLIS : Long.MAX_VALUE;
+            if (current == null) {
+                return new Schedule(upstreamList, weights, build(upstreamList, weights), new AtomicInteger(), expireMillis);
+            }
+            if (sameUpstreams(current, upstreamList, weights)) {
+                return new Schedule(upstreamList, current.weights, current.slots, current.position, expireMillis);
+            }
+            return new Schedule(upstreamList, weights, build(upstreamList, weights), current.position, expireMillis);
         }
 
         /**
-         * Increase current long.
+         * Whether an upstream warms up and the weights have to be computed again.
          *
-         * @return the long
+         * @return the boolean
          */
-        long increaseCurrent() {
-            return current.addAndGet(weight);
+        boolean isExpired() {
+            return expireMillis != Long.MAX_VALUE && System.currentTimeMillis() >= expireMillis;
         }
 
         /**
-         * Sel.
+         * Next upstream of the schedule.
          *
-         * @param total the total
+         * @return the divide upstream
          */
-        void sel(final int total) {
-            current.addAndGet(-1 * total);
+        DivideUpstream next() {
+            return slots[(position.getAndIncrement() & Integer.MAX_VALUE) % slots.length];
         }
 
-        /**
-         * Gets last update.
-         *
-         * @return the last update
-         */
-        long getLastUpdate() {
-            return lastUpdate;
+        private static boolean sameUpstreams(final Schedule current, final List<DivideUpstream> upstreamList, final int[] weights) {
+            if (current.weights.length != weights.length) {
+                return false;
+            }
+            for (int i = 0; i < weights.length; i++) {
+                if (current.weights[i] != weights[i]
+                        || !Objects.equals(current.upstreamList.get(i).getUpstreamUrl(), upstreamList.get(i).getUpstreamUrl())) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         /**
-         * Sets last update.
-         *
-         * @param lastUpdate the last update
+         * One cycle of the smooth weighted round robin, weights are divided by their gcd and every slot goes
+         * to the upstream whose next pick is the earliest, which spreads the picks of a heavy upstream over the cycle.
          */
-        void setLastUpdate(final long lastUpdate) {
-            this.lastUpdate = lastUpdate;
+        private static DivideUpstream[] build(final List<DivideUpstream> upstreamList, final int[] upstreamWeights) {
+            final int size = upstreamList.size();
+            final int[] weights = new int[size];
+            int gcd = 0;
+            for (int i = 0; i < size; i++) {
+                weights[i] = Math.max(upstreamWeights[i], 0);
+                gcd = gcd(gcd, weights[i]);
+            }
+            if (gcd == 0) {
+                // all the weights are 0, pick them equally.
+                Arrays.fill(weights, 1);
+                gcd = 1;
+            }
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                weights[i] /= gcd;
+                total += weights[i];
+            }
+            if (total > MAX_SLOTS) {
+                // keep the cycle short for odd weights, the ratio is kept approximately.
+                final long scale = (total + MAX_SLOTS - 1) / MAX_SLOTS;
+                total = 0;
+                for (int i = 0; i < size; i++) {
+                    weights[i] = weights[i] == 0 ? 0 : (int) Math.max(1, weights[i] / scale);
+                    total += weights[i];
+                }
+            }
+            final int[] picked = new int[size];
+            // the next pick of upstream i is due at (picked[i] + 1) / weights[i], ties go to the earlier upstream.
+            final PriorityQueue<Integer> queue = new PriorityQueue<>(size, (a, b) -> {
+                final int compare = Long.compare((picked[a] + 1L) * weights[b], (picked[b] + 1L) * weights[a]);
+                return compare != 0 ? compare : Integer.compare(a, b);
+            });
+            for (int i = 0; i < size; i++) {
+                if (weights[i] > 0) {
+                    queue.add(i);
+                }
+            }
+            final DivideUpstream[] slots = new DivideUpstream[(int) total];
+            for (int slot = 0; slot < slots.length; slot++) {
+                final int index = queue.poll();
+                slots[slot] = upstreamList.get(index);
+                picked[index]++;
+                queue.add(index);
+            }
+            return slots;
+        }
+
+        private static int gcd(final int a, final int b) {
+            return b == 0 ? a : gcd(b, a % b);
         }
     }
 
@@ -44,4 +44,28 @@ public class LoadBalanceUtils {
         return loadBalance.select(upstreamList, ip);
     }
 
+    /**
+     * Selector divide upstream of the selector.
+     *
+     * @param selectorId   the selector id
+     * @param upstreamList the upstream list
+     * @param algorithm    the loadBalance algorithm
+     * @param ip           the ip
+     * @return the divide upstream
+     */
+    public static DivideUpstream selector(final String selectorId, final List<DivideUpstream> upstreamList, final String algorithm, final String ip) {
+        LoadBalance loadBalance = ExtensionLoader.getExtensionLoader(LoadBalance.class).getJoin(algorithm);
+        return loadBalance.select(selectorId, upstreamList, ip);
+    }
+
+    /**
+     * Remove the state of the selector from every load balance.
+     *
+     * @param selectorId the selector id
+     */
+    public static void remove(final String selectorId) {
+        ExtensionLoader<LoadBalance> extensionLoader = ExtensionLoader.getExtensionLoader(LoadBalance.class);
+        extensionLoader.getExtensionClasses().keySet().forEach(algorithm -> extensionLoader.getJoin(algorithm).remove(selectorId));
+    }
+
 }
@@ -17,37 +17,41 @@
 
 package org.dromara.soul.plugin.divide.cache;
 
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import lombok.extern.slf4j.Slf4j;
-import org.dromara.soul.common.concurrent.SoulThreadFactory;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.DivideUpstream;
 import org.dromara.soul.common.utils.GsonUtils;
-import org.dromara.soul.common.utils.UpstreamCheckUtils;
+import org.dromara.soul.plugin.divide.balance.utils.LoadBalanceUtils;
+import org.dromara.soul.plugin.divide.health.UpstreamHealthChecker;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
 
 /**
  * this is divide  http url upstream.
  *
  * @author xiaoyu
  */
-@Slf4j
 public final class UpstreamCacheManager {
     
     private static final UpstreamCacheManager INSTANCE = new UpstreamCacheManager();
     
-    private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
+    /**
+     * selectorId -> upstream list, a full refresh swaps in a new map so the readers never see it half built.
+     */
+    private volatile Map<String, List<DivideUpstream>> upstreamMap = Maps.newConcurrentMap();
     
     private UpstreamCacheManager() {
         boolean check = Boolean.parseBoolean(System.getProperty("soul.upstream.check", "false"));
         if (check) {
-            new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("scheduled-upstream-task", false))
-                    .scheduleWithFixedDelay(this::scheduled,
-                            30, Integer.parseInt(System.getProperty("soul.upstream.scheduledTime", "30")), TimeUnit.SECONDS);
+            long interval = TimeUnit.SECONDS.toMillis(Integer.parseInt(System.getProperty("soul.upstream.scheduledTime", "30")));
+            new UpstreamHealthChecker(interval, () -> upstreamMap.values()).start();
         }
     }
     
@@ -67,7 +71,7 @@ public final class UpstreamCacheManager {
      * @return the list
      */
     public List<DivideUpstream> findUpstreamListBySelectorId(final String selectorId) {
-        return UPSTREAM_MAP.get(selectorId);
+        return upstreamMap.get(selectorId);
     }
     
     /**
@@ -75,8 +79,12 @@ public final class UpstreamCacheManager {
      *
      * @param key the key
      */
-    public void removeByKey(final String key) {
-        UPSTREAM_MAP.remove(key);
+    public synchronized void removeByKey(final String key) {
+        final List<DivideUpstream> removed = upstreamMap.remove(key);
+        if (Objects.nonNull(removed)) {
+            LoadBalanceUtils.remove(key);
+            removeStats(Collections.singletonList(removed));
+        }
     }
     
     /**
@@ -84,39 +92,54 @@ public final class UpstreamCacheManager {
      *
      * @param selectorData the selector data
      */
-    public void submit(final SelectorData selectorData) {
-        final List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
+    public synchronized void submit(final SelectorData selectorData) {
+        final List<DivideUpstream> upstreamList = buildUpstreamList(selectorData);
         if (null != upstreamList && upstreamList.size() > 0) {
-            UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
+            final List<DivideUpstream> replaced = upstreamMap.put(selectorData.getId(), upstreamList);
+            if (Objects.nonNull(replaced)) {
+                removeStats(Collections.singletonList(replaced));
+            }
         } else {
-            UPSTREAM_MAP.remove(selectorData.getId());
+            removeByKey(selectorData.getId());
         }
     }
     
-    private void scheduled() {
-        if (UPSTREAM_MAP.size() > 0) {
-            UPSTREAM_MAP.forEach((k, v) -> {
-                List<DivideUpstream> result = check(v);
-                if (result.size() > 0) {
-                    UPSTREAM_MAP.put(k, result);
-                } else {
-                    UPSTREAM_MAP.remove(k);
-                }
-            });
-        }
+    /**
+     * Replace all the upstream at once with the full selector list.
+     *
+     * @param selectorDataList the selector data list
+     */
+    public synchronized void refresh(final List<SelectorData> selectorDataList) {
+        final Map<String, List<DivideUpstream>> newUpstreamMap = Maps.newConcurrentMap();
+        selectorDataList.forEach(selectorData -> {
+            final List<DivideUpstream> upstreamList = buildUpstreamList(selectorData);
+            if (null != upstreamList && upstreamList.size() > 0) {
+                newUpstreamMap.put(selectorData.getId(), upstreamList);
+            }
+        });
+        final Map<String, List<DivideUpstream>> oldUpstreamMap = upstreamMap;
+        upstreamMap = newUpstreamMap;
+        oldUpstreamMap.keySet().stream().filter(key -> !newUpstreamMap.containsKey(key)).forEach(LoadBalanceUtils::remove);
+        removeStats(oldUpstreamMap.values());
     }
     
-    private List<DivideUpstream> check(final List<DivideUpstream> upstreamList) {
-        List<DivideUpstream> resultList = Lists.newArrayListWithCapacity(upstreamList.size());
-        for (DivideUpstream divideUpstream : upstreamList) {
-            final boolean pass = UpstreamCheckUtils.checkUrl(divideUpstream.getUpstreamUrl());
-            if (pass) {
-                resultList.add(divideUpstream);
-            } else {
-                log.error("check the url={} is fail ", divideUpstream.getUpstreamUrl());
-            }
-        }
-        return resultList;
+    /**
+     * the stats of an upstream url are removed once no selector has it any more, and so is the state of the load balances
+     * which pick from an upstream list without selector, keyed by its first url.
+     */
+    private void removeStats(final Collection<List<DivideUpstream>> removedLists) {
+        final Set<String> removedUrls = new HashSet<>();
+        removedLists.forEach(upstreamList -> upstreamList.forEach(upstream -> removedUrls.add(upstream.getUpstreamUrl())));
+        upstreamMap.values().forEach(upstreamList -> upstreamList.forEach(upstream -> removedUrls.remove(upstream.getUpstreamUrl())));
+        removedUrls.forEach(upstreamUrl -> {
+            UpstreamStatsManager.getInstance().remove(upstreamUrl);
+            LoadBalanceUtils.remove(upstreamUrl);
+        });
+    }
+    
+    private List<DivideUpstream> buildUpstreamList(final SelectorData selectorData) {
+        final List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
+        return Objects.isNull(upstreamList) ? null : Collections.unmodifiableList(upstreamList);
     }
     
 }
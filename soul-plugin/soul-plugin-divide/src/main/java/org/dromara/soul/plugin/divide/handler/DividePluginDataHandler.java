@@ -17,10 +17,15 @@
 
 package org.dromara.soul.plugin.divide.handler;
 
+import java.util.List;
+import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
 import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 import org.dromara.soul.plugin.divide.cache.UpstreamCacheManager;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
 
 /**
  * The type Divide plugin data handler.
@@ -37,6 +42,21 @@ public class DividePluginDataHandler implements PluginDataHandler {
         UpstreamCacheManager.getInstance().removeByKey(selectorData.getId());
     }
     
+    @Override
+    public void refreshSelector(final List<SelectorData> selectorDataList) {
+        UpstreamCacheManager.getInstance().refresh(selectorDataList);
+    }
+    
+    @Override
+    public void handlerRule(final RuleData ruleData) {
+        RuleHandleCache.getInstance().cacheHandle(ruleData, DivideRuleHandle.class);
+    }
+    
+    @Override
+    public void removeRule(final RuleData ruleData) {
+        UpstreamStatsManager.getInstance().removeRetryStats(ruleData.getId());
+    }
+    
     @Override
     public String pluginNamed() {
         return PluginEnum.DIVIDE.getName();
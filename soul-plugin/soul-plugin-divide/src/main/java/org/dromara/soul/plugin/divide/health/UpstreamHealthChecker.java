@@ -0,0 +1,179 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.health;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.concurrent.SoulThreadFactory;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The active health check of the divide upstreams, every probe is a non blocking netty connect or http get.
+ *
+ * <p>A check probes every distinct upstream url with at most {@code soul.upstream.check.concurrency} probes
+ * at once, each one bounded by {@code soul.upstream.check.timeout} millis, and publishes the urls found down
+ * to {@link UpstreamStatsManager} as one snapshot. The next check starts a jittered interval after the end of
+ * this one, so a slow check never overlaps the next and the gateways of a cluster do not probe in step.
+ *
+ * <p>{@code soul.upstream.check.type} is {@code tcp} (connect only) or {@code http} (get
+ * {@code soul.upstream.check.path}, a 2xx or 3xx status is healthy).
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class UpstreamHealthChecker {
+
+    private static final String TYPE_HTTP = "http";
+
+    private static final String TYPE = System.getProperty("soul.upstream.check.type", "tcp");
+
+    private static final String PATH = System.getProperty("soul.upstream.check.path", "/");
+
+    private static final int TIMEOUT = Integer.getInteger("soul.upstream.check.timeout", 3000);
+
+    private static final int CONCURRENCY = Integer.getInteger("soul.upstream.check.concurrency", 64);
+
+    private static final double JITTER = 0.2;
+
+    private final long intervalMillis;
+
+    private final Supplier<Collection<List<DivideUpstream>>> upstreamSupplier;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final TcpClient tcpClient;
+
+    private final HttpClient httpClient;
+
+    private volatile Set<String> unhealthy = Collections.emptySet();
+
+    /**
+     * Instantiates a new Upstream health checker.
+     *
+     * @param intervalMillis   the interval millis between two checks
+     * @param upstreamSupplier the supplier of the upstream lists to check
+     */
+    public UpstreamHealthChecker(final long intervalMillis, final Supplier<Collection<List<DivideUpstream>>> upstreamSupplier) {
+        this.intervalMillis = intervalMillis;
+        this.upstreamSupplier = upstreamSupplier;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("scheduled-upstream-task", true));
+        final LoopResources loopResources = LoopResources.create("soul-upstream-check", 1, true);
+        this.tcpClient = TcpClient.newConnection()
+                .runOn(loopResources)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT);
+        this.httpClient = HttpClient.newConnection()
+                .tcpConfiguration(tcp -> tcp.runOn(loopResources).option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT));
+    }
+
+    /**
+     * Start the checks.
+     */
+    public void start() {
+        scheduleNext();
+    }
+
+    /**
+     * Gets the upstream urls which the last check found down.
+     *
+     * @return the unhealthy urls
+     */
+    public Set<String> getUnhealthy() {
+        return unhealthy;
+    }
+
+    /**
+     * Check every upstream once.
+     *
+     * @return the mono of the urls found down
+     */
+    public Mono<Set<String>> check() {
+        final Map<String, DivideUpstream> upstreams = new LinkedHashMap<>();
+        upstreamSupplier.get().forEach(list -> list.forEach(upstream -> upstreams.putIfAbsent(upstream.getUpstreamUrl(), upstream)));
+        return Flux.fromIterable(upstreams.values())
+                .flatMap(upstream -> probe(upstream).filter(healthy -> !healthy).map(healthy -> upstream.getUpstreamUrl()), CONCURRENCY)
+                .collect(Collectors.toSet())
+                .doOnNext(this::publish);
+    }
+
+    private void scheduleNext() {
+        final double jitter = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        scheduler.schedule(() -> check().doFinally(signal -> scheduleNext())
+                        .subscribe(urls -> { }, error -> log.error("upstream check failed", error)),
+                (long) (intervalMillis * jitter), TimeUnit.MILLISECONDS);
+    }
+
+    private void publish(final Set<String> current) {
+        final Set<String> previous = unhealthy;
+        current.stream().filter(url -> !previous.contains(url)).forEach(url -> log.error("check the url={} is fail ", url));
+        previous.stream().filter(url -> !current.contains(url)).forEach(url -> log.info("check the url={} is recovered", url));
+        unhealthy = Collections.unmodifiableSet(new HashSet<>(current));
+        UpstreamStatsManager.getInstance().unhealthy(current);
+    }
+
+    private Mono<Boolean> probe(final DivideUpstream upstream) {
+        return Mono.defer(() -> TYPE_HTTP.equals(TYPE) ? probeHttp(upstream) : probeTcp(upstream))
+                .timeout(Duration.ofMillis(TIMEOUT))
+                .onErrorReturn(false);
+    }
+
+    private Mono<Boolean> probeTcp(final DivideUpstream upstream) {
+        final String url = upstream.getUpstreamUrl().trim();
+        final int colon = url.lastIndexOf(':');
+        final String host = colon > 0 ? url.substring(0, colon) : url;
+        final int port = colon > 0 ? Integer.parseInt(url.substring(colon + 1)) : defaultPort(upstream);
+        return tcpClient.host(host).port(port).connect().map(connection -> {
+            connection.dispose();
+            return true;
+        });
+    }
+
+    private Mono<Boolean> probeHttp(final DivideUpstream upstream) {
+        final String protocol = StringUtils.isBlank(upstream.getProtocol()) ? "http://" : upstream.getProtocol();
+        final HttpClient client = protocol.startsWith("https") ? httpClient.secure() : httpClient;
+        return client.get().uri(protocol + upstream.getUpstreamUrl().trim() + PATH)
+                .response()
+                .map(response -> response.status().code() >= 200 && response.status().code() < 400);
+    }
+
+    private static int defaultPort(final DivideUpstream upstream) {
+        return StringUtils.startsWith(upstream.getProtocol(), "https") ? 443 : 80;
+    }
+}
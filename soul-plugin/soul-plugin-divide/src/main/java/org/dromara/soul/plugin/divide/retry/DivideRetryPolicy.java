@@ -0,0 +1,206 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.retry;
+
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.plugin.api.UpstreamAttempt;
+import org.dromara.soul.plugin.api.UpstreamCallListener;
+import org.dromara.soul.plugin.api.UpstreamRetryPolicy;
+import org.dromara.soul.plugin.divide.stats.RetryStats;
+import org.dromara.soul.plugin.divide.stats.UpstreamCall;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * The retry policy of one divide request. Every attempt goes to an upstream which has not been tried yet,
+ * it is picked at random by weight among the healthy upstreams, and it takes one retry from the budget of the rule.
+ * The retry does not go through the load balance, which would build its state, e.g. a hash ring, for every
+ * list of the upstreams which are left.
+ *
+ * @author xiaoyu
+ */
+public final class DivideRetryPolicy implements UpstreamRetryPolicy {
+
+    private final DivideRuleHandle ruleHandle;
+
+    private final List<DivideUpstream> upstreamList;
+
+    private final boolean hedge;
+
+    private final Function<DivideUpstream, String> urlBuilder;
+
+    private final RetryStats retryStats;
+
+    private final List<Attempt> attempts = new ArrayList<>(2);
+
+    private final Set<String> triedUrls = new HashSet<>(4);
+
+    private int retries;
+
+    private boolean hedged;
+
+    /**
+     * Instantiates a new Divide retry policy, the request adds to the retry budget of the rule.
+     *
+     * @param ruleId       the rule id
+     * @param ruleHandle   the rule handle
+     * @param upstreamList the healthy upstream list
+     * @param hedge        whether the request may be hedged
+     * @param urlBuilder   the url of the request on an upstream
+     */
+    public DivideRetryPolicy(final String ruleId, final DivideRuleHandle ruleHandle, final List<DivideUpstream> upstreamList,
+                             final boolean hedge, final Function<DivideUpstream, String> urlBuilder) {
+        this.ruleHandle = ruleHandle;
+        this.upstreamList = upstreamList;
+        this.hedge = hedge;
+        this.urlBuilder = urlBuilder;
+        this.retryStats = UpstreamStatsManager.getInstance().obtainRetryStats(ruleId);
+        retryStats.request(System.currentTimeMillis());
+    }
+
+    /**
+     * Start the first attempt, on the upstream which the load balance selected.
+     *
+     * @param divideUpstream the divide upstream
+     * @return the upstream attempt
+     */
+    public synchronized UpstreamAttempt first(final DivideUpstream divideUpstream) {
+        return start(divideUpstream);
+    }
+
+    @Override
+    public long getHedgeDelay() {
+        return hedge ? retryStats.getHedgeDelay(System.currentTimeMillis()) : -1;
+    }
+
+    @Override
+    public synchronized UpstreamAttempt next(final boolean hedged) {
+        if (hedged ? !hedge || this.hedged : retries >= ruleHandle.getRetry()) {
+            return null;
+        }
+        final DivideUpstream divideUpstream = pickUntried();
+        if (divideUpstream == null || !retryStats.tryRetry(ruleHandle.getRetryBudget(), System.currentTimeMillis())) {
+            return null;
+        }
+        if (hedged) {
+            this.hedged = true;
+        } else {
+            retries++;
+        }
+        return start(divideUpstream);
+    }
+
+    /**
+     * The exchange is finished, every attempt ends.
+     */
+    public synchronized void onFinally() {
+        attempts.forEach(Attempt::onFinally);
+    }
+
+    private DivideUpstream pickUntried() {
+        int count = 0;
+        long totalWeight = 0;
+        for (DivideUpstream upstream : upstreamList) {
+            if (!triedUrls.contains(upstream.getUpstreamUrl())) {
+                count++;
+                totalWeight += Math.max(upstream.getWeight(), 0);
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long offset = totalWeight > 0 ? random.nextLong(totalWeight) : random.nextInt(count);
+        for (DivideUpstream upstream : upstreamList) {
+            if (triedUrls.contains(upstream.getUpstreamUrl())) {
+                continue;
+            }
+            offset -= totalWeight > 0 ? Math.max(upstream.getWeight(), 0) : 1;
+            if (offset < 0) {
+                return upstream;
+            }
+        }
+        return null;
+    }
+
+    private UpstreamAttempt start(final DivideUpstream divideUpstream) {
+        triedUrls.add(divideUpstream.getUpstreamUrl());
+        final Attempt attempt = new Attempt(urlBuilder.apply(divideUpstream), UpstreamStatsManager.getInstance().prepare(divideUpstream), retryStats);
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    private static final class Attempt implements UpstreamAttempt, UpstreamCallListener {
+
+        private final String url;
+
+        private final UpstreamCall upstreamCall;
+
+        private final RetryStats retryStats;
+
+        private volatile long startNanos;
+
+        Attempt(final String url, final UpstreamCall upstreamCall, final RetryStats retryStats) {
+            this.url = url;
+            this.upstreamCall = upstreamCall;
+            this.retryStats = retryStats;
+        }
+
+        @Override
+        public String getUrl() {
+            return url;
+        }
+
+        @Override
+        public UpstreamCallListener getListener() {
+            return this;
+        }
+
+        @Override
+        public void onStart() {
+            startNanos = System.nanoTime();
+            upstreamCall.onStart();
+        }
+
+        @Override
+        public void onResponse(final int statusCode) {
+            if (statusCode < 500) {
+                retryStats.sample(System.nanoTime() - startNanos, System.currentTimeMillis());
+            }
+            upstreamCall.onResponse(statusCode);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            upstreamCall.onError(throwable);
+        }
+
+        @Override
+        public void onFinally() {
+            upstreamCall.onFinally();
+        }
+    }
+}
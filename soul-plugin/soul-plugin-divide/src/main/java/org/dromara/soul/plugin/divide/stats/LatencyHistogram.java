@@ -0,0 +1,130 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latency histogram of the last two windows, the buckets are log linear: 8 buckets per power of two
+ * of the micros, so a percentile is within 12.5% of the real latency.
+ *
+ * <p>The current window becomes the previous one when its time is over, a record which races with
+ * the rotation may land in the previous window.
+ *
+ * @author xiaoyu
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * the latencies above it, about 18 minutes, fall into the last bucket.
+     */
+    private static final long MAX_MICROS = (1L << 30) - 1;
+
+    private static final int BUCKETS = index(MAX_MICROS) + 1;
+
+    private final long windowMillis;
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+
+    private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Instantiates a new Latency histogram.
+     *
+     * @param windowMillis the window millis
+     */
+    LatencyHistogram(final long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Record one latency.
+     *
+     * @param latencyNanos the latency nanos
+     * @param nowMillis    the now millis
+     */
+    void record(final long latencyNanos, final long nowMillis) {
+        rotate(nowMillis);
+        current.incrementAndGet(index(Math.min(Math.max(latencyNanos / 1000, 0), MAX_MICROS)));
+    }
+
+    /**
+     * The latency below which the given quantile of the recorded latencies are, rounded up to its bucket.
+     *
+     * @param quantile   the quantile, e.g. 0.95
+     * @param minSamples the min samples
+     * @param nowMillis  the now millis
+     * @return the micros, -1 when there are less samples
+     */
+    long percentile(final double quantile, final long minSamples, final long nowMillis) {
+        rotate(nowMillis);
+        final AtomicLongArray last = previous;
+        final AtomicLongArray now = current;
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = last.get(i) + now.get(i);
+            total += counts[i];
+        }
+        if (total < minSamples || total == 0) {
+            return -1;
+        }
+        final long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return lowerBound(i + 1);
+            }
+        }
+        return MAX_MICROS;
+    }
+
+    private void rotate(final long nowMillis) {
+        final long window = nowMillis / windowMillis;
+        final long old = epoch.get();
+        if (window != old && epoch.compareAndSet(old, window)) {
+            previous = window - old == 1 ? current : new AtomicLongArray(BUCKETS);
+            current = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    private static int index(final long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + (int) ((micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    private static long lowerBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = (index >> SUB_BITS) + SUB_BITS - 1;
+        return (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << (exponent - SUB_BITS);
+    }
+}
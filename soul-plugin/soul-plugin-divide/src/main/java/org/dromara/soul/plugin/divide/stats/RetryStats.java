@@ -0,0 +1,105 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.stats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The retry budget and the latency of the requests of one rule which may be retried or hedged.
+ *
+ * <p>The retries and the hedged requests of the last 10 seconds may be at most the budget ratio of the requests,
+ * plus {@code soul.upstream.retry.minPerSecond} per second so that a rule with few requests can still retry,
+ * so the retries can not multiply the load on the upstreams when they are all failing.
+ *
+ * <p>The hedge delay is the p95 latency of the last 10 to 20 seconds, it is computed again at most once a second.
+ *
+ * @author xiaoyu
+ */
+public final class RetryStats {
+
+    private static final long WINDOW_SECONDS = 10;
+
+    private static final long MIN_RETRIES = Long.getLong("soul.upstream.retry.minPerSecond", 10L) * WINDOW_SECONDS;
+
+    private static final long HEDGE_MIN_SAMPLES = Long.getLong("soul.upstream.hedge.minSamples", 50L);
+
+    private static final double HEDGE_QUANTILE = 0.95;
+
+    /**
+     * a request is recorded as a success, a retry as an error.
+     */
+    private final SlidingWindow budget = new SlidingWindow((int) WINDOW_SECONDS, 1000);
+
+    private final LatencyHistogram latency = new LatencyHistogram(TimeUnit.SECONDS.toMillis(WINDOW_SECONDS));
+
+    private volatile long hedgeDelay = -1;
+
+    private volatile long hedgeDelayUntil;
+
+    /**
+     * A request which may be retried starts, it adds to the budget.
+     *
+     * @param nowMillis the now millis
+     */
+    public void request(final long nowMillis) {
+        budget.record(false, nowMillis);
+    }
+
+    /**
+     * Take one retry from the budget.
+     *
+     * @param ratio     the budget ratio of the retries to the requests
+     * @param nowMillis the now millis
+     * @return false when the budget is spent
+     */
+    public boolean tryRetry(final double ratio, final long nowMillis) {
+        final long total = budget.total(nowMillis);
+        final long retries = budget.errors(nowMillis);
+        if (retries >= MIN_RETRIES + ratio * (total - retries)) {
+            return false;
+        }
+        budget.record(true, nowMillis);
+        return true;
+    }
+
+    /**
+     * Add the latency of a response.
+     *
+     * @param latencyNanos the latency nanos
+     * @param nowMillis    the now millis
+     */
+    public void sample(final long latencyNanos, final long nowMillis) {
+        latency.record(latencyNanos, nowMillis);
+    }
+
+    /**
+     * Gets the hedge delay, the p95 latency of the rule.
+     *
+     * @param nowMillis the now millis
+     * @return the hedge delay millis, -1 while there are too few samples
+     */
+    public long getHedgeDelay(final long nowMillis) {
+        if (nowMillis >= hedgeDelayUntil) {
+            final long micros = latency.percentile(HEDGE_QUANTILE, HEDGE_MIN_SAMPLES, nowMillis);
+            hedgeDelay = micros < 0 ? -1 : Math.max(1, TimeUnit.MICROSECONDS.toMillis(micros + 999));
+            hedgeDelayUntil = nowMillis + 1000;
+        }
+        return hedgeDelay;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The requests and the errors of the last buckets, a bucket is reset by the first record of its next round.
+ *
+ * <p>A record which races with the reset of its bucket may be lost, the error rate is approximate.
+ *
+ * @author xiaoyu
+ */
+final class SlidingWindow {
+
+    private static final int EPOCH = 0;
+
+    private static final int TOTAL = 1;
+
+    private static final int ERRORS = 2;
+
+    private static final int FIELDS = 3;
+
+    private final int bucketCount;
+
+    private final long bucketMillis;
+
+    /**
+     * every bucket is [epoch, total, errors].
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * Instantiates a new Sliding window.
+     *
+     * @param bucketCount  the bucket count
+     * @param bucketMillis the bucket millis
+     */
+    SlidingWindow(final int bucketCount, final long bucketMillis) {
+        this.bucketCount = bucketCount;
+        this.bucketMillis = bucketMillis;
+        this.buckets = new AtomicLongArray(bucketCount * FIELDS);
+    }
+
+    /**
+     * Record one request.
+     *
+     * @param error     whether the request failed
+     * @param nowMillis the now millis
+     */
+    void record(final boolean error, final long nowMillis) {
+        final long epoch = nowMillis / bucketMillis;
+        final int index = (int) (epoch % bucketCount) * FIELDS;
+        final long current = buckets.get(index + EPOCH);
+        if (current != epoch && buckets.compareAndSet(index + EPOCH, current, epoch)) {
+            buckets.set(index + TOTAL, 0);
+            buckets.set(index + ERRORS, 0);
+        }
+        buckets.incrementAndGet(index + TOTAL);
+        if (error) {
+            buckets.incrementAndGet(index + ERRORS);
+        }
+    }
+
+    /**
+     * The requests of the window.
+     *
+     * @param nowMillis the now millis
+     * @return the total
+     */
+    long total(final long nowMillis) {
+        return sum(TOTAL, nowMillis);
+    }
+
+    /**
+     * The errors of the window.
+     *
+     * @param nowMillis the now millis
+     * @return the errors
+     */
+    long errors(final long nowMillis) {
+        return sum(ERRORS, nowMillis);
+    }
+
+    /**
+     * Forget every bucket.
+     */
+    void reset() {
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i * FIELDS + TOTAL, 0);
+            buckets.set(i * FIELDS + ERRORS, 0);
+        }
+    }
+
+    private long sum(final int field, final long nowMillis) {
+        final long epoch = nowMillis / bucketMillis;
+        long sum = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (epoch - buckets.get(i * FIELDS + EPOCH) < bucketCount) {
+                sum += buckets.get(i * FIELDS + field);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.stats;
+
+import org.dromara.soul.plugin.api.UpstreamCallListener;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * One call to the selected upstream, it keeps the upstream stats up to date.
+ *
+ * @author xiaoyu
+ */
+public final class UpstreamCall implements UpstreamCallListener {
+
+    private static final AtomicIntegerFieldUpdater<UpstreamCall> STATE = AtomicIntegerFieldUpdater.newUpdater(UpstreamCall.class, "state");
+
+    private static final int NEW = 0;
+
+    private static final int STARTED = 1;
+
+    private static final int FINISHED = 2;
+
+    private final UpstreamStats stats;
+
+    private volatile long startNanos;
+
+    private volatile int state;
+
+    private volatile boolean recorded;
+
+    /**
+     * Instantiates a new Upstream call, the request is counted in flight only when it is sent to the upstream.
+     *
+     * @param stats the stats
+     */
+    public UpstreamCall(final UpstreamStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void onStart() {
+        if (STATE.compareAndSet(this, NEW, STARTED)) {
+            startNanos = System.nanoTime();
+            stats.begin();
+        }
+    }
+
+    @Override
+    public void onResponse(final int statusCode) {
+        complete(statusCode >= 500);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        complete(true);
+    }
+
+    @Override
+    public void onFinally() {
+        if (STATE.compareAndSet(this, STARTED, FINISHED)) {
+            stats.end();
+            return;
+        }
+        // a call which never started, e.g. a coalesced request, never starts later.
+        STATE.compareAndSet(this, NEW, FINISHED);
+    }
+
+    private void complete(final boolean error) {
+        // an error after the response, e.g. a timeout while reading the body, is not counted twice.
+        if (recorded) {
+            return;
+        }
+        recorded = true;
+        if (!error) {
+            // a fast failure would make the broken upstream look like the fastest one.
+            final long now = System.nanoTime();
+            stats.sample(now - startNanos, now);
+        }
+        if (stats.record(error, System.currentTimeMillis())) {
+            UpstreamStatsManager.getInstance().ejected(stats.getEjectedUntil());
+        }
+    }
+}
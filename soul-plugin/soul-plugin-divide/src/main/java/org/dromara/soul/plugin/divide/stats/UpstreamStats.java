@@ -0,0 +1,216 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.stats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The load and the health of one upstream: the requests in flight, the peak ewma of the response latency
+ * and the passive outlier detection.
+ *
+ * <p>The in flight count is a striped {@link LongAdder} so that the gateway threads do not contend on it.
+ * The ewma is updated without a lock, a sample which loses the race is dropped.
+ *
+ * <p>The upstream is ejected after {@code soul.upstream.outlier.consecutiveErrors} errors in a row, or when
+ * the error rate of the last 10 seconds reaches {@code soul.upstream.outlier.errorRate} percent of at least
+ * {@code soul.upstream.outlier.minRequests} requests. The ejection lasts {@code soul.upstream.outlier.ejectionMillis}
+ * and doubles every time the upstream is ejected again soon after its re-admission, up to 10 times that.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class UpstreamStats {
+
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final int CONSECUTIVE_ERRORS = Integer.getInteger("soul.upstream.outlier.consecutiveErrors", 5);
+
+    private static final int ERROR_RATE = Integer.getInteger("soul.upstream.outlier.errorRate", 50);
+
+    private static final int MIN_REQUESTS = Integer.getInteger("soul.upstream.outlier.minRequests", 20);
+
+    private static final long EJECTION_MILLIS = Long.getLong("soul.upstream.outlier.ejectionMillis", 10000L);
+
+    private static final long MAX_EJECTION_MILLIS = EJECTION_MILLIS * 10;
+
+    /**
+     * the cost of an upstream without latency sample but with a request in flight, so it gets only one probe.
+     */
+    private static final double PENALTY = Double.MAX_VALUE / 2;
+
+    private final String upstreamUrl;
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private final SlidingWindow window = new SlidingWindow(10, 1000);
+
+    private final AtomicInteger consecutiveErrors = new AtomicInteger();
+
+    private volatile double ewmaNanos;
+
+    private volatile long lastSampleNanos;
+
+    private volatile long ejectedUntil;
+
+    private long ejectionMillis;
+
+    /**
+     * Instantiates a new Upstream stats.
+     *
+     * @param upstreamUrl the upstream url
+     */
+    public UpstreamStats(final String upstreamUrl) {
+        this.upstreamUrl = upstreamUrl;
+    }
+
+    /**
+     * A request to the upstream starts.
+     */
+    public void begin() {
+        inFlight.increment();
+    }
+
+    /**
+     * A request to the upstream ends.
+     */
+    public void end() {
+        inFlight.decrement();
+    }
+
+    /**
+     * Gets in flight.
+     *
+     * @return the in flight
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * Add a latency sample, a latency above the ewma replaces it at once, a lower one is decayed in.
+     *
+     * @param latencyNanos the latency nanos
+     * @param nowNanos     the now nanos
+     */
+    public void sample(final long latencyNanos, final long nowNanos) {
+        final double ewma = ewmaNanos;
+        final double weight = weight(nowNanos);
+        ewmaNanos = latencyNanos > ewma ? latencyNanos : ewma * weight + latencyNanos * (1 - weight);
+        lastSampleNanos = nowNanos;
+    }
+
+    /**
+     * Gets the ewma latency nanos, it decays towards 0 while there is no sample.
+     *
+     * @param nowNanos the now nanos
+     * @return the ewma nanos
+     */
+    public double getEwmaNanos(final long nowNanos) {
+        return decayed(nowNanos);
+    }
+
+    /**
+     * The cost of one more request: the ewma latency times the requests in flight plus this one.
+     *
+     * @param nowNanos the now nanos
+     * @return the cost
+     */
+    public double cost(final long nowNanos) {
+        final long active = inFlight.sum();
+        if (ewmaNanos == 0) {
+            return active == 0 ? 0 : PENALTY;
+        }
+        return decayed(nowNanos) * (active + 1);
+    }
+
+    /**
+     * Record the outcome of a request, an error may eject the upstream.
+     *
+     * @param error     whether the request failed: connect error, timeout or 5xx
+     * @param nowMillis the now millis
+     * @return true if the upstream is ejected by this error
+     */
+    public boolean record(final boolean error, final long nowMillis) {
+        window.record(error, nowMillis);
+        if (!error) {
+            if (consecutiveErrors.get() != 0) {
+                consecutiveErrors.set(0);
+            }
+            return false;
+        }
+        final int consecutive = consecutiveErrors.incrementAndGet();
+        if (isEjected(nowMillis)) {
+            return false;
+        }
+        if (consecutive >= CONSECUTIVE_ERRORS) {
+            return eject(nowMillis, "consecutive errors " + consecutive);
+        }
+        final long total = window.total(nowMillis);
+        if (total >= MIN_REQUESTS && window.errors(nowMillis) * 100 >= total * ERROR_RATE) {
+            return eject(nowMillis, "error rate " + window.errors(nowMillis) + "/" + total);
+        }
+        return false;
+    }
+
+    /**
+     * Whether the upstream is ejected.
+     *
+     * @param nowMillis the now millis
+     * @return the boolean
+     */
+    public boolean isEjected(final long nowMillis) {
+        return nowMillis < ejectedUntil;
+    }
+
+    /**
+     * Gets the end of the ejection, in millis.
+     *
+     * @return the ejected until
+     */
+    public long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    private synchronized boolean eject(final long nowMillis, final String reason) {
+        if (isEjected(nowMillis)) {
+            return false;
+        }
+        // ejected again soon after the re-admission, back off exponentially.
+        ejectionMillis = ejectionMillis > 0 && nowMillis - ejectedUntil < ejectionMillis * 2
+                ? Math.min(ejectionMillis * 2, MAX_EJECTION_MILLIS) : EJECTION_MILLIS;
+        ejectedUntil = nowMillis + ejectionMillis;
+        consecutiveErrors.set(0);
+        window.reset();
+        log.warn("the upstream {} is ejected for {} ms, {}", upstreamUrl, ejectionMillis, reason);
+        return true;
+    }
+
+    private double decayed(final long nowNanos) {
+        final double ewma = ewmaNanos;
+        return ewma == 0 ? 0 : ewma * weight(nowNanos);
+    }
+
+    private double weight(final long nowNanos) {
+        return Math.exp(-Math.max(nowNanos - lastSampleNanos, 0) / DECAY_NANOS);
+    }
+}
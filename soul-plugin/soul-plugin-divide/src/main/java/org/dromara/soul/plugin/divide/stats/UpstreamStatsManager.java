@@ -0,0 +1,235 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.divide.stats;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The stats of every divide upstream, by upstream url.
+ *
+ * <p>It also hands out the upstream list without the ejected upstreams and without the upstreams the active
+ * health check found down. The filtered list is cached per upstream list and built again only when an upstream
+ * is ejected or re-admitted or the health snapshot changes, so the requests share it.
+ * When less than {@code soul.upstream.outlier.panicThreshold} percent of the upstreams that passed the active health check
+ * are not ejected, the ejected ones are used too; the upstreams found down are never used.
+ *
+ * <p>It keeps the {@link RetryStats} of every divide rule which retries or hedges too, by rule id.
+ *
+ * @author xiaoyu
+ */
+public final class UpstreamStatsManager {
+
+    private static final UpstreamStatsManager INSTANCE = new UpstreamStatsManager();
+
+    private static final int PANIC_THRESHOLD = Integer.getInteger("soul.upstream.outlier.panicThreshold", 50);
+
+    private final Map<String, UpstreamStats> statsMap = new ConcurrentHashMap<>(16);
+
+    private final Map<String, RetryStats> retryStatsMap = new ConcurrentHashMap<>(16);
+
+    /**
+     * upstream list -> the list without the ejected upstreams, weak identity keys like the upstream list cache.
+     */
+    private final Cache<List<DivideUpstream>, HealthyList> healthyCache = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final AtomicLong ejectionVersion = new AtomicLong();
+
+    /**
+     * the upstream urls which the active health check found down, replaced as a whole by every check.
+     */
+    private volatile Set<String> unhealthy = Collections.emptySet();
+
+    /**
+     * the end of the last ejection, no upstream is ejected after it.
+     */
+    private final AtomicLong ejectionDeadline = new AtomicLong();
+
+    private UpstreamStatsManager() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static UpstreamStatsManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the stats of the upstream.
+     *
+     * @param divideUpstream the divide upstream
+     * @return the upstream stats
+     */
+    public UpstreamStats obtain(final DivideUpstream divideUpstream) {
+        final String upstreamUrl = divideUpstream.getUpstreamUrl();
+        final UpstreamStats stats = statsMap.get(upstreamUrl);
+        return stats != null ? stats : statsMap.computeIfAbsent(upstreamUrl, UpstreamStats::new);
+    }
+
+    /**
+     * Remove the stats of the upstream url, when it has left every selector.
+     *
+     * @param upstreamUrl the upstream url
+     */
+    public void remove(final String upstreamUrl) {
+        statsMap.remove(upstreamUrl);
+    }
+
+    /**
+     * Prepare a call to the upstream, it is counted in flight when the http client plugin sends it.
+     *
+     * @param divideUpstream the divide upstream
+     * @return the upstream call
+     */
+    public UpstreamCall prepare(final DivideUpstream divideUpstream) {
+        return new UpstreamCall(obtain(divideUpstream));
+    }
+
+    /**
+     * Start a call to the upstream.
+     *
+     * @param divideUpstream the divide upstream
+     * @return the upstream call
+     */
+    public UpstreamCall start(final DivideUpstream divideUpstream) {
+        final UpstreamCall upstreamCall = prepare(divideUpstream);
+        upstreamCall.onStart();
+        return upstreamCall;
+    }
+
+    /**
+     * Obtain the retry stats of the rule.
+     *
+     * @param ruleId the rule id
+     * @return the retry stats
+     */
+    public RetryStats obtainRetryStats(final String ruleId) {
+        final RetryStats stats = retryStatsMap.get(ruleId);
+        return stats != null ? stats : retryStatsMap.computeIfAbsent(ruleId, key -> new RetryStats());
+    }
+
+    /**
+     * Remove the retry stats of the rule.
+     *
+     * @param ruleId the rule id
+     */
+    public void removeRetryStats(final String ruleId) {
+        retryStatsMap.remove(ruleId);
+    }
+
+    /**
+     * Filter the ejected upstreams out of the list, the list itself is returned when none is ejected.
+     *
+     * @param upstreamList the upstream list
+     * @return the healthy upstream list
+     */
+    public List<DivideUpstream> filter(final List<DivideUpstream> upstreamList) {
+        final long now = System.currentTimeMillis();
+        if (now >= ejectionDeadline.get() && unhealthy.isEmpty()) {
+            return upstreamList;
+        }
+        final long version = ejectionVersion.get();
+        HealthyList healthyList = healthyCache.getIfPresent(upstreamList);
+        if (healthyList == null || healthyList.version != version || now >= healthyList.validUntil) {
+            healthyList = build(upstreamList, version, now);
+            healthyCache.put(upstreamList, healthyList);
+        }
+        return healthyList.upstreamList;
+    }
+
+    /**
+     * An upstream is ejected.
+     *
+     * @param ejectedUntil the end of the ejection
+     */
+    void ejected(final long ejectedUntil) {
+        ejectionDeadline.accumulateAndGet(ejectedUntil, Math::max);
+        ejectionVersion.incrementAndGet();
+    }
+
+    /**
+     * Publish the upstream urls which the active health check found down.
+     *
+     * @param unhealthyUrls the unhealthy urls
+     */
+    public void unhealthy(final Set<String> unhealthyUrls) {
+        if (!unhealthy.equals(unhealthyUrls)) {
+            unhealthy = Collections.unmodifiableSet(new HashSet<>(unhealthyUrls));
+            ejectionVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * the panic threshold only brings back the ejected upstreams, the upstreams the active health check found down stay out.
+     */
+    private HealthyList build(final List<DivideUpstream> upstreamList, final long version, final long now) {
+        final List<DivideUpstream> alive = new ArrayList<>(upstreamList.size());
+        final List<DivideUpstream> healthy = new ArrayList<>(upstreamList.size());
+        long validUntil = Long.MAX_VALUE;
+        final Set<String> unhealthyUrls = unhealthy;
+        for (DivideUpstream upstream : upstreamList) {
+            if (unhealthyUrls.contains(upstream.getUpstreamUrl())) {
+                continue;
+            }
+            alive.add(upstream);
+            final UpstreamStats stats = obtain(upstream);
+            if (stats.isEjected(now)) {
+                validUntil = Math.min(validUntil, stats.getEjectedUntil());
+            } else {
+                healthy.add(upstream);
+            }
+        }
+        if (healthy.size() * 100 < alive.size() * PANIC_THRESHOLD) {
+            healthy.clear();
+            healthy.addAll(alive);
+        }
+        if (healthy.size() == upstreamList.size()) {
+            return new HealthyList(upstreamList, version, validUntil);
+        }
+        return new HealthyList(Collections.unmodifiableList(healthy), version, validUntil);
+    }
+
+    private static final class HealthyList {
+
+        private final List<DivideUpstream> upstreamList;
+
+        private final long version;
+
+        private final long validUntil;
+
+        HealthyList(final List<DivideUpstream> upstreamList, final long version, final long validUntil) {
+            this.upstreamList = upstreamList;
+            this.version = version;
+            this.validUntil = validUntil;
+        }
+    }
+}
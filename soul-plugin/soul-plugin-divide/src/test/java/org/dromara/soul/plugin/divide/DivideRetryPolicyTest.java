@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.divide;
+
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.dto.convert.rule.DivideRuleHandle;
+import org.dromara.soul.plugin.api.UpstreamAttempt;
+import org.dromara.soul.plugin.divide.retry.DivideRetryPolicy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type Divide retry policy test.
+ *
+ * @author xiaoyu
+ */
+public class DivideRetryPolicyTest {
+    
+    /**
+     * Every retry goes to an upstream which has not been tried, an upstream without weight is never picked
+     * while another one has weight.
+     */
+    @Test
+    public void retryUntriedTest() {
+        List<DivideUpstream> divideUpstreamList = Stream.of(50, 30, 0)
+                .map(weight -> {
+                    DivideUpstream divideUpstream = new DivideUpstream();
+                    divideUpstream.setUpstreamUrl("retry-upstream-" + weight);
+                    divideUpstream.setWeight(weight);
+                    return divideUpstream;
+                })
+                .collect(Collectors.toList());
+        DivideRuleHandle ruleHandle = new DivideRuleHandle();
+        ruleHandle.setRetry(3);
+        for (int i = 0; i < 50; i++) {
+            DivideRetryPolicy retryPolicy = new DivideRetryPolicy("retry-untried-test", ruleHandle, divideUpstreamList, false, DivideUpstream::getUpstreamUrl);
+            Set<String> tried = new HashSet<>();
+            tried.add(retryPolicy.first(divideUpstreamList.get(0)).getUrl());
+            UpstreamAttempt second = retryPolicy.next(false);
+            Assert.assertEquals("retry-upstream-30", second.getUrl());
+            tried.add(second.getUrl());
+            UpstreamAttempt third = retryPolicy.next(false);
+            Assert.assertTrue(tried.add(third.getUrl()));
+            Assert.assertNull(retryPolicy.next(false));
+            retryPolicy.onFinally();
+        }
+    }
+}
@@ -18,10 +18,17 @@
 package org.dromara.soul.plugin.divide;
 
 import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.plugin.divide.balance.spi.HashLoadBalance;
+import org.dromara.soul.plugin.divide.balance.spi.LeastRequestLoadBalance;
+import org.dromara.soul.plugin.divide.balance.spi.RandomLoadBalance;
 import org.dromara.soul.plugin.divide.balance.spi.RoundRobinLoadBalance;
+import org.dromara.soul.plugin.divide.stats.UpstreamCall;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,11 +59,212 @@ public class LoadBalanceTest {
         
         RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
         Map<String, Integer> countMap = new HashMap<>();
-        for (int i = 0; i < 120; i++) {
+        for (int i = 0; i < 100; i++) {
             DivideUpstream result = roundRobinLoadBalance.select(divideUpstreamList, "");
             int count = countMap.getOrDefault(result.getUpstreamUrl(), 0);
             countMap.put(result.getUpstreamUrl(), ++count);
         }
         Assert.assertEquals(50, countMap.get("divide-upstream-50").intValue());
     }
+    
+    /**
+     * Round robin load balance test, selectors sharing the first upstream keep their own schedule.
+     */
+    @Test
+    public void roundRobinLoadBalanceSelectorTest() {
+        List<DivideUpstream> first = Stream.of(1, 3).map(weight -> {
+            DivideUpstream divideUpstream = new DivideUpstream();
+            divideUpstream.setUpstreamUrl("divide-upstream-" + weight);
+            divideUpstream.setWeight(weight);
+            return divideUpstream;
+        }).collect(Collectors.toList());
+        List<DivideUpstream> second = Stream.of(1, 2).map(index -> {
+            DivideUpstream divideUpstream = new DivideUpstream();
+            divideUpstream.setUpstreamUrl("divide-upstream-" + index);
+            divideUpstream.setWeight(1);
+            return divideUpstream;
+        }).collect(Collectors.toList());
+        
+        RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
+        Map<String, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            countMap.merge("first-" + roundRobinLoadBalance.select("1", first, "").getUpstreamUrl(), 1, Integer::sum);
+            countMap.merge("second-" + roundRobinLoadBalance.select("2", second, "").getUpstreamUrl(), 1, Integer::sum);
+        }
+        Assert.assertEquals(10, countMap.get("first-divide-upstream-1").intValue());
+        Assert.assertEquals(30, countMap.get("first-divide-upstream-3").intValue());
+        Assert.assertEquals(20, countMap.get("second-divide-upstream-1").intValue());
+        Assert.assertEquals(20, countMap.get("second-divide-upstream-2").intValue());
+        // the schedule of a removed selector is dropped, a new one starts from its first slot.
+        Assert.assertEquals("divide-upstream-1", roundRobinLoadBalance.select("2", second, "").getUpstreamUrl());
+        roundRobinLoadBalance.remove("2");
+        Assert.assertEquals("divide-upstream-1", roundRobinLoadBalance.select("2", second, "").getUpstreamUrl());
+    }
+    
+    /**
+     * Hash load balance test, the same ip keeps its upstream and removing one upstream only moves its own ips.
+     */
+    @Test
+    public void hashLoadBalanceTest() {
+        List<DivideUpstream> divideUpstreamList =
+                Stream.of(1, 2, 3, 4)
+                        .map(index -> {
+                            DivideUpstream divideUpstream = new DivideUpstream();
+                            divideUpstream.setUpstreamUrl("divide-upstream-" + index);
+                            divideUpstream.setWeight(50);
+                            return divideUpstream;
+                        })
+                        .collect(Collectors.toList());
+        
+        HashLoadBalance hashLoadBalance = new HashLoadBalance();
+        Map<String, String> selected = new HashMap<>();
+        Map<String, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < 4000; i++) {
+            String ip = "10." + (i >> 8) + ".0." + (i & 0xff);
+            DivideUpstream result = hashLoadBalance.select(divideUpstreamList, ip);
+            Assert.assertSame(result, hashLoadBalance.select(divideUpstreamList, ip));
+            selected.put(ip, result.getUpstreamUrl());
+            countMap.merge(result.getUpstreamUrl(), 1, Integer::sum);
+        }
+        countMap.values().forEach(count -> Assert.assertTrue(count > 700 && count < 1300));
+        
+        List<DivideUpstream> removedList = new ArrayList<>(divideUpstreamList.subList(1, 4));
+        selected.forEach((ip, url) -> {
+            String result = hashLoadBalance.select(removedList, ip).getUpstreamUrl();
+            if (!"divide-upstream-1".equals(url)) {
+                Assert.assertEquals(url, result);
+            }
+        });
+    }
+    
+    /**
+     * Least request load balance test, the slow upstream and the busy upstream lose, the failures are not latency samples.
+     */
+    @Test
+    public void leastRequestLoadBalanceTest() {
+        List<DivideUpstream> divideUpstreamList =
+                Stream.of("slow", "fast")
+                        .map(name -> {
+                            DivideUpstream divideUpstream = new DivideUpstream();
+                            divideUpstream.setUpstreamUrl("least-request-" + name);
+                            divideUpstream.setWeight(50);
+                            return divideUpstream;
+                        })
+                        .collect(Collectors.toList());
+        long now = System.nanoTime();
+        UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(0)).sample(100_000_000L, now);
+        UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(1)).sample(1_000_000L, now);
+        
+        LeastRequestLoadBalance leastRequestLoadBalance = new LeastRequestLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("least-request-fast", leastRequestLoadBalance.select(divideUpstreamList, "").getUpstreamUrl());
+        }
+        List<UpstreamCall> calls = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            calls.add(UpstreamStatsManager.getInstance().start(divideUpstreamList.get(1)));
+        }
+        Assert.assertEquals("least-request-slow", leastRequestLoadBalance.select(divideUpstreamList, "").getUpstreamUrl());
+        calls.forEach(UpstreamCall::onFinally);
+        calls.forEach(UpstreamCall::onFinally);
+        Assert.assertEquals(0, UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(1)).getInFlight());
+        
+        // a coalesced request which never reaches the upstream is not in flight.
+        UpstreamCall coalesced = UpstreamStatsManager.getInstance().prepare(divideUpstreamList.get(1));
+        Assert.assertEquals(0, UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(1)).getInFlight());
+        coalesced.onFinally();
+        coalesced.onStart();
+        Assert.assertEquals(0, UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(1)).getInFlight());
+        UpstreamCall sent = UpstreamStatsManager.getInstance().prepare(divideUpstreamList.get(1));
+        sent.onStart();
+        sent.onStart();
+        Assert.assertEquals(1, UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(1)).getInFlight());
+        sent.onFinally();
+        Assert.assertEquals(0, UpstreamStatsManager.getInstance().obtain(divideUpstreamList.get(1)).getInFlight());
+        
+        // a fast failure is not a latency sample, the broken upstream does not look like the fastest one.
+        DivideUpstream broken = new DivideUpstream();
+        broken.setUpstreamUrl("least-request-broken");
+        broken.setWeight(50);
+        UpstreamCall failed = UpstreamStatsManager.getInstance().start(broken);
+        failed.onError(new RuntimeException("connect refused"));
+        failed.onFinally();
+        failed = UpstreamStatsManager.getInstance().start(broken);
+        failed.onResponse(503);
+        failed.onFinally();
+        Assert.assertEquals(0, UpstreamStatsManager.getInstance().obtain(broken).getEwmaNanos(System.nanoTime()), 0);
+    }
+    
+    /**
+     * Warm up test, the upstream registered just now gets a small share until it is warm.
+     */
+    @Test
+    public void warmupTest() {
+        long now = System.currentTimeMillis();
+        List<DivideUpstream> divideUpstreamList =
+                Stream.of(now - 3_600_000L, now)
+                        .map(timestamp -> {
+                            DivideUpstream divideUpstream = new DivideUpstream();
+                            divideUpstream.setUpstreamUrl("warmup-" + timestamp);
+                            divideUpstream.setWeight(100);
+                            divideUpstream.setTimestamp(timestamp);
+                            divideUpstream.setWarmup(600_000);
+                            return divideUpstream;
+                        })
+                        .collect(Collectors.toList());
+        String cold = "warmup-" + now;
+        
+        RandomLoadBalance randomLoadBalance = new RandomLoadBalance();
+        RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
+        int randomCold = 0;
+        int roundRobinCold = 0;
+        for (int i = 0; i < 1010; i++) {
+            randomCold += cold.equals(randomLoadBalance.select(divideUpstreamList, "").getUpstreamUrl()) ? 1 : 0;
+            roundRobinCold += cold.equals(roundRobinLoadBalance.select("warmup", divideUpstreamList, "").getUpstreamUrl()) ? 1 : 0;
+        }
+        Assert.assertTrue(randomCold < 50);
+        Assert.assertEquals(10, roundRobinCold);
+        
+        divideUpstreamList.get(1).setWarmup(1);
+        Assert.assertEquals(2, Stream.generate(() -> randomLoadBalance.select(divideUpstreamList, "").getUpstreamUrl())
+                .limit(200).distinct().count());
+    }
+    
+    /**
+     * Outlier test, the upstream failing in a row is filtered out of the list and the panic keeps the whole list.
+     */
+    @Test
+    public void outlierEjectionTest() {
+        List<DivideUpstream> divideUpstreamList =
+                Stream.of(1, 2, 3, 4)
+                        .map(index -> {
+                            DivideUpstream divideUpstream = new DivideUpstream();
+                            divideUpstream.setUpstreamUrl("outlier-" + index);
+                            divideUpstream.setWeight(50);
+                            return divideUpstream;
+                        })
+                        .collect(Collectors.toList());
+        UpstreamStatsManager manager = UpstreamStatsManager.getInstance();
+        Assert.assertSame(divideUpstreamList, manager.filter(divideUpstreamList));
+        for (int i = 0; i < 5; i++) {
+            UpstreamCall call = manager.start(divideUpstreamList.get(0));
+            call.onResponse(i % 2 == 0 ? 503 : 502);
+            call.onFinally();
+        }
+        List<DivideUpstream> healthy = manager.filter(divideUpstreamList);
+        Assert.assertEquals(3, healthy.size());
+        Assert.assertFalse(healthy.contains(divideUpstreamList.get(0)));
+        Assert.assertSame(healthy, manager.filter(divideUpstreamList));
+        
+        for (int index = 1; index < 3; index++) {
+            for (int i = 0; i < 5; i++) {
+                manager.start(divideUpstreamList.get(index)).onError(new RuntimeException("connect refused"));
+            }
+        }
+        Assert.assertSame(divideUpstreamList, manager.filter(divideUpstreamList));
+        
+        // the panic never brings back the upstream the active health check found down.
+        manager.unhealthy(Collections.singleton("outlier-1"));
+        Assert.assertEquals(divideUpstreamList.subList(1, 4), manager.filter(divideUpstreamList));
+        manager.unhealthy(Collections.emptySet());
+    }
 }
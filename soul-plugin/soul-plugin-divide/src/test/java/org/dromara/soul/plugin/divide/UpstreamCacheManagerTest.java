@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.divide;
+
+import org.dromara.soul.common.dto.SelectorData;
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.divide.cache.UpstreamCacheManager;
+import org.dromara.soul.plugin.divide.stats.UpstreamStats;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * The type Upstream cache manager test.
+ *
+ * @author xiaoyu
+ */
+public class UpstreamCacheManagerTest {
+    
+    /**
+     * The stats of an upstream url are kept while a selector has it and removed after it left every selector.
+     */
+    @Test
+    public void removeStatsTest() {
+        UpstreamCacheManager cacheManager = UpstreamCacheManager.getInstance();
+        UpstreamStatsManager statsManager = UpstreamStatsManager.getInstance();
+        cacheManager.submit(selector("1", "127.0.0.1:8081", "127.0.0.1:8082"));
+        cacheManager.submit(selector("2", "127.0.0.1:8082"));
+        UpstreamStats first = statsManager.obtain(upstream("127.0.0.1:8081"));
+        UpstreamStats second = statsManager.obtain(upstream("127.0.0.1:8082"));
+        
+        cacheManager.submit(selector("1", "127.0.0.1:8082"));
+        Assert.assertNotSame(first, statsManager.obtain(upstream("127.0.0.1:8081")));
+        Assert.assertSame(second, statsManager.obtain(upstream("127.0.0.1:8082")));
+        
+        cacheManager.removeByKey("1");
+        Assert.assertSame(second, statsManager.obtain(upstream("127.0.0.1:8082")));
+        cacheManager.refresh(Collections.emptyList());
+        Assert.assertNotSame(second, statsManager.obtain(upstream("127.0.0.1:8082")));
+    }
+    
+    private static SelectorData selector(final String id, final String... upstreamUrls) {
+        SelectorData selectorData = new SelectorData();
+        selectorData.setId(id);
+        selectorData.setHandle(GsonUtils.getInstance().toJson(Arrays.stream(upstreamUrls).map(UpstreamCacheManagerTest::upstream).collect(Collectors.toList())));
+        return selectorData;
+    }
+    
+    private static DivideUpstream upstream(final String upstreamUrl) {
+        DivideUpstream divideUpstream = new DivideUpstream();
+        divideUpstream.setUpstreamUrl(upstreamUrl);
+        divideUpstream.setWeight(50);
+        return divideUpstream;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.divide;
+
+import org.dromara.soul.common.dto.convert.DivideUpstream;
+import org.dromara.soul.plugin.divide.health.UpstreamHealthChecker;
+import org.dromara.soul.plugin.divide.stats.UpstreamStatsManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The type Upstream health checker test.
+ *
+ * @author xiaoyu
+ */
+public class UpstreamHealthCheckerTest {
+    
+    /**
+     * The closed port is found down and filtered out of the upstream list.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    public void checkTest() throws IOException {
+        int closedPort;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            closedPort = closed.getLocalPort();
+        }
+        try (ServerSocket open = new ServerSocket(0)) {
+            List<DivideUpstream> upstreamList = Arrays.asList(upstream("127.0.0.1:" + open.getLocalPort()),
+                    upstream("127.0.0.1:" + closedPort), upstream("127.0.0.1:" + open.getLocalPort() + "0000"));
+            UpstreamHealthChecker checker = new UpstreamHealthChecker(30000, () -> Collections.singletonList(upstreamList));
+            Set<String> unhealthy = checker.check().block(Duration.ofSeconds(10));
+            Assert.assertNotNull(unhealthy);
+            Assert.assertEquals(2, unhealthy.size());
+            Assert.assertFalse(unhealthy.contains("127.0.0.1:" + open.getLocalPort()));
+            Assert.assertEquals(Collections.singletonList(upstreamList.get(0)), UpstreamStatsManager.getInstance().filter(upstreamList.subList(0, 2)));
+            UpstreamStatsManager.getInstance().unhealthy(Collections.emptySet());
+        }
+    }
+    
+    private static DivideUpstream upstream(final String url) {
+        DivideUpstream divideUpstream = new DivideUpstream();
+        divideUpstream.setUpstreamUrl(url);
+        divideUpstream.setWeight(50);
+        return divideUpstream;
+    }
+}
@@ -19,8 +19,9 @@ package org.dromara.soul.plugin.global.cache;
 
 import com.google.common.collect.Maps;
 import org.dromara.soul.common.dto.MetaData;
-import org.dromara.soul.common.utils.PathMatchUtils;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 
@@ -34,9 +35,21 @@ public final class MetaDataCache {
     private static final MetaDataCache INSTANCE = new MetaDataCache();
     
     /**
-     * path -> MetaData.
+     * the max size of the pattern lookup cache, found and not found.
      */
-    private static final ConcurrentMap<String, MetaData> META_DATA_MAP = Maps.newConcurrentMap();
+    private static final long LOOKUP_CACHE_SIZE = 10000L;
+    
+    private final Object lock = new Object();
+    
+    /**
+     * path -> MetaData, a full refresh swaps in a new map.
+     */
+    private volatile ConcurrentMap<String, MetaData> metaDataMap = Maps.newConcurrentMap();
+    
+    /**
+     * the pattern index of metaDataMap, rebuilt by every change so the lookup never builds it.
+     */
+    private volatile MetaDataPathIndex pathIndex = new MetaDataPathIndex(new HashMap<>(), LOOKUP_CACHE_SIZE);
     
     private MetaDataCache() {
     }
@@ -56,7 +69,10 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void cache(final MetaData data) {
-        META_DATA_MAP.put(data.getPath(), data);
+        synchronized (lock) {
+            metaDataMap.put(data.getPath(), data);
+            pathIndex = new MetaDataPathIndex(new HashMap<>(metaDataMap), LOOKUP_CACHE_SIZE);
+        }
     }
     
     
@@ -66,10 +82,28 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void remove(final MetaData data) {
-        META_DATA_MAP.remove(data.getPath());
+        synchronized (lock) {
+            metaDataMap.remove(data.getPath());
+            pathIndex = new MetaDataPathIndex(new HashMap<>(metaDataMap), LOOKUP_CACHE_SIZE);
+        }
     }
     
     
+    /**
+     * Replace all the meta data at once, the new map and its index are built before they are published.
+     * they are built under the lock too, so a concurrent cache or remove is applied either before or after the swap, never lost.
+     *
+     * @param metaDataList the full meta data list
+     */
+    public void refresh(final List<MetaData> metaDataList) {
+        final ConcurrentMap<String, MetaData> newMetaDataMap = Maps.newConcurrentMap();
+        synchronized (lock) {
+            metaDataList.forEach(data -> newMetaDataMap.put(data.getPath(), data));
+            pathIndex = new MetaDataPathIndex(new HashMap<>(newMetaDataMap), LOOKUP_CACHE_SIZE);
+            metaDataMap = newMetaDataMap;
+        }
+    }
+    
     /**
      * Obtain auth data meta data.
      *
@@ -77,10 +111,9 @@ public final class MetaDataCache {
      * @return the meta data
      */
     public MetaData obtain(final String path) {
-        MetaData metaData = META_DATA_MAP.get(path);
+        MetaData metaData = metaDataMap.get(path);
         if (Objects.isNull(metaData)) {
-            String key = META_DATA_MAP.keySet().stream().filter(k -> PathMatchUtils.match(k, path)).findFirst().orElse("");
-            return META_DATA_MAP.get(key);
+            return pathIndex.obtain(path);
         }
         return metaData;
     }
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.global.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import org.apache.commons.lang3.StringUtils;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.utils.AntPathPattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The type Meta data path index, an immutable view of the meta data paths used when the exact path misses.
+ *
+ * <p>every path pattern is put into a trie by its leading literal segments, a lookup walks the request path segments
+ * and only matches the patterns on that way, the most specific first. the results, found or not, are kept in a bounded cache.
+ *
+ * @author xiaoyu
+ */
+final class MetaDataPathIndex {
+    
+    private static final String SEPARATOR = "/";
+    
+    private final Map<String, MetaData> metaDataMap;
+    
+    private final Node root = new Node();
+    
+    private final Cache<String, Optional<MetaData>> lookupCache;
+    
+    /**
+     * Instantiates a new Meta data path index.
+     *
+     * @param metaDataMap     the copy of path -> MetaData
+     * @param lookupCacheSize the max size of lookup cache
+     */
+    MetaDataPathIndex(final Map<String, MetaData> metaDataMap, final long lookupCacheSize) {
+        this.metaDataMap = metaDataMap;
+        this.lookupCache = CacheBuilder.newBuilder().maximumSize(lookupCacheSize).build();
+        metaDataMap.keySet().forEach(key -> {
+            for (String pattern : StringUtils.split(key, ',')) {
+                if (StringUtils.isNotBlank(pattern)) {
+                    insert(key, pattern.trim());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Obtain the meta data which path pattern match the path.
+     *
+     * @param path the path
+     * @return the meta data, null if not found
+     */
+    MetaData obtain(final String path) {
+        Optional<MetaData> metaData = lookupCache.getIfPresent(path);
+        if (Objects.isNull(metaData)) {
+            metaData = Optional.ofNullable(match(path));
+            lookupCache.put(path, metaData);
+        }
+        return metaData.orElse(null);
+    }
+    
+    private MetaData match(final String path) {
+        final List<Node> nodes = new ArrayList<>();
+        Node node = root;
+        nodes.add(node);
+        for (String segment : StringUtils.split(path, SEPARATOR)) {
+            node = node.children.get(segment);
+            if (Objects.isNull(node)) {
+                break;
+            }
+            nodes.add(node);
+        }
+        Collections.reverse(nodes);
+        for (Node each : nodes) {
+            for (PatternEntry entry : each.patterns) {
+                if (entry.pattern.match(path)) {
+                    return metaDataMap.get(entry.key);
+                }
+            }
+        }
+        return null;
+    }
+    
+    private void insert(final String key, final String pattern) {
+        Node node = root;
+        for (String segment : StringUtils.split(pattern, SEPARATOR)) {
+            if (StringUtils.containsAny(segment, '*', '?', '{')) {
+                break;
+            }
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.patterns.add(new PatternEntry(key, pattern));
+    }
+    
+    private static final class Node {
+        
+        private final Map<String, Node> children = Maps.newHashMap();
+        
+        private final List<PatternEntry> patterns = new ArrayList<>();
+    }
+    
+    private static final class PatternEntry {
+        
+        private final String key;
+        
+        private final AntPathPattern pattern;
+        
+        PatternEntry(final String key, final String pattern) {
+            this.key = key;
+            this.pattern = AntPathPattern.compile(pattern);
+        }
+    }
+}
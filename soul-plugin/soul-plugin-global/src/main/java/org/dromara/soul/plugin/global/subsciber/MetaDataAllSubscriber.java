@@ -17,6 +17,7 @@
 
 package org.dromara.soul.plugin.global.subsciber;
 
+import java.util.List;
 import org.dromara.soul.common.dto.MetaData;
 import org.dromara.soul.plugin.global.cache.MetaDataCache;
 import org.dromara.soul.sync.data.api.MetaDataSubscriber;
@@ -37,4 +38,9 @@ public class MetaDataAllSubscriber implements MetaDataSubscriber {
     public void unSubscribe(final MetaData metaData) {
         MetaDataCache.getInstance().remove(metaData);
     }
+    
+    @Override
+    public void refresh(final List<MetaData> metaDataList) {
+        MetaDataCache.getInstance().refresh(metaDataList);
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.global.cache;
+
+import org.dromara.soul.common.dto.MetaData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+/**
+ * The type Meta data cache test.
+ *
+ * @author xiaoyu
+ */
+public class MetaDataCacheTest {
+    
+    @After
+    public void tearDown() {
+        MetaDataCache.getInstance().refresh(Collections.emptyList());
+    }
+    
+    /**
+     * A cache or remove issued while a refresh builds the new map is applied after the swap rather than lost.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void refreshRaceTest() throws InterruptedException {
+        MetaDataCache cache = MetaDataCache.getInstance();
+        MetaData removed = metaData("/http/removed/**");
+        cache.cache(removed);
+        Thread writer = new Thread(() -> {
+            cache.remove(removed);
+            cache.cache(metaData("/http/cached/**"));
+        });
+        RacingList metaDataList = new RacingList(writer);
+        metaDataList.add(removed);
+        metaDataList.add(metaData("/http/refreshed/**"));
+        cache.refresh(metaDataList);
+        writer.join();
+        Assert.assertNotNull(cache.obtain("/http/refreshed/findById"));
+        Assert.assertNotNull(cache.obtain("/http/cached/findById"));
+        Assert.assertNull(cache.obtain("/http/removed/findById"));
+    }
+    
+    private static MetaData metaData(final String path) {
+        MetaData metaData = new MetaData();
+        metaData.setId(path);
+        metaData.setPath(path);
+        metaData.setEnabled(true);
+        return metaData;
+    }
+    
+    /**
+     * the list starts the writer while the refresh reads it, and gives the writer time to run before it is read.
+     */
+    private static final class RacingList extends ArrayList<MetaData> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final transient Thread writer;
+        
+        RacingList(final Thread writer) {
+            this.writer = writer;
+        }
+        
+        @Override
+        public void forEach(final Consumer<? super MetaData> action) {
+            writer.start();
+            try {
+                writer.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.global.cache;
+
+import org.dromara.soul.common.dto.MetaData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The type Meta data path index test, every lookup is compared with the linear scan the index replaced.
+ *
+ * @author xiaoyu
+ */
+public class MetaDataPathIndexTest {
+    
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    
+    private static final List<String> PATHS = Arrays.asList("/http/order/findById", "/http/order", "/http/orders", "/http",
+            "/dubbo/findAll", "/dubbo/user/findAll", "/sofa/b/x", "/sofa/b/y", "/1/detail", "/other", "/");
+    
+    @After
+    public void tearDown() {
+        MetaDataCache.getInstance().refresh(Collections.emptyList());
+    }
+    
+    /**
+     * Exact, wildcard, variable and comma separated paths match the same as the linear scan, the most specific pattern wins.
+     */
+    @Test
+    public void obtainTest() {
+        Map<String, MetaData> metaDataMap = metaDataMap("/http/order/findById", "/http/order/**", "/dubbo/*",
+                "/sofa/*/x, /sofa/*/z", "/{id}/detail", "/**/user/**");
+        MetaDataPathIndex index = new MetaDataPathIndex(metaDataMap, 100);
+        for (String path : PATHS) {
+            assertSameMatch(metaDataMap, index.obtain(path), path);
+            Assert.assertSame(index.obtain(path), index.obtain(path));
+        }
+        Assert.assertEquals("/http/order/**", index.obtain("/http/order/save").getPath());
+        Assert.assertEquals("/http/order/**", index.obtain("/http/order").getPath());
+        Assert.assertEquals("/sofa/*/x, /sofa/*/z", index.obtain("/sofa/b/x").getPath());
+        Assert.assertEquals("/{id}/detail", index.obtain("/1/detail").getPath());
+        Assert.assertEquals("/**/user/**", index.obtain("/dubbo/user/findAll").getPath());
+        Assert.assertNull(index.obtain("/http"));
+        Assert.assertNull(index.obtain("/other"));
+    }
+    
+    /**
+     * The index is rebuilt when a meta data is removed or updated.
+     */
+    @Test
+    public void removeAndUpdateTest() {
+        MetaDataCache cache = MetaDataCache.getInstance();
+        MetaData wildcard = metaData("/http/order/**");
+        cache.cache(wildcard);
+        cache.cache(metaData("/http/**"));
+        Assert.assertEquals("/http/order/**", cache.obtain("/http/order/save").getPath());
+        
+        cache.remove(wildcard);
+        Assert.assertEquals("/http/**", cache.obtain("/http/order/save").getPath());
+        
+        MetaData updated = metaData("/http/**");
+        updated.setServiceName("updated");
+        cache.cache(updated);
+        Assert.assertEquals("updated", cache.obtain("/http/order/save").getServiceName());
+        cache.remove(updated);
+        Assert.assertNull(cache.obtain("/http/order/save"));
+    }
+    
+    /**
+     * the old lookup took the first key in map order, so the index may pick another match when several keys match.
+     */
+    private static void assertSameMatch(final Map<String, MetaData> metaDataMap, final MetaData actual, final String path) {
+        List<String> matched = metaDataMap.keySet().stream().filter(key -> linearMatch(key, path)).collect(Collectors.toList());
+        if (matched.isEmpty()) {
+            Assert.assertNull(path, actual);
+        } else {
+            Assert.assertNotNull(path, actual);
+            Assert.assertTrue(path, matched.contains(actual.getPath()));
+        }
+    }
+    
+    private static boolean linearMatch(final String key, final String path) {
+        return Arrays.stream(key.split(",")).map(String::trim).anyMatch(pattern -> MATCHER.match(pattern, path));
+    }
+    
+    private static Map<String, MetaData> metaDataMap(final String... paths) {
+        Map<String, MetaData> metaDataMap = new HashMap<>(paths.length);
+        Arrays.stream(paths).map(MetaDataPathIndexTest::metaData).forEach(metaData -> metaDataMap.put(metaData.getPath(), metaData));
+        return metaDataMap;
+    }
+    
+    private static MetaData metaData(final String path) {
+        MetaData metaData = new MetaData();
+        metaData.setId(String.valueOf(Objects.hash(path)));
+        metaData.setPath(path);
+        metaData.setEnabled(true);
+        return metaData;
+    }
+}
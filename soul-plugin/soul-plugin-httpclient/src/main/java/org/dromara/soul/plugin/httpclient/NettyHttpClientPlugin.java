@@ -19,6 +19,8 @@
 
 package org.dromara.soul.plugin.httpclient;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import org.dromara.soul.common.constant.Constants;
@@ -28,6 +30,8 @@ import org.dromara.soul.plugin.api.result.SoulResultEnum;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.plugin.api.UpstreamCallListener;
+import org.dromara.soul.plugin.api.UpstreamRetryPolicy;
 import org.dromara.soul.plugin.api.context.SoulContext;
 import org.dromara.soul.plugin.base.utils.WebFluxResultUtils;
 import org.slf4j.Logger;
@@ -43,13 +47,20 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientResponse;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 
 /**
  * The type Netty http client plugin.
@@ -63,8 +74,13 @@ public class NettyHttpClientPlugin implements SoulPlugin {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(NettyHttpClientPlugin.class);
 
+    @SuppressWarnings("unchecked")
+    private static final Class<Tuple2<HttpClientResponse, Connection>> RESPONSE_TYPE = (Class<Tuple2<HttpClientResponse, Connection>>) (Class<?>) Tuple2.class;
+
     private final HttpClient httpClient;
 
+    private final UpstreamCoalescer coalescer = new UpstreamCoalescer();
+
     /**
      * Instantiates a new Netty http client plugin.
      *
@@ -88,40 +104,31 @@ public class NettyHttpClientPlugin implements SoulPlugin {
             Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_FIND_URL.getCode(), SoulResultEnum.CANNOT_FIND_URL.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        LOGGER.info("you request,The resulting urlPath is :{}", url);
-        Flux<HttpClientResponse> responseFlux = this.httpClient.headers(headers -> headers.add(httpHeaders))
-                .request(method).uri(url).send((req, nettyOutbound) ->
-                        nettyOutbound.send(request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer) .getNativeBuffer())))
-                .responseConnection((res, connection) -> {
-                    exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
-                    exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
-                    ServerHttpResponse response = exchange.getResponse();
-                    HttpHeaders headers = new HttpHeaders();
-                    res.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
-                    String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
-                    if (StringUtils.hasLength(contentTypeValue)) {
-                        exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
-                    }
-                    HttpStatus status = HttpStatus.resolve(res.status().code());
-                    if (status != null) {
-                        response.setStatusCode(status);
-                    } else if (response instanceof AbstractServerHttpResponse) {
-                        ((AbstractServerHttpResponse) response)
-                                .setStatusCodeValue(res.status().code());
-                    } else {
-                        throw new IllegalStateException("Unable to set status code on response: " + res.status().code() + ", " + response.getClass());
-                    }
-                    response.getHeaders().putAll(headers);
-
-                    return Mono.just(res);
-                });
+        final UpstreamCallListener listener = exchange.getAttribute(Constants.UPSTREAM_CALL_LISTENER);
+        final UpstreamRetryPolicy retryPolicy = exchange.getAttribute(Constants.UPSTREAM_RETRY_POLICY);
+        // the retry policy is set only for the requests without body, the body can not be sent twice.
+        final Flux<ByteBuf> body = Objects.isNull(retryPolicy)
+                ? request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer).getNativeBuffer()) : Flux.empty();
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         Duration duration = Duration.ofMillis(timeout);
-        responseFlux = responseFlux.timeout(duration,
-                Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
-                .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th));
-        return responseFlux.then(chain.execute(exchange));
-
+        final BiFunction<String, UpstreamCallListener, Mono<Tuple2<HttpClientResponse, Connection>>> sender =
+            (uri, callListener) -> send(method, httpHeaders, body, uri, callListener, duration);
+        final Mono<Tuple2<HttpClientResponse, Connection>> response = Objects.isNull(retryPolicy) ? sender.apply(url, listener)
+                : new UpstreamRetry<>(retryPolicy, sender, tuple -> tuple.getT1().status().code(), tuple -> tuple.getT2().dispose(), RESPONSE_TYPE).execute(url, listener);
+        final String coalesceKey = exchange.getAttribute(Constants.UPSTREAM_COALESCE_KEY);
+        if (Objects.nonNull(coalesceKey)) {
+            return coalescer.execute(coalesceKey, response.flatMap(NettyHttpClientPlugin::aggregate))
+                    .doOnNext(shared -> {
+                        exchange.getAttributes().put(Constants.CLIENT_RESPONSE_BODY_ATTR, shared.getBody());
+                        setResponse(exchange, shared.getStatusCode(), shared.getHeaders());
+                    })
+                    .then(chain.execute(exchange));
+        }
+        return response.doOnNext(tuple -> {
+            exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, tuple.getT1());
+            exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, tuple.getT2());
+            setResponse(exchange, tuple.getT1().status().code(), toHeaders(tuple.getT1()));
+        }).then(chain.execute(exchange));
     }
 
     @Override
@@ -130,15 +137,91 @@ public class NettyHttpClientPlugin implements SoulPlugin {
     }
 
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        assert soulContext != null;
-        return !Objects.equals(RpcTypeEnum.HTTP.getName(), soulContext.getRpcType())
-                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), soulContext.getRpcType());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(RpcTypeEnum.HTTP.getName(), rpcType) || Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), rpcType);
     }
 
     @Override
     public String named() {
         return "NettyHttpClient";
     }
+
+    private Mono<Tuple2<HttpClientResponse, Connection>> send(final HttpMethod method, final DefaultHttpHeaders httpHeaders, final Flux<ByteBuf> body,
+                                                             final String url, final UpstreamCallListener listener, final Duration duration) {
+        LOGGER.info("you request,The resulting urlPath is :{}", url);
+        final AtomicBoolean bodyFailed = new AtomicBoolean();
+        final Flux<ByteBuf> requestBody = body.doOnError(throwable -> bodyFailed.set(true));
+        Mono<Tuple2<HttpClientResponse, Connection>> response = this.httpClient.headers(headers -> headers.add(httpHeaders))
+                .request(method).uri(url).send((req, nettyOutbound) -> nettyOutbound.send(requestBody))
+                .responseConnection((res, connection) -> {
+                    if (Objects.nonNull(listener)) {
+                        listener.onResponse(res.status().code());
+                    }
+                    return Mono.just(Tuples.of(res, connection));
+                })
+                .single()
+                .timeout(duration, Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
+                .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th));
+        if (Objects.nonNull(listener)) {
+            // only the request which is subscribed reaches the upstream, the coalesced requests which wait for it never count.
+            response = response.doOnSubscribe(subscription -> listener.onStart());
+            // the body of the client failed, e.g. it is over the file size limit, it is not a failure of the upstream.
+            response = response.doOnError(throwable -> {
+                if (!bodyFailed.get()) {
+                    listener.onError(throwable);
+                }
+            });
+        }
+        return response;
+    }
+
+    /**
+     * the body is read at once, the coalesced requests write it to their clients after the call is over.
+     */
+    private static Mono<SharedResponse> aggregate(final Tuple2<HttpClientResponse, Connection> tuple) {
+        final Connection connection = tuple.getT2();
+        final String contentLength = tuple.getT1().responseHeaders().get(HttpHeaders.CONTENT_LENGTH);
+        if (Objects.nonNull(contentLength) && Long.parseLong(contentLength) > SharedResponse.MAX_BODY_SIZE) {
+            connection.dispose();
+            return Mono.error(SharedResponse.overLimit());
+        }
+        final AtomicLong received = new AtomicLong();
+        // the buffers are released by the connection after they are handed on, the aggregate retains them.
+        final Flux<ByteBuf> limited = connection.inbound().receive().handle((buffer, sink) -> {
+            if (received.addAndGet(buffer.readableBytes()) > SharedResponse.MAX_BODY_SIZE) {
+                sink.error(SharedResponse.overLimit());
+                return;
+            }
+            sink.next(buffer);
+        });
+        return ByteBufFlux.fromInbound(limited, connection.channel().alloc()).aggregate().retain()
+                .defaultIfEmpty(Unpooled.EMPTY_BUFFER)
+                .map(body -> new SharedResponse(tuple.getT1().status().code(), toHeaders(tuple.getT1()), body))
+                .doOnError(throwable -> connection.dispose())
+                .doOnCancel(connection::dispose);
+    }
+
+    private static HttpHeaders toHeaders(final HttpClientResponse res) {
+        HttpHeaders headers = new HttpHeaders();
+        res.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        return headers;
+    }
+
+    private void setResponse(final ServerWebExchange exchange, final int statusCode, final HttpHeaders headers) {
+        ServerHttpResponse response = exchange.getResponse();
+        String contentTypeValue = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentTypeValue)) {
+            exchange.getAttributes().put(Constants.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentTypeValue);
+        }
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        if (status != null) {
+            response.setStatusCode(status);
+        } else if (response instanceof AbstractServerHttpResponse) {
+            ((AbstractServerHttpResponse) response)
+                    .setStatusCodeValue(statusCode);
+        } else {
+            throw new IllegalStateException("Unable to set status code on response: " + statusCode + ", " + response.getClass());
+        }
+        response.getHeaders().putAll(headers);
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.httpclient;
+
+import io.netty.buffer.ByteBuf;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The response of the upstream with the aggregated body, which the coalesced requests share.
+ *
+ * @author xiaoyu
+ */
+final class SharedResponse {
+
+    /**
+     * The max size of the body which is aggregated for the coalesced requests.
+     */
+    static final int MAX_BODY_SIZE = Integer.getInteger("soul.upstream.coalesce.maxBodySize", 4 * 1024 * 1024);
+
+    private final int statusCode;
+
+    private final HttpHeaders headers;
+
+    private final ByteBuf body;
+
+    /**
+     * Instantiates a new Shared response.
+     *
+     * @param statusCode the status code
+     * @param headers    the headers
+     * @param body       the body, the shared response owns it
+     */
+    SharedResponse(final int statusCode, final HttpHeaders headers, final ByteBuf body) {
+        this.statusCode = statusCode;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    /**
+     * Gets status code.
+     *
+     * @return the status code
+     */
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets headers.
+     *
+     * @return the headers
+     */
+    HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets body, it is released with the shared response.
+     *
+     * @return the body
+     */
+    ByteBuf getBody() {
+        return body;
+    }
+
+    /**
+     * The error of a body which is over {@link #MAX_BODY_SIZE}, the coalesced requests never hold a body of any size in memory.
+     *
+     * @return the exception
+     */
+    static ResponseStatusException overLimit() {
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "the upstream response is over the coalesce limit of " + MAX_BODY_SIZE + " bytes");
+    }
+
+    /**
+     * Whether the response may be handed to the other requests, a response which sets a cookie or is private
+     * belongs to the request which made the call.
+     *
+     * @return the boolean
+     */
+    boolean isShareable() {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        final List<String> cacheControl = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (Objects.isNull(cacheControl)) {
+            return true;
+        }
+        for (String value : cacheControl) {
+            for (String directive : value.split(",")) {
+                if (directive.trim().toLowerCase(Locale.ROOT).startsWith("private")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The copy for one more request, the body is a duplicate which holds its own reference.
+     *
+     * @return the shared response
+     */
+    SharedResponse retainedDuplicate() {
+        return new SharedResponse(statusCode, headers, body.retainedDuplicate());
+    }
+
+    /**
+     * Release the body.
+     */
+    void release() {
+        body.release();
+    }
+}
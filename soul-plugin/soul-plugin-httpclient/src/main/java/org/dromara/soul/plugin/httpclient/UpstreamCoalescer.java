@@ -0,0 +1,223 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.httpclient;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Share one call to the upstream among the concurrent requests with the same key, aka single flight.
+ *
+ * <p>The first request starts the call and the requests which arrive before the response join it. Every request
+ * gets its own duplicate of the aggregated body, so the body is written to each client without a copy and is
+ * released after the last write. The call goes on while any request waits for it, it is canceled when all of them
+ * are canceled. A request which arrives after the response starts a new call, nothing is cached.
+ *
+ * <p>A response which sets a cookie or is private is not shared: it goes to the request which made the call,
+ * and every other request makes its own call.
+ *
+ * <p>The body is held in memory only up to {@code soul.upstream.coalesce.maxBodySize} bytes, a larger response
+ * fails the call with bad gateway.
+ *
+ * @author xiaoyu
+ */
+final class UpstreamCoalescer {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>(64);
+
+    /**
+     * Join the call in flight for the key, or start the call.
+     *
+     * @param key  the key
+     * @param call the call, it is subscribed only when no call is in flight for the key, or when the response of the call in flight can not be shared
+     * @return the response for this request
+     */
+    Mono<SharedResponse> execute(final String key, final Mono<SharedResponse> call) {
+        return Mono.<SharedResponse>create(sink -> {
+            final Waiter waiter = new Waiter(sink, call);
+            while (true) {
+                Flight flight = flights.get(key);
+                if (flight == null) {
+                    final Flight created = new Flight(key, waiter);
+                    flight = flights.putIfAbsent(key, created);
+                    if (flight == null) {
+                        if (created.join(waiter)) {
+                            created.start(call);
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                if (flight.join(waiter)) {
+                    return;
+                }
+                // the flight is over, the next request starts a new one.
+                flights.remove(key, flight);
+            }
+        }).doOnDiscard(SharedResponse.class, SharedResponse::release);
+    }
+
+    /**
+     * Gets the count of the calls in flight.
+     *
+     * @return the count
+     */
+    int inFlight() {
+        return flights.size();
+    }
+
+    private final class Flight {
+
+        private final String key;
+
+        private final Waiter leader;
+
+        private final List<Waiter> waiters = new ArrayList<>(4);
+
+        private boolean done;
+
+        private Disposable subscription;
+
+        Flight(final String key, final Waiter leader) {
+            this.key = key;
+            this.leader = leader;
+        }
+
+        synchronized boolean join(final Waiter waiter) {
+            if (done) {
+                return false;
+            }
+            waiters.add(waiter);
+            waiter.sink.onCancel(() -> leave(waiter));
+            return true;
+        }
+
+        void leave(final Waiter waiter) {
+            final Disposable canceled;
+            synchronized (this) {
+                if (!waiters.remove(waiter)) {
+                    // the flight is over, the waiter may have made its own call.
+                    waiter.cancel();
+                    return;
+                }
+                if (!waiters.isEmpty() || done) {
+                    return;
+                }
+                done = true;
+                canceled = subscription;
+            }
+            flights.remove(key, this);
+            if (canceled != null) {
+                canceled.dispose();
+            }
+        }
+
+        void start(final Mono<SharedResponse> call) {
+            final Disposable disposable = call.single().subscribe(this::complete, this::fail);
+            synchronized (this) {
+                if (!done || !waiters.isEmpty()) {
+                    subscription = disposable;
+                    return;
+                }
+            }
+            // every request was canceled before the call was subscribed.
+            disposable.dispose();
+        }
+
+        private void complete(final SharedResponse response) {
+            final List<Waiter> joined = finish();
+            if (response.isShareable()) {
+                for (Waiter waiter : joined) {
+                    waiter.sink.success(response.retainedDuplicate());
+                }
+                response.release();
+                return;
+            }
+            for (Waiter waiter : joined) {
+                if (waiter == leader) {
+                    waiter.sink.success(response.retainedDuplicate());
+                } else {
+                    waiter.callAlone();
+                }
+            }
+            response.release();
+        }
+
+        private void fail(final Throwable throwable) {
+            for (Waiter waiter : finish()) {
+                waiter.sink.error(throwable);
+            }
+        }
+
+        private List<Waiter> finish() {
+            flights.remove(key, this);
+            synchronized (this) {
+                done = true;
+                final List<Waiter> joined = new ArrayList<>(waiters);
+                waiters.clear();
+                return joined;
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<SharedResponse> sink;
+
+        private final Mono<SharedResponse> call;
+
+        private Disposable subscription;
+
+        private boolean canceled;
+
+        Waiter(final MonoSink<SharedResponse> sink, final Mono<SharedResponse> call) {
+            this.sink = sink;
+            this.call = call;
+        }
+
+        void callAlone() {
+            final Disposable disposable = call.single().subscribe(sink::success, sink::error);
+            synchronized (this) {
+                if (!canceled) {
+                    subscription = disposable;
+                    return;
+                }
+            }
+            disposable.dispose();
+        }
+
+        void cancel() {
+            final Disposable disposable;
+            synchronized (this) {
+                canceled = true;
+                disposable = subscription;
+            }
+            if (disposable != null) {
+                disposable.dispose();
+            }
+        }
+    }
+}
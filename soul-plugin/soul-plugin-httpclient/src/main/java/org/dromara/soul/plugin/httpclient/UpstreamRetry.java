@@ -0,0 +1,130 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.httpclient;
+
+import org.dromara.soul.plugin.api.UpstreamAttempt;
+import org.dromara.soul.plugin.api.UpstreamCallListener;
+import org.dromara.soul.plugin.api.UpstreamRetryPolicy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Send the call again on another upstream after a connect failure or a 5xx response, and race a hedged attempt
+ * against the call once the hedge delay is over, as far as the {@link UpstreamRetryPolicy} allows.
+ *
+ * <p>The first response wins, the response of a retried attempt or of the losing attempt is released.
+ * When the retries are used up, the last 5xx response or error is the result.
+ *
+ * @param <R> the type of the response
+ * @author xiaoyu
+ */
+final class UpstreamRetry<R> {
+
+    private final UpstreamRetryPolicy retryPolicy;
+
+    private final BiFunction<String, UpstreamCallListener, Mono<R>> sender;
+
+    private final ToIntFunction<R> statusCode;
+
+    private final Consumer<R> releaser;
+
+    private final Class<R> responseType;
+
+    /**
+     * Instantiates a new Upstream retry.
+     *
+     * @param retryPolicy  the retry policy
+     * @param sender       send the call to the url and report it to the listener
+     * @param statusCode   the status code of the response
+     * @param releaser     release the response which is not used
+     * @param responseType the response type
+     */
+    UpstreamRetry(final UpstreamRetryPolicy retryPolicy, final BiFunction<String, UpstreamCallListener, Mono<R>> sender,
+                  final ToIntFunction<R> statusCode, final Consumer<R> releaser, final Class<R> responseType) {
+        this.retryPolicy = retryPolicy;
+        this.sender = sender;
+        this.statusCode = statusCode;
+        this.releaser = releaser;
+        this.responseType = responseType;
+    }
+
+    /**
+     * Execute the call, the first attempt goes to the url which the divide plugin selected.
+     *
+     * @param url      the url
+     * @param listener the listener
+     * @return the response
+     */
+    Mono<R> execute(final String url, final UpstreamCallListener listener) {
+        final Mono<R> first = attempt(sender.apply(url, listener));
+        final long hedgeDelay = retryPolicy.getHedgeDelay();
+        if (hedgeDelay < 0) {
+            return first;
+        }
+        final Mono<R> hedged = Mono.delay(Duration.ofMillis(hedgeDelay))
+                .flatMap(tick -> Mono.justOrEmpty(retryPolicy.next(true)))
+                .flatMap(attempt -> attempt(sender.apply(attempt.getUrl(), attempt.getListener())));
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        return Flux.merge(first.onErrorResume(throwable -> {
+            error.set(throwable);
+            return Mono.empty();
+        }), hedged.onErrorResume(throwable -> {
+            error.compareAndSet(null, throwable);
+            return Mono.empty();
+        }))
+                .next()
+                .switchIfEmpty(Mono.defer(() -> Mono.error(error.get())))
+                .doOnDiscard(responseType, releaser);
+    }
+
+    private Mono<R> attempt(final Mono<R> call) {
+        return call.materialize().flatMap(signal -> {
+            final boolean failed = signal.isOnError() ? isConnectFailure(signal.getThrowable())
+                    : signal.hasValue() && statusCode.applyAsInt(signal.get()) >= 500;
+            final UpstreamAttempt next = failed ? retryPolicy.next(false) : null;
+            if (next == null) {
+                return Mono.just(signal).<R>dematerialize();
+            }
+            if (signal.hasValue()) {
+                releaser.accept(signal.get());
+            }
+            return attempt(sender.apply(next.getUrl(), next.getListener()));
+        });
+    }
+
+    /**
+     * the request has not reached the upstream, so it is safe to send it to another one.
+     */
+    private static boolean isConnectFailure(final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -19,6 +19,9 @@
 
 package org.dromara.soul.plugin.httpclient;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.dromara.soul.common.constant.Constants;
@@ -27,22 +30,34 @@ import org.dromara.soul.common.enums.ResultEnum;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.plugin.api.UpstreamCallListener;
+import org.dromara.soul.plugin.api.UpstreamRetryPolicy;
 import org.dromara.soul.plugin.api.context.SoulContext;
 import org.dromara.soul.plugin.api.result.SoulResultEnum;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.base.utils.WebFluxResultUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
 /**
  * The type Web client plugin.
@@ -52,8 +67,12 @@ import java.util.Optional;
 @Slf4j
 public class WebClientPlugin implements SoulPlugin {
 
+    private static final NettyDataBufferFactory BUFFER_FACTORY = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
     private final WebClient webClient;
 
+    private final UpstreamCoalescer coalescer = new UpstreamCoalescer();
+
     /**
      * Instantiates a new Web client plugin.
      *
@@ -73,10 +92,23 @@ public class WebClientPlugin implements SoulPlugin {
             return WebFluxResultUtils.result(exchange, error);
         }
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
-        log.info("you request,The resulting urlPath is :{}", urlPath);
         HttpMethod method = HttpMethod.valueOf(exchange.getRequest().getMethodValue());
-        WebClient.RequestBodySpec requestBodySpec = webClient.method(method).uri(urlPath);
-        return handleRequestBody(requestBodySpec, exchange, timeout, chain);
+        final UpstreamCallListener listener = exchange.getAttribute(Constants.UPSTREAM_CALL_LISTENER);
+        final UpstreamRetryPolicy retryPolicy = exchange.getAttribute(Constants.UPSTREAM_RETRY_POLICY);
+        // the retry policy is set only for the requests without body, the body can not be sent twice.
+        final Flux<DataBuffer> body = Objects.isNull(retryPolicy) ? exchange.getRequest().getBody() : Flux.empty();
+        final BiFunction<String, UpstreamCallListener, Mono<ClientResponse>> sender = (url, callListener) -> {
+            log.info("you request,The resulting urlPath is :{}", url);
+            return handleRequestBody(webClient.method(method).uri(url), exchange, body, timeout, callListener);
+        };
+        final Mono<ClientResponse> response = Objects.isNull(retryPolicy) ? sender.apply(urlPath, listener)
+                : new UpstreamRetry<>(retryPolicy, sender, ClientResponse::rawStatusCode, res -> res.releaseBody().subscribe(), ClientResponse.class).execute(urlPath, listener);
+        final String coalesceKey = exchange.getAttribute(Constants.UPSTREAM_COALESCE_KEY);
+        if (Objects.nonNull(coalesceKey)) {
+            return coalescer.execute(coalesceKey, response.flatMap(WebClientPlugin::aggregate))
+                    .flatMap(shared -> doNext(toClientResponse(shared), exchange, chain));
+        }
+        return response.flatMap(res -> doNext(res, exchange, chain));
     }
     
     @Override
@@ -90,11 +122,8 @@ public class WebClientPlugin implements SoulPlugin {
     }
 
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        assert soulContext != null;
-        return !Objects.equals(RpcTypeEnum.HTTP.getName(), soulContext.getRpcType())
-                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), soulContext.getRpcType());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(RpcTypeEnum.HTTP.getName(), rpcType) || Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), rpcType);
     }
 
     private MediaType buildMediaType(final ServerWebExchange exchange) {
@@ -104,21 +133,69 @@ public class WebClientPlugin implements SoulPlugin {
                 .orElse(MediaType.APPLICATION_JSON_VALUE));
     }
 
-    private Mono<Void> handleRequestBody(final WebClient.RequestBodySpec requestBodySpec,
-                                         final ServerWebExchange exchange,
-                                         final long timeout,
-                                         final SoulPluginChain chain) {
+    private Mono<ClientResponse> handleRequestBody(final WebClient.RequestBodySpec requestBodySpec,
+                                                   final ServerWebExchange exchange,
+                                                   final Flux<DataBuffer> body,
+                                                   final long timeout,
+                                                   final UpstreamCallListener listener) {
+        final AtomicBoolean bodyFailed = new AtomicBoolean();
         return requestBodySpec.headers(httpHeaders -> {
             httpHeaders.addAll(exchange.getRequest().getHeaders());
             httpHeaders.remove(HttpHeaders.HOST);
         })
                 .contentType(buildMediaType(exchange))
-                .body(BodyInserters.fromDataBuffers(exchange.getRequest().getBody()))
+                .body(BodyInserters.fromDataBuffers(body.doOnError(throwable -> bodyFailed.set(true))))
                 .exchange()
+                .doOnSubscribe(subscription -> {
+                    // only the request which is subscribed reaches the upstream, the coalesced requests which wait for it never count.
+                    if (Objects.nonNull(listener)) {
+                        listener.onStart();
+                    }
+                })
                 .doOnError(e -> log.error(e.getMessage()))
                 .timeout(Duration.ofMillis(timeout))
-                .flatMap(e -> doNext(e, exchange, chain));
+                .doOnError(e -> {
+                    // the body of the client failed, e.g. it is over the file size limit, it is not a failure of the upstream.
+                    if (Objects.nonNull(listener) && !bodyFailed.get()) {
+                        listener.onError(e);
+                    }
+                })
+                .doOnNext(res -> {
+                    if (Objects.nonNull(listener)) {
+                        listener.onResponse(res.rawStatusCode());
+                    }
+                });
+
+    }
+
+    /**
+     * the body is read at once, the coalesced requests write it to their clients after the call is over.
+     */
+    private static Mono<SharedResponse> aggregate(final ClientResponse res) {
+        if (res.headers().contentLength().orElse(0L) > SharedResponse.MAX_BODY_SIZE) {
+            return res.releaseBody().then(Mono.error(SharedResponse.overLimit()));
+        }
+        return DataBufferUtils.join(res.body(BodyExtractors.toDataBuffers()), SharedResponse.MAX_BODY_SIZE)
+                .onErrorMap(DataBufferLimitException.class, e -> SharedResponse.overLimit())
+                .map(WebClientPlugin::toByteBuf)
+                .defaultIfEmpty(Unpooled.EMPTY_BUFFER)
+                .map(body -> new SharedResponse(res.rawStatusCode(), res.headers().asHttpHeaders(), body));
+    }
+
+    private static ByteBuf toByteBuf(final DataBuffer dataBuffer) {
+        if (dataBuffer instanceof NettyDataBuffer) {
+            return ((NettyDataBuffer) dataBuffer).getNativeBuffer();
+        }
+        final ByteBuf body = Unpooled.copiedBuffer(dataBuffer.asByteBuffer());
+        DataBufferUtils.release(dataBuffer);
+        return body;
+    }
 
+    private static ClientResponse toClientResponse(final SharedResponse shared) {
+        return ClientResponse.create(shared.getStatusCode(), ExchangeStrategies.withDefaults())
+                .headers(headers -> headers.addAll(shared.getHeaders()))
+                .body(Flux.just(BUFFER_FACTORY.wrap(shared.getBody())))
+                .build();
     }
 
     private Mono<Void> doNext(final ClientResponse res, final ServerWebExchange exchange, final SoulPluginChain chain) {
@@ -22,12 +22,12 @@ package org.dromara.soul.plugin.httpclient.response;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import io.netty.buffer.ByteBuf;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.soul.common.constant.Constants;
 import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.api.SoulPluginChain;
-import org.dromara.soul.plugin.api.context.SoulContext;
 import org.springframework.core.io.buffer.NettyDataBuffer;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.MediaType;
@@ -53,7 +53,15 @@ public class NettyClientResponsePlugin implements SoulPlugin {
         return Mono.defer(() -> {
             Connection connection = exchange.getAttribute(Constants.CLIENT_RESPONSE_CONN_ATTR);
             if (connection == null) {
-                return Mono.empty();
+                // the body of a coalesced request is aggregated already.
+                final ByteBuf aggregated = exchange.getAttribute(Constants.CLIENT_RESPONSE_BODY_ATTR);
+                if (aggregated == null) {
+                    return Mono.empty();
+                }
+                final Mono<Void> write = exchange.getResponse().writeWith(Mono.just(((NettyDataBufferFactory) exchange.getResponse().bufferFactory()).wrap(aggregated)));
+                // the write owns the body now, the cleanup must not release it again.
+                exchange.getAttributes().remove(Constants.CLIENT_RESPONSE_BODY_ATTR);
+                return write;
             }
             if (log.isTraceEnabled()) {
                 log.trace("NettyWriteResponseFilter start inbound: "
@@ -88,11 +96,8 @@ public class NettyClientResponsePlugin implements SoulPlugin {
     }
 
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        assert soulContext != null;
-        return !Objects.equals(RpcTypeEnum.HTTP.getName(), soulContext.getRpcType())
-                && !Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), soulContext.getRpcType());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(RpcTypeEnum.HTTP.getName(), rpcType) || Objects.equals(RpcTypeEnum.SPRING_CLOUD.getName(), rpcType);
     }
 
     private void cleanup(final ServerWebExchange exchange) {
@@ -100,6 +105,10 @@ public class NettyClientResponsePlugin implements SoulPlugin {
         if (connection != null) {
             connection.dispose();
         }
+        final ByteBuf aggregated = (ByteBuf) exchange.getAttributes().remove(Constants.CLIENT_RESPONSE_BODY_ATTR);
+        if (aggregated != null) {
+            aggregated.release();
+        }
     }
 
     private boolean isStreamingMediaType(@Nullable final MediaType contentType) {
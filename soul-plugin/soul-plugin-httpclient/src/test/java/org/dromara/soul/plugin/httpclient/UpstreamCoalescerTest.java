@@ -0,0 +1,119 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * Contributor license agreements.See the NOTICE file distributed with
+ * This work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * he License.You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.dromara.soul.plugin.httpclient;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The type Upstream coalescer test.
+ *
+ * @author xiaoyu
+ */
+public class UpstreamCoalescerTest {
+
+    /**
+     * The concurrent requests share one call, every request gets the body and the body is released after all.
+     */
+    @Test
+    public void coalesceTest() {
+        final UpstreamCoalescer coalescer = new UpstreamCoalescer();
+        final List<ByteBuf> bodies = new ArrayList<>();
+        final Mono<SharedResponse> call = Mono.fromCallable(() -> {
+            final ByteBuf body = Unpooled.copiedBuffer("ok", StandardCharsets.UTF_8);
+            bodies.add(body);
+            return new SharedResponse(200, new HttpHeaders(), body);
+        }).delaySubscription(Duration.ofMillis(200));
+        final List<Mono<SharedResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(coalescer.execute("a", call).cache());
+            requests.get(i).subscribe();
+        }
+        for (Mono<SharedResponse> request : requests) {
+            final SharedResponse response = request.block(Duration.ofSeconds(5));
+            Assert.assertEquals("ok", response.getBody().toString(StandardCharsets.UTF_8));
+            response.release();
+        }
+        Assert.assertEquals(1, bodies.size());
+        Assert.assertEquals(0, bodies.get(0).refCnt());
+        Assert.assertEquals(0, coalescer.inFlight());
+        coalescer.execute("a", call).block(Duration.ofSeconds(5)).release();
+        Assert.assertEquals(2, bodies.size());
+    }
+
+    /**
+     * A response which sets a cookie goes only to the request which made the call, the others make their own call.
+     */
+    @Test
+    public void privateResponseTest() {
+        final UpstreamCoalescer coalescer = new UpstreamCoalescer();
+        final List<ByteBuf> bodies = new ArrayList<>();
+        final Mono<SharedResponse> call = Mono.fromCallable(() -> {
+            final ByteBuf body = Unpooled.copiedBuffer("session-" + bodies.size(), StandardCharsets.UTF_8);
+            bodies.add(body);
+            final HttpHeaders headers = new HttpHeaders();
+            headers.add(HttpHeaders.SET_COOKIE, "session=" + bodies.size());
+            return new SharedResponse(200, headers, body);
+        }).delaySubscription(Duration.ofMillis(200));
+        final List<Mono<SharedResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(coalescer.execute("a", call).cache());
+            requests.get(i).subscribe();
+        }
+        final List<String> received = new ArrayList<>();
+        for (Mono<SharedResponse> request : requests) {
+            final SharedResponse response = request.block(Duration.ofSeconds(5));
+            received.add(response.getBody().toString(StandardCharsets.UTF_8));
+            response.release();
+        }
+        Assert.assertEquals(5, received.stream().distinct().count());
+        Assert.assertEquals(5, bodies.size());
+        bodies.forEach(body -> Assert.assertEquals(0, body.refCnt()));
+        Assert.assertEquals(0, coalescer.inFlight());
+    }
+
+    /**
+     * The call is canceled when every request is canceled.
+     */
+    @Test
+    public void cancelTest() {
+        final UpstreamCoalescer coalescer = new UpstreamCoalescer();
+        final AtomicBoolean canceled = new AtomicBoolean();
+        final Mono<SharedResponse> call = Mono.<SharedResponse>never().doOnCancel(() -> canceled.set(true));
+        final Disposable first = coalescer.execute("a", call).subscribe();
+        final Disposable second = coalescer.execute("a", call).subscribe();
+        first.dispose();
+        Assert.assertFalse(canceled.get());
+        second.dispose();
+        Assert.assertTrue(canceled.get());
+        Assert.assertEquals(0, coalescer.inFlight());
+    }
+}
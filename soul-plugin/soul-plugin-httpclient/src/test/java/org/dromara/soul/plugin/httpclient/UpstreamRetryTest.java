@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.httpclient;
+
+import org.dromara.soul.plugin.api.UpstreamAttempt;
+import org.dromara.soul.plugin.api.UpstreamCallListener;
+import org.dromara.soul.plugin.api.UpstreamRetryPolicy;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The type Upstream retry test.
+ *
+ * @author xiaoyu
+ */
+public class UpstreamRetryTest {
+
+    /**
+     * A connect failure and a 5xx response go to the next upstream, the 5xx response is released.
+     */
+    @Test
+    public void retryTest() {
+        final Map<String, Mono<Integer>> responses = new ConcurrentHashMap<>();
+        responses.put("a", Mono.error(new IllegalStateException("wrapped", new ConnectException("refused"))));
+        responses.put("b", Mono.just(503));
+        responses.put("c", Mono.just(200));
+        final List<Integer> released = new ArrayList<>();
+        final UpstreamRetry<Integer> retry = new UpstreamRetry<>(new TestPolicy(-1, "b", "c"), (url, listener) -> responses.get(url),
+            status -> status, released::add, Integer.class);
+        Assert.assertEquals(Integer.valueOf(200), retry.execute("a", null).block());
+        Assert.assertEquals(Arrays.asList(503), released);
+    }
+
+    /**
+     * When the retries are used up, the last 5xx response is the result, other errors are not retried.
+     */
+    @Test
+    public void noRetryTest() {
+        final UpstreamRetry<Integer> retry = new UpstreamRetry<>(new TestPolicy(-1), (url, listener) -> Mono.just(502),
+            status -> status, status -> { }, Integer.class);
+        Assert.assertEquals(Integer.valueOf(502), retry.execute("a", null).block());
+        final UpstreamRetry<Integer> timeout = new UpstreamRetry<>(new TestPolicy(-1, "b"), (url, listener) -> Mono.error(new TimeoutException()),
+            status -> status, status -> { }, Integer.class);
+        Assert.assertTrue(timeout.execute("a", null).onErrorReturn(TimeoutException.class, -1).block() < 0);
+    }
+
+    /**
+     * The hedged attempt wins over the slow call.
+     */
+    @Test
+    public void hedgeTest() {
+        final Map<String, Mono<Integer>> responses = new ConcurrentHashMap<>();
+        responses.put("a", Mono.just(200).delayElement(Duration.ofSeconds(10)));
+        responses.put("b", Mono.just(201));
+        final UpstreamRetry<Integer> retry = new UpstreamRetry<>(new TestPolicy(20, "b"), (url, listener) -> responses.get(url),
+            status -> status, status -> { }, Integer.class);
+        Assert.assertEquals(Integer.valueOf(201), retry.execute("a", null).block(Duration.ofSeconds(5)));
+    }
+
+    private static final class TestPolicy implements UpstreamRetryPolicy {
+
+        private final long hedgeDelay;
+
+        private final Iterator<String> urls;
+
+        TestPolicy(final long hedgeDelay, final String... urls) {
+            this.hedgeDelay = hedgeDelay;
+            this.urls = Arrays.asList(urls).iterator();
+        }
+
+        @Override
+        public long getHedgeDelay() {
+            return hedgeDelay;
+        }
+
+        @Override
+        public synchronized UpstreamAttempt next(final boolean hedged) {
+            if (!urls.hasNext()) {
+                return null;
+            }
+            final String url = urls.next();
+            return new UpstreamAttempt() {
+                @Override
+                public String getUrl() {
+                    return url;
+                }
+
+                @Override
+                public UpstreamCallListener getListener() {
+                    return null;
+                }
+            };
+        }
+    }
+}
@@ -27,9 +27,9 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.HystrixHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.ResultEnum;
-import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.plugin.api.SoulPluginChain;
 import org.dromara.soul.plugin.base.AbstractSoulPlugin;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.api.context.SoulContext;
 import org.dromara.soul.plugin.hystrix.builder.HystrixBuilder;
 import org.dromara.soul.plugin.hystrix.command.HystrixCommand;
@@ -51,20 +51,16 @@ public class HystrixPlugin extends AbstractSoulPlugin {
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
         final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
         assert soulContext != null;
-        final HystrixHandle hystrixHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), HystrixHandle.class);
-        if (StringUtils.isBlank(hystrixHandle.getGroupKey())) {
-            hystrixHandle.setGroupKey(Objects.requireNonNull(soulContext).getModule());
-        }
-        if (StringUtils.isBlank(hystrixHandle.getCommandKey())) {
-            hystrixHandle.setCommandKey(Objects.requireNonNull(soulContext).getMethod());
-        }
-        HystrixCommand command = new HystrixCommand(HystrixBuilder.build(hystrixHandle), exchange, chain);
+        final HystrixHandle hystrixHandle = RuleHandleCache.getInstance().obtainHandle(rule, HystrixHandle.class);
+        final String groupKey = StringUtils.isBlank(hystrixHandle.getGroupKey()) ? Objects.requireNonNull(soulContext).getModule() : hystrixHandle.getGroupKey();
+        final String commandKey = StringUtils.isBlank(hystrixHandle.getCommandKey()) ? Objects.requireNonNull(soulContext).getMethod() : hystrixHandle.getCommandKey();
+        HystrixCommand command = new HystrixCommand(HystrixBuilder.build(hystrixHandle, groupKey, commandKey), exchange, chain);
         return Mono.create(s -> {
             Subscription sub = command.toObservable().subscribe(s::success,
                     s::error, s::success);
             s.onCancel(sub::unsubscribe);
             if (command.isCircuitBreakerOpen()) {
-                log.error("hystrix execute have circuitBreaker is Open! groupKey:{},commandKey:{}", hystrixHandle.getGroupKey(), hystrixHandle.getCommandKey());
+                log.error("hystrix execute have circuitBreaker is Open! groupKey:{},commandKey:{}", groupKey, commandKey);
             }
         }).doOnError(throwable -> {
             log.error("hystrix execute exception:", throwable);
@@ -38,32 +38,39 @@ public class HystrixBuilder {
      * @return {@linkplain HystrixObservableCommand.Setter}
      */
     public static HystrixObservableCommand.Setter build(final HystrixHandle hystrixHandle) {
-        if (hystrixHandle.getMaxConcurrentRequests() == 0) {
-            hystrixHandle.setMaxConcurrentRequests(Constants.MAX_CONCURRENT_REQUESTS);
-        }
-        if (hystrixHandle.getErrorThresholdPercentage() == 0) {
-            hystrixHandle.setErrorThresholdPercentage(Constants.ERROR_THRESHOLD_PERCENTAGE);
-        }
-        if (hystrixHandle.getRequestVolumeThreshold() == 0) {
-            hystrixHandle.setRequestVolumeThreshold(Constants.REQUEST_VOLUME_THRESHOLD);
-        }
-        if (hystrixHandle.getSleepWindowInMilliseconds() == 0) {
-            hystrixHandle.setSleepWindowInMilliseconds(Constants.SLEEP_WINDOW_INMILLISECONDS);
-        }
-        HystrixCommandGroupKey groupKey = HystrixCommandGroupKey.Factory.asKey(hystrixHandle.getGroupKey());
-        HystrixCommandKey commandKey = HystrixCommandKey.Factory.asKey(hystrixHandle.getCommandKey());
+        return build(hystrixHandle, hystrixHandle.getGroupKey(), hystrixHandle.getCommandKey());
+    }
+
+    /**
+     * this is build HystrixObservableCommand.Setter with the given keys.
+     * the hystrixHandle is shared by requests, so it is only read here.
+     *
+     * @param hystrixHandle {@linkplain HystrixHandle}
+     * @param groupKey      the group key
+     * @param commandKey    the command key
+     * @return {@linkplain HystrixObservableCommand.Setter}
+     */
+    public static HystrixObservableCommand.Setter build(final HystrixHandle hystrixHandle, final String groupKey, final String commandKey) {
+        final int maxConcurrentRequests = hystrixHandle.getMaxConcurrentRequests() == 0
+                ? Constants.MAX_CONCURRENT_REQUESTS : hystrixHandle.getMaxConcurrentRequests();
+        final int errorThresholdPercentage = hystrixHandle.getErrorThresholdPercentage() == 0
+                ? Constants.ERROR_THRESHOLD_PERCENTAGE : hystrixHandle.getErrorThresholdPercentage();
+        final int requestVolumeThreshold = hystrixHandle.getRequestVolumeThreshold() == 0
+                ? Constants.REQUEST_VOLUME_THRESHOLD : hystrixHandle.getRequestVolumeThreshold();
+        final int sleepWindowInMilliseconds = hystrixHandle.getSleepWindowInMilliseconds() == 0
+                ? Constants.SLEEP_WINDOW_INMILLISECONDS : hystrixHandle.getSleepWindowInMilliseconds();
         final HystrixCommandProperties.Setter propertiesSetter =
                 HystrixCommandProperties.Setter()
                         .withExecutionTimeoutInMilliseconds((int) hystrixHandle.getTimeout())
                         .withCircuitBreakerEnabled(true)
                         .withExecutionIsolationStrategy(HystrixCommandProperties.ExecutionIsolationStrategy.SEMAPHORE)
-                        .withExecutionIsolationSemaphoreMaxConcurrentRequests(hystrixHandle.getMaxConcurrentRequests())
-                        .withCircuitBreakerErrorThresholdPercentage(hystrixHandle.getErrorThresholdPercentage())
-                        .withCircuitBreakerRequestVolumeThreshold(hystrixHandle.getRequestVolumeThreshold())
-                        .withCircuitBreakerSleepWindowInMilliseconds(hystrixHandle.getSleepWindowInMilliseconds());
+                        .withExecutionIsolationSemaphoreMaxConcurrentRequests(maxConcurrentRequests)
+                        .withCircuitBreakerErrorThresholdPercentage(errorThresholdPercentage)
+                        .withCircuitBreakerRequestVolumeThreshold(requestVolumeThreshold)
+                        .withCircuitBreakerSleepWindowInMilliseconds(sleepWindowInMilliseconds);
         return HystrixObservableCommand.Setter
-                .withGroupKey(groupKey)
-                .andCommandKey(commandKey)
+                .withGroupKey(HystrixCommandGroupKey.Factory.asKey(groupKey))
+                .andCommandKey(HystrixCommandKey.Factory.asKey(commandKey))
                 .andCommandPropertiesDefaults(propertiesSetter);
     }
 }
@@ -19,7 +19,9 @@ package org.dromara.soul.plugin.hystrix.handler;
 
 import com.netflix.hystrix.strategy.properties.HystrixPropertiesFactory;
 import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.convert.HystrixHandle;
 import org.dromara.soul.common.enums.PluginEnum;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 
 /**
@@ -32,6 +34,7 @@ public class HystrixPluginDataHandler implements PluginDataHandler {
     @Override
     public void handlerRule(final RuleData ruleData) {
         HystrixPropertiesFactory.reset();
+        RuleHandleCache.getInstance().cacheHandle(ruleData, HystrixHandle.class);
     }
     
     @Override
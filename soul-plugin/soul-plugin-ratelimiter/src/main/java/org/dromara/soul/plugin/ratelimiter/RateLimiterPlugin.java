@@ -22,17 +22,30 @@ import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.RateLimiterHandle;
 import org.dromara.soul.common.enums.PluginEnum;
-import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.common.enums.RateLimiterAlgorithmEnum;
+import org.dromara.soul.common.enums.RateLimiterKeyResolverEnum;
+import org.dromara.soul.common.enums.RateLimiterModeEnum;
 import org.dromara.soul.plugin.api.result.SoulResultEnum;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.api.SoulPluginChain;
 import org.dromara.soul.plugin.base.AbstractSoulPlugin;
 import org.dromara.soul.plugin.base.utils.WebFluxResultUtils;
+import org.dromara.soul.plugin.ratelimiter.executor.LeaseRateLimiter;
+import org.dromara.soul.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.dromara.soul.plugin.ratelimiter.executor.RedisRateLimiter;
+import org.dromara.soul.plugin.ratelimiter.key.HeavyHitters;
+import org.dromara.soul.plugin.ratelimiter.key.RateLimiterKeyResolver;
+import org.dromara.soul.plugin.ratelimiter.response.RateLimiterResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * RateLimiter Plugin.
  *
@@ -40,15 +53,38 @@ import reactor.core.publisher.Mono;
  */
 public class RateLimiterPlugin extends AbstractSoulPlugin {
 
+    private static final int MAX_TRACKED_KEYS = Integer.getInteger("soul.ratelimiter.maxTrackedKeys", 1024);
+
+    private static final long MAX_QUEUE_MILLIS = Long.getLong("soul.ratelimiter.maxQueueMillis", 1000);
+
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
+    private final LeaseRateLimiter leaseRateLimiter;
+
+    private final Map<String, RuleKeys> ruleKeys = new ConcurrentHashMap<>();
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new LocalRateLimiter(), new LeaseRateLimiter());
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter the redis rate limiter
+     * @param localRateLimiter the local rate limiter
+     * @param leaseRateLimiter the lease rate limiter
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter, final LeaseRateLimiter leaseRateLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+        this.leaseRateLimiter = leaseRateLimiter;
     }
 
     @Override
@@ -63,17 +99,157 @@ public class RateLimiterPlugin extends AbstractSoulPlugin {
 
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
-        final String handle = rule.getHandle();
-        final RateLimiterHandle limiterHandle = GsonUtils.getInstance().fromJson(handle, RateLimiterHandle.class);
-        return redisRateLimiter.isAllowed(rule.getId(), limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity())
-                .flatMap(response -> {
-                    if (!response.isAllowed()) {
-                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        Object error = SoulResultWarp.error(SoulResultEnum.TOO_MANY_REQUESTS.getCode(), SoulResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
-                        return WebFluxResultUtils.result(exchange, error);
-                    }
-                    return chain.execute(exchange);
-                });
+        final RateLimiterHandle limiterHandle = RuleHandleCache.getInstance().obtainHandle(rule, RateLimiterHandle.class);
+        final RateLimiterAlgorithmEnum algorithm = RateLimiterAlgorithmEnum.acquireByName(limiterHandle.getAlgorithm());
+        final String id = limitId(exchange, rule.getId(), algorithm, limiterHandle);
+        if (id == null) {
+            return chain.execute(exchange);
+        }
+        if (algorithm == RateLimiterAlgorithmEnum.CONCURRENT) {
+            return concurrent(exchange, chain, id, limiterHandle);
+        }
+        return isAllowed(id, algorithm, limiterHandle).flatMap(response -> {
+            if (!response.isAllowed()) {
+                return tooManyRequests(exchange);
+            }
+            if (response.getDelayMillis() > 0) {
+                // the leaky bucket lets the request through after the requests ahead of it, a cancelled one gives its place back.
+                return Mono.delay(Duration.ofMillis(response.getDelayMillis()))
+                        .doOnCancel(() -> cancel(id, limiterHandle))
+                        .then(Mono.defer(() -> chain.execute(exchange)));
+            }
+            return chain.execute(exchange);
+        });
+    }
+
+    /**
+     * the id of the bucket which limits the request, null when the client is light and not limited by the rate.
+     */
+    private String limitId(final ServerWebExchange exchange, final String ruleId, final RateLimiterAlgorithmEnum algorithm, final RateLimiterHandle limiterHandle) {
+        final RateLimiterKeyResolverEnum keyResolver = RateLimiterKeyResolverEnum.acquireByName(limiterHandle.getKeyResolver());
+        if (keyResolver == RateLimiterKeyResolverEnum.RULE) {
+            return ruleId;
+        }
+        final String key = RateLimiterKeyResolver.resolve(exchange, keyResolver, limiterHandle.getKeyName());
+        if (key == null) {
+            // the requests without the key share the bucket of the rule.
+            return ruleId;
+        }
+        if (algorithm == RateLimiterAlgorithmEnum.CONCURRENT) {
+            // a client of few requests can still hold many permits, the permits of a key are dropped when none is held.
+            return ruleId + ":" + key;
+        }
+        // a client under half of its limit in a second can not have used the limit.
+        final double limit = Math.min(limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity());
+        switch (heavyHitters(ruleId, limiterHandle).track(key, Math.max(1, limit / 2))) {
+            case LIGHT:
+                return null;
+            case TRACKED:
+                return ruleId + ":" + key;
+            default:
+                return ruleId;
+        }
     }
 
+    /**
+     * the heavy hitters of the rule, a changed rule starts over and drops the buckets of its keys.
+     */
+    private HeavyHitters heavyHitters(final String ruleId, final RateLimiterHandle limiterHandle) {
+        final RuleKeys keys = ruleKeys.get(ruleId);
+        if (keys != null && keys.limiterHandle.equals(limiterHandle)) {
+            return keys.hitters;
+        }
+        return ruleKeys.compute(ruleId, (id, old) -> {
+            if (old != null && old.limiterHandle.equals(limiterHandle)) {
+                return old;
+            }
+            if (old != null) {
+                old.hitters.clear();
+            }
+            return new RuleKeys(limiterHandle, new HeavyHitters(MAX_TRACKED_KEYS, evicted -> remove(ruleId + ":" + evicted)));
+        }).hitters;
+    }
+
+    /**
+     * Remove the buckets of the rule and of its keys.
+     *
+     * @param ruleId the rule id
+     */
+    public void removeRule(final String ruleId) {
+        final RuleKeys keys = ruleKeys.remove(ruleId);
+        if (keys != null) {
+            keys.hitters.clear();
+        }
+        remove(ruleId);
+    }
+
+    private void remove(final String id) {
+        localRateLimiter.remove(id);
+        leaseRateLimiter.remove(id);
+    }
+
+    private void cancel(final String id, final RateLimiterHandle limiterHandle) {
+        if (RateLimiterModeEnum.LOCAL.getName().equals(limiterHandle.getMode())) {
+            localRateLimiter.cancel(id, limiterHandle.getReplenishRate());
+        } else {
+            redisRateLimiter.cancel(id, limiterHandle.getReplenishRate(), queueCapacity(limiterHandle));
+        }
+    }
+
+    private Mono<Void> concurrent(final ServerWebExchange exchange, final SoulPluginChain chain, final String id, final RateLimiterHandle limiterHandle) {
+        final boolean local = RateLimiterModeEnum.LOCAL.getName().equals(limiterHandle.getMode());
+        final String requestId = local ? null : UUID.randomUUID().toString();
+        final Mono<RateLimiterResponse> acquired = local ? Mono.just(localRateLimiter.acquire(id, limiterHandle.getBurstCapacity()))
+                : redisRateLimiter.acquire(id, limiterHandle.getBurstCapacity(), requestId);
+        return acquired.flatMap(response -> {
+            if (!response.isAllowed()) {
+                return tooManyRequests(exchange);
+            }
+            // the permit is held till the response is written or the request is cancelled.
+            return chain.execute(exchange).doFinally(signal -> {
+                if (local) {
+                    localRateLimiter.release(id);
+                } else {
+                    redisRateLimiter.release(id, requestId);
+                }
+            });
+        });
+    }
+
+    private Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterAlgorithmEnum algorithm, final RateLimiterHandle limiterHandle) {
+        final double capacity = algorithm == RateLimiterAlgorithmEnum.LEAKY_BUCKET ? queueCapacity(limiterHandle) : limiterHandle.getBurstCapacity();
+        if (RateLimiterModeEnum.LOCAL.getName().equals(limiterHandle.getMode())) {
+            return Mono.just(localRateLimiter.isAllowed(id, algorithm, limiterHandle.getReplenishRate(), capacity));
+        }
+        if (RateLimiterModeEnum.LEASE.getName().equals(limiterHandle.getMode()) && algorithm == RateLimiterAlgorithmEnum.TOKEN_BUCKET) {
+            // only the tokens of a bucket can be leased, the other algorithms are counted in redis.
+            return leaseRateLimiter.isAllowed(id, limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(), limiterHandle.getLeaseRatio());
+        }
+        return redisRateLimiter.isAllowed(id, algorithm, limiterHandle.getReplenishRate(), capacity);
+    }
+
+    /**
+     * the queue of the leaky bucket is cut to the requests which wait no longer than the max queue millis.
+     */
+    private static double queueCapacity(final RateLimiterHandle limiterHandle) {
+        return Math.min(limiterHandle.getBurstCapacity(), 1 + MAX_QUEUE_MILLIS * limiterHandle.getReplenishRate() / 1000);
+    }
+
+    private Mono<Void> tooManyRequests(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        Object error = SoulResultWarp.error(SoulResultEnum.TOO_MANY_REQUESTS.getCode(), SoulResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
+        return WebFluxResultUtils.result(exchange, error);
+    }
+
+    private static final class RuleKeys {
+
+        private final RateLimiterHandle limiterHandle;
+
+        private final HeavyHitters hitters;
+
+        RuleKeys(final RateLimiterHandle limiterHandle, final HeavyHitters hitters) {
+            this.limiterHandle = limiterHandle;
+            this.hitters = hitters;
+        }
+    }
 }
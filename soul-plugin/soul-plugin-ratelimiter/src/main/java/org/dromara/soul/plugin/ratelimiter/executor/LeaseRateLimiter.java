@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter.executor;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.soul.plugin.ratelimiter.response.RateLimiterResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * The token bucket of request_rate_limiter.lua shared by the gateway cluster, which every node leases in batches.
+ *
+ * <p>A node takes a batch of tokens from the redis bucket with one script call and serves the requests from it,
+ * and it leases the next batch in the background when half of the batch is used. The batch is the tokens the node
+ * used in the last {@link #LEASE_INTERVAL_MILLIS} millis, so a node calls redis a few times per second whatever
+ * its rate, and it is at most leaseRatio of the burst capacity, so the tokens the nodes hold and the others can not
+ * use are bounded. A lease lapses after {@link #LEASE_MILLIS} millis and its unused tokens go back to the bucket.
+ * When the bucket is empty the node denies the requests locally till the bucket refills a token.
+ *
+ * <p>The limit of the bucket is never exceeded, as the tokens are taken from redis before they are used.
+ * When redis fails the request passes, same as {@link RedisRateLimiter}.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public class LeaseRateLimiter {
+    
+    private static final long LEASE_INTERVAL_MILLIS = 200;
+    
+    private static final long LEASE_MILLIS = 1000;
+    
+    private final RateLimiterScript script;
+    
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    
+    private final LongSupplier nanoClock;
+    
+    /**
+     * Instantiates a new Lease rate limiter.
+     */
+    public LeaseRateLimiter() {
+        this(System::nanoTime);
+    }
+    
+    /**
+     * Instantiates a new Lease rate limiter with the clock of the tests.
+     *
+     * @param nanoClock the nano clock
+     */
+    LeaseRateLimiter(final LongSupplier nanoClock) {
+        this.script = new RateLimiterScript("request_rate_limiter_lease.lua");
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Take one token from the lease of the id, a new lease is taken from redis when it is used up.
+     *
+     * @param id            is rule id
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     * @param leaseRatio    the max ratio of the burst capacity which one node leases
+     * @return {@code Mono<Response>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final double replenishRate, final double burstCapacity, final double leaseRatio) {
+        final Lease lease = leases.computeIfAbsent(id, key -> new Lease(getKeys(key)));
+        final long now = nanoClock.getAsLong();
+        lease.expire(now, replenishRate, burstCapacity);
+        lease.requests.increment();
+        final long left = lease.take();
+        if (left >= 0) {
+            if (left < lease.batch / 2) {
+                lease.renew(now, replenishRate, burstCapacity, leaseRatio).subscribe();
+            }
+            return Mono.just(new RateLimiterResponse(true, left));
+        }
+        if (now - lease.emptyUntil < 0) {
+            return Mono.just(new RateLimiterResponse(false, 0));
+        }
+        return lease.renew(now, replenishRate, burstCapacity, leaseRatio).map(granted -> {
+            if (granted < 0) {
+                return new RateLimiterResponse(true, -1);
+            }
+            final long remaining = lease.take();
+            return new RateLimiterResponse(remaining >= 0, Math.max(0, remaining));
+        });
+    }
+    
+    /**
+     * Remove the lease of the id, its unused tokens lapse in redis.
+     *
+     * @param id is rule id
+     */
+    public void remove(final String id) {
+        leases.remove(id);
+    }
+    
+    /**
+     * Call the lease script, a negative count returns the tokens.
+     *
+     * @param keys          the keys
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     * @param count         the count
+     * @return the granted tokens, -1 when redis failed
+     */
+    Mono<Long> lease(final List<String> keys, final double replenishRate, final double burstCapacity, final long count) {
+        List<String> scriptArgs = Arrays.asList(replenishRate + "", burstCapacity + "", Instant.now().getEpochSecond() + "", count + "");
+        return script.execute(keys, scriptArgs).next()
+                .map(results -> results.get(0))
+                .onErrorResume(throwable -> {
+                    log.error("Error leasing the tokens from redis:{}", throwable.getMessage());
+                    return Mono.just(-1L);
+                });
+    }
+    
+    private static List<String> getKeys(final String id) {
+        return RedisRateLimiter.getKeys(id);
+    }
+    
+    private final class Lease {
+        
+        private final List<String> keys;
+        
+        private final AtomicLong tokens = new AtomicLong();
+        
+        private final AtomicLong expireAt = new AtomicLong(Long.MAX_VALUE);
+        
+        private final AtomicReference<Mono<Long>> renewing = new AtomicReference<>();
+        
+        private final LongAdder requests = new LongAdder();
+        
+        private volatile long batch;
+        
+        private volatile long lastRenewNanos;
+        
+        private volatile long emptyUntil;
+        
+        Lease(final List<String> keys) {
+            this.keys = keys;
+            this.emptyUntil = nanoClock.getAsLong();
+        }
+        
+        long take() {
+            while (true) {
+                final long current = tokens.get();
+                if (current <= 0) {
+                    return -1;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return current - 1;
+                }
+            }
+        }
+        
+        /**
+         * the unused tokens of a lapsed lease go back to the bucket.
+         */
+        void expire(final long now, final double replenishRate, final double burstCapacity) {
+            final long current = expireAt.get();
+            if (now - current < 0 || !expireAt.compareAndSet(current, Long.MAX_VALUE)) {
+                return;
+            }
+            final long unused = tokens.getAndSet(0);
+            if (unused > 0) {
+                lease(keys, replenishRate, burstCapacity, -unused).subscribe();
+            }
+        }
+        
+        Mono<Long> renew(final long now, final double replenishRate, final double burstCapacity, final double leaseRatio) {
+            final Mono<Long> current = renewing.get();
+            if (current != null) {
+                return current;
+            }
+            final long count = nextBatch(now, burstCapacity, leaseRatio);
+            final Mono<Long> created = lease(keys, replenishRate, burstCapacity, count)
+                    .doOnNext(granted -> {
+                        if (granted > 0) {
+                            tokens.addAndGet(granted);
+                            expireAt.set(nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(LEASE_MILLIS));
+                        } else if (granted == 0) {
+                            // the bucket is empty, the requests are denied locally till it refills a token.
+                            final long refill = replenishRate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / replenishRate) : Long.MAX_VALUE;
+                            emptyUntil = nanoClock.getAsLong() + Math.min(refill, TimeUnit.MILLISECONDS.toNanos(LEASE_INTERVAL_MILLIS));
+                        }
+                    })
+                    .doFinally(signal -> renewing.set(null))
+                    .cache();
+            if (!renewing.compareAndSet(null, created)) {
+                final Mono<Long> other = renewing.get();
+                return other == null ? Mono.just(0L) : other;
+            }
+            return created;
+        }
+        
+        /**
+         * the tokens used since the last lease, scaled to the lease interval.
+         */
+        private long nextBatch(final long now, final double burstCapacity, final double leaseRatio) {
+            final long elapsed = Math.max(TimeUnit.MILLISECONDS.toNanos(1), now - lastRenewNanos);
+            lastRenewNanos = now;
+            final double used = requests.sumThenReset();
+            final double expected = used * TimeUnit.MILLISECONDS.toNanos(LEASE_INTERVAL_MILLIS) / elapsed;
+            final long max = Math.max(1, (long) (burstCapacity * leaseRatio));
+            batch = Math.max(1, Math.min(max, (long) Math.ceil(expected)));
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter.executor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import org.dromara.soul.common.enums.RateLimiterAlgorithmEnum;
+import org.dromara.soul.plugin.ratelimiter.response.RateLimiterResponse;
+
+/**
+ * The token bucket of request_rate_limiter.lua, kept in the memory of the gateway node.
+ *
+ * <p>A bucket is one atomic word, the nano time at which the bucket was empty, so the tokens at any time are
+ * {@code min(capacity, (now - emptyAt) * rate)}. Taking a token is one compare and set, there is no lock and
+ * no refill thread. Same as the script, a new bucket is full, a request takes one token when at least one is
+ * left, and the remaining tokens are truncated to a long.
+ *
+ * <p>The other algorithms are the local equivalents of their scripts, each one lock free on its own state,
+ * but the concurrent permits, which are counted under the lock of their entry and dropped when none is held.
+ *
+ * @author xiaoyu
+ */
+public class LocalRateLimiter {
+    
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+    
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+    
+    private final Map<String, LeakyBucket> leakyBuckets = new ConcurrentHashMap<>();
+    
+    private final Map<String, Integer> permits = new ConcurrentHashMap<>();
+    
+    private final LongSupplier nanoClock;
+    
+    /**
+     * Instantiates a new Local rate limiter.
+     */
+    public LocalRateLimiter() {
+        this(System::nanoTime);
+    }
+    
+    /**
+     * Instantiates a new Local rate limiter with the clock of the tests.
+     *
+     * @param nanoClock the nano clock
+     */
+    LocalRateLimiter(final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Take one token from the bucket of the id.
+     *
+     * @param id            is rule id
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     * @return the response
+     */
+    public RateLimiterResponse isAllowed(final String id, final double replenishRate, final double burstCapacity) {
+        if (replenishRate <= 0) {
+            // the script fails for a zero rate, and the redis mode lets the request pass on an error.
+            return new RateLimiterResponse(true, -1);
+        }
+        final long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(id);
+        if (bucket == null || !bucket.sameConfig(replenishRate, burstCapacity)) {
+            // a changed rule keeps the tokens which are left.
+            bucket = buckets.compute(id, (key, old) -> old != null && old.sameConfig(replenishRate, burstCapacity) ? old
+                    : new TokenBucket(replenishRate, burstCapacity, old == null ? burstCapacity : old.tokens(now), now));
+        }
+        return bucket.acquire(now);
+    }
+    
+    /**
+     * Count the request by the algorithm.
+     *
+     * @param id            is rule id
+     * @param algorithm     the algorithm, but the concurrent one which is {@link #acquire}
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     * @return the response
+     */
+    public RateLimiterResponse isAllowed(final String id, final RateLimiterAlgorithmEnum algorithm, final double replenishRate, final double burstCapacity) {
+        if (algorithm == RateLimiterAlgorithmEnum.TOKEN_BUCKET || replenishRate <= 0) {
+            return isAllowed(id, replenishRate, burstCapacity);
+        }
+        final long now = nanoClock.getAsLong();
+        if (algorithm == RateLimiterAlgorithmEnum.SLIDING_WINDOW) {
+            final long windowNanos = (long) (burstCapacity / replenishRate * NANOS_PER_SECOND);
+            return windows.computeIfAbsent(id, key -> new SlidingWindow()).acquire(now, burstCapacity, Math.max(1, windowNanos));
+        }
+        return leakyBuckets.computeIfAbsent(id, key -> new LeakyBucket(now)).acquire(now, burstCapacity, (long) (NANOS_PER_SECOND / replenishRate));
+    }
+    
+    /**
+     * Take a permit of the concurrent requests, which is held till {@link #release}.
+     *
+     * @param id            is rule id
+     * @param burstCapacity the max concurrent requests
+     * @return the response
+     */
+    public RateLimiterResponse acquire(final String id, final double burstCapacity) {
+        final RateLimiterResponse[] response = new RateLimiterResponse[1];
+        permits.compute(id, (key, inFlight) -> {
+            final int current = inFlight == null ? 0 : inFlight;
+            if (current + 1 > burstCapacity) {
+                response[0] = new RateLimiterResponse(false, 0);
+                return inFlight;
+            }
+            response[0] = new RateLimiterResponse(true, (long) (burstCapacity - current - 1));
+            return current + 1;
+        });
+        return response[0];
+    }
+    
+    /**
+     * Release the permit of a request.
+     *
+     * @param id is rule id
+     */
+    public void release(final String id) {
+        permits.computeIfPresent(id, (key, inFlight) -> inFlight > 1 ? inFlight - 1 : null);
+    }
+    
+    /**
+     * Give back the place in the queue of the leaky bucket, which a request cancelled while it waited.
+     *
+     * @param id            is rule id
+     * @param replenishRate replenishRate
+     */
+    public void cancel(final String id, final double replenishRate) {
+        final LeakyBucket leakyBucket = leakyBuckets.get(id);
+        if (leakyBucket != null && replenishRate > 0) {
+            leakyBucket.cancel(nanoClock.getAsLong(), (long) (NANOS_PER_SECOND / replenishRate));
+        }
+    }
+    
+    /**
+     * Remove the state of the id, the permits are dropped by themselves when the last one is released.
+     *
+     * @param id is rule id
+     */
+    public void remove(final String id) {
+        buckets.remove(id);
+        windows.remove(id);
+        leakyBuckets.remove(id);
+    }
+    
+    private static final class TokenBucket {
+        
+        private final double rate;
+        
+        private final double capacity;
+        
+        private final double nanosPerToken;
+        
+        private final AtomicLong emptyAt;
+        
+        TokenBucket(final double rate, final double capacity, final double tokens, final long now) {
+            this.rate = rate;
+            this.capacity = capacity;
+            this.nanosPerToken = NANOS_PER_SECOND / rate;
+            this.emptyAt = new AtomicLong(now - (long) (Math.min(tokens, capacity) * nanosPerToken));
+        }
+        
+        boolean sameConfig(final double replenishRate, final double burstCapacity) {
+            return rate == replenishRate && capacity == burstCapacity;
+        }
+        
+        double tokens(final long now) {
+            return Math.min(capacity, Math.max(0, now - emptyAt.get()) / nanosPerToken);
+        }
+        
+        RateLimiterResponse acquire(final long now) {
+            while (true) {
+                final long current = emptyAt.get();
+                final double filled = Math.min(capacity, Math.max(0, now - current) / nanosPerToken);
+                if (filled < 1) {
+                    return new RateLimiterResponse(false, (long) filled);
+                }
+                final double left = filled - 1;
+                if (emptyAt.compareAndSet(current, now - (long) (left * nanosPerToken))) {
+                    return new RateLimiterResponse(true, (long) left);
+                }
+            }
+        }
+    }
+    
+    /**
+     * the index and the size of the current fixed window and the counters of it and the previous one,
+     * replaced as a whole on every request. A changed window size starts over.
+     */
+    private static final class SlidingWindow {
+        
+        private final AtomicReference<long[]> state = new AtomicReference<>(new long[]{0, 0, 0, 0});
+        
+        RateLimiterResponse acquire(final long now, final double limit, final long windowNanos) {
+            final long index = Math.floorDiv(now, windowNanos);
+            while (true) {
+                final long[] current = state.get();
+                long windowIndex = current[0];
+                long count = current[1];
+                long previous = current[2];
+                if (current[3] != windowNanos || index > windowIndex + 1) {
+                    windowIndex = index;
+                    previous = 0;
+                    count = 0;
+                } else if (index == windowIndex + 1) {
+                    windowIndex = index;
+                    previous = count;
+                    count = 0;
+                }
+                final double weight = Math.max(0, Math.min(1, 1 - (double) (now - windowIndex * windowNanos) / windowNanos));
+                final double used = previous * weight + count;
+                if (used + 1 > limit) {
+                    return new RateLimiterResponse(false, (long) Math.max(0, limit - used));
+                }
+                if (state.compareAndSet(current, new long[]{windowIndex, count + 1, previous, windowNanos})) {
+                    return new RateLimiterResponse(true, (long) (limit - used - 1));
+                }
+            }
+        }
+    }
+    
+    /**
+     * the nano time at which the queue drains, a request waits for the requests ahead of it.
+     */
+    private static final class LeakyBucket {
+        
+        private final AtomicLong drainAt;
+        
+        LeakyBucket(final long now) {
+            this.drainAt = new AtomicLong(now);
+        }
+        
+        RateLimiterResponse acquire(final long now, final double capacity, final long intervalNanos) {
+            while (true) {
+                final long current = drainAt.get();
+                final long start = Math.max(0, current - now);
+                final double level = (double) start / intervalNanos;
+                if (level + 1 > capacity) {
+                    return new RateLimiterResponse(false, (long) Math.max(0, capacity - level));
+                }
+                if (drainAt.compareAndSet(current, now + start + intervalNanos)) {
+                    return new RateLimiterResponse(true, (long) (capacity - level - 1), TimeUnit.NANOSECONDS.toMillis(start));
+                }
+            }
+        }
+        
+        void cancel(final long now, final long intervalNanos) {
+            drainAt.accumulateAndGet(now, (current, time) -> Math.max(time, current - intervalNanos));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter.executor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.dromara.soul.plugin.base.utils.Singleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReactiveScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Flux;
+
+/**
+ * The lua script of a rate limiter, called by its sha1 and sent to redis only when redis does not know it.
+ *
+ * <p>The script runs in a callback of the template, which gives the pooled connection back without blocking,
+ * as the script executor of the template blocks the event loop to close the connection.
+ *
+ * @author xiaoyu
+ */
+final class RateLimiterScript {
+    
+    private final String sha1;
+    
+    private final byte[] script;
+    
+    /**
+     * Instantiates a new Rate limiter script.
+     *
+     * @param name the name of the script in META-INF/scripts
+     */
+    RateLimiterScript(final String name) {
+        DefaultRedisScript<List> redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/" + name)));
+        this.sha1 = redisScript.getSha1();
+        this.script = redisScript.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Run the script, which returns a list of integers.
+     *
+     * @param keys the keys
+     * @param args the args
+     * @return the result of the script
+     */
+    @SuppressWarnings("unchecked")
+    Flux<List<Long>> execute(final List<String> keys, final List<String> args) {
+        ReactiveRedisTemplate<String, String> template = Singleton.INST.get(ReactiveRedisTemplate.class);
+        return template.execute(connection -> {
+            final ReactiveScriptingCommands commands = connection.scriptingCommands();
+            return commands.<List<Long>>evalSha(sha1, ReturnType.MULTI, keys.size(), keysAndArgs(keys, args))
+                    .onErrorResume(RateLimiterScript::isNoScript,
+                        throwable -> commands.eval(ByteBuffer.wrap(script), ReturnType.MULTI, keys.size(), keysAndArgs(keys, args)));
+        });
+    }
+    
+    private static ByteBuffer[] keysAndArgs(final List<String> keys, final List<String> args) {
+        final ByteBuffer[] keysAndArgs = new ByteBuffer[keys.size() + args.size()];
+        int i = 0;
+        for (String key : keys) {
+            keysAndArgs[i++] = ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (String arg : args) {
+            keysAndArgs[i++] = ByteBuffer.wrap(arg.getBytes(StandardCharsets.UTF_8));
+        }
+        return keysAndArgs;
+    }
+    
+    private static boolean isNoScript(final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().startsWith("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
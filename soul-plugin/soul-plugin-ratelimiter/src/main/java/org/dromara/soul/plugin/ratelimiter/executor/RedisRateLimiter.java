@@ -20,16 +20,14 @@ package org.dromara.soul.plugin.ratelimiter.executor;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.soul.common.enums.RateLimiterAlgorithmEnum;
 import org.dromara.soul.plugin.base.utils.Singleton;
 import org.dromara.soul.plugin.ratelimiter.response.RateLimiterResponse;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.data.redis.core.script.RedisScript;
-import org.springframework.scripting.support.ResourceScriptSource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -44,7 +42,18 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class RedisRateLimiter {
     
-    private RedisScript<List<Long>> script;
+    /**
+     * the permit of a request which did not complete in time, e.g. its gateway node died, is dropped.
+     */
+    private static final long PERMIT_TIMEOUT_MILLIS = 60_000;
+    
+    private RateLimiterScript script;
+    
+    private final RateLimiterScript slidingWindowScript;
+    
+    private final RateLimiterScript leakyBucketScript;
+    
+    private final RateLimiterScript concurrentScript;
     
     private AtomicBoolean initialized = new AtomicBoolean(false);
     
@@ -52,7 +61,10 @@ public class RedisRateLimiter {
      * Instantiates a new Redis rate limiter.
      */
     public RedisRateLimiter() {
-        this.script = redisScript();
+        this.script = new RateLimiterScript("request_rate_limiter.lua");
+        this.slidingWindowScript = new RateLimiterScript("sliding_window_request_rate_limiter.lua");
+        this.leakyBucketScript = new RateLimiterScript("leaky_bucket_request_rate_limiter.lua");
+        this.concurrentScript = new RateLimiterScript("concurrent_request_rate_limiter.lua");
         initialized.compareAndSet(false, true);
     }
     
@@ -66,17 +78,96 @@ public class RedisRateLimiter {
      * @param burstCapacity burstCapacity
      * @return {@code Mono<Response>} to indicate when request processing is complete
      */
-    @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final double replenishRate, final double burstCapacity) {
+        return isAllowed(id, RateLimiterAlgorithmEnum.TOKEN_BUCKET, replenishRate, burstCapacity);
+    }
+    
+    /**
+     * Count the request by the algorithm, every algorithm is one script which redis runs atomically.
+     * The scripts are sent once and then called by their sha1.
+     *
+     * @param id            is rule id
+     * @param algorithm     the algorithm, but the concurrent one which is {@link #acquire}
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     * @return {@code Mono<Response>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterAlgorithmEnum algorithm, final double replenishRate, final double burstCapacity) {
         if (!this.initialized.get()) {
             throw new IllegalStateException("RedisRateLimiter is not initialized");
         }
-        // 缓存Key
-        List<String> keys = getKeys(id);
-        // 参数
-        List<String> scriptArgs = Arrays.asList(replenishRate + "", burstCapacity + "", Instant.now().getEpochSecond() + "", "1");
-        // 运行脚本
-        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(this.script, keys, scriptArgs);
+        if (algorithm != RateLimiterAlgorithmEnum.TOKEN_BUCKET && replenishRate <= 0) {
+            // the scripts fail for a zero rate, which lets the request pass, same as the token bucket.
+            return Mono.just(new RateLimiterResponse(true, -1));
+        }
+        switch (algorithm) {
+            case SLIDING_WINDOW:
+                final long windowMillis = Math.max(1, (long) (burstCapacity / replenishRate * 1000));
+                return execute(slidingWindowScript, Collections.singletonList(getKey(id, "window")),
+                        Arrays.asList(burstCapacity + "", windowMillis + "", Instant.now().toEpochMilli() + "", "1"));
+            case LEAKY_BUCKET:
+                return execute(leakyBucketScript, Collections.singletonList(getKey(id, "leaky")),
+                        Arrays.asList(replenishRate + "", burstCapacity + "", Instant.now().toEpochMilli() + "", "1"));
+            default:
+                return execute(script, getKeys(id), Arrays.asList(replenishRate + "", burstCapacity + "", Instant.now().getEpochSecond() + "", "1"));
+        }
+    }
+    
+    /**
+     * Take a permit of the concurrent requests, which is held till {@link #release}.
+     *
+     * @param id            is rule id
+     * @param burstCapacity the max concurrent requests
+     * @param requestId     the unique id of the request
+     * @return {@code Mono<Response>} to indicate when request processing is complete
+     */
+    public Mono<RateLimiterResponse> acquire(final String id, final double burstCapacity, final String requestId) {
+        return execute(concurrentScript, Collections.singletonList(getConcurrentKey(id)),
+                Arrays.asList(burstCapacity + "", Instant.now().toEpochMilli() + "", requestId, PERMIT_TIMEOUT_MILLIS + ""));
+    }
+    
+    /**
+     * Release the permit of the request.
+     *
+     * @param id        is rule id
+     * @param requestId the unique id of the request
+     */
+    @SuppressWarnings("unchecked")
+    public void release(final String id, final String requestId) {
+        Mono<Long> removed = Singleton.INST.get(ReactiveRedisTemplate.class).opsForZSet().remove(getConcurrentKey(id), requestId);
+        removed.subscribe(count -> { }, throwable -> log.error("Error releasing the permit from redis:{}", throwable.getMessage()));
+    }
+    
+    /**
+     * Give back the place in the queue of the leaky bucket, which a request cancelled while it waited.
+     *
+     * @param id            is rule id
+     * @param replenishRate replenishRate
+     * @param burstCapacity burstCapacity
+     */
+    public void cancel(final String id, final double replenishRate, final double burstCapacity) {
+        leakyBucketScript.execute(Collections.singletonList(getKey(id, "leaky")),
+                Arrays.asList(replenishRate + "", burstCapacity + "", Instant.now().toEpochMilli() + "", "-1"))
+                .subscribe(result -> { }, throwable -> log.error("Error cancelling the request from redis:{}", throwable.getMessage()));
+    }
+    
+    static List<String> getKeys(final String id) {
+        String prefix = "request_rate_limiter.{" + id;
+        String tokenKey = prefix + "}.tokens";
+        String timestampKey = prefix + "}.timestamp";
+        return Arrays.asList(tokenKey, timestampKey);
+    }
+    
+    private static String getKey(final String id, final String name) {
+        return "request_rate_limiter.{" + id + "}." + name;
+    }
+    
+    private static String getConcurrentKey(final String id) {
+        return "concurrent_request_rate_limiter.{" + id + "}";
+    }
+    
+    private Mono<RateLimiterResponse> execute(final RateLimiterScript redisScript, final List<String> keys, final List<String> scriptArgs) {
+        Flux<List<Long>> resultFlux = redisScript.execute(keys, scriptArgs);
         return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
                 .reduce(new ArrayList<Long>(), (longs, l) -> {
                     longs.addAll(l);
@@ -84,7 +175,8 @@ public class RedisRateLimiter {
                 }).map(results -> {
                     boolean allowed = results.get(0) == 1L;
                     Long tokensLeft = results.get(1);
-                    RateLimiterResponse rateLimiterResponse = new RateLimiterResponse(allowed, tokensLeft);
+                    long delayMillis = results.size() > 2 ? results.get(2) : 0;
+                    RateLimiterResponse rateLimiterResponse = new RateLimiterResponse(allowed, tokensLeft, delayMillis);
                     log.info("RateLimiter response:{}", rateLimiterResponse.toString());
                     return rateLimiterResponse;
                 }).doOnError(throwable -> {
@@ -92,19 +184,4 @@ public class RedisRateLimiter {
                 });
     }
     
-    private static List<String> getKeys(final String id) {
-        String prefix = "request_rate_limiter.{" + id;
-        String tokenKey = prefix + "}.tokens";
-        String timestampKey = prefix + "}.timestamp";
-        return Arrays.asList(tokenKey, timestampKey);
-    }
-    
-    @SuppressWarnings("unchecked")
-    private RedisScript<List<Long>> redisScript() {
-        DefaultRedisScript redisScript = new DefaultRedisScript<>();
-        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/request_rate_limiter.lua")));
-        redisScript.setResultType(List.class);
-        return redisScript;
-    }
-    
 }
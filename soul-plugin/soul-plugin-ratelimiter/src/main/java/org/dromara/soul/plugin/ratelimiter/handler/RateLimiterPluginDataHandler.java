@@ -23,13 +23,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
-import org.dromara.soul.plugin.ratelimiter.config.RateLimiterConfig;
 import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.convert.RateLimiterHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.RedisModeEnum;
 import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 import org.dromara.soul.plugin.base.utils.Singleton;
+import org.dromara.soul.plugin.ratelimiter.RateLimiterPlugin;
+import org.dromara.soul.plugin.ratelimiter.config.RateLimiterConfig;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisNode;
 import org.springframework.data.redis.connection.RedisPassword;
@@ -52,11 +56,26 @@ import org.springframework.util.StringUtils;
  */
 public class RateLimiterPluginDataHandler implements PluginDataHandler {
     
+    private final RateLimiterPlugin rateLimiterPlugin;
+    
+    /**
+     * Instantiates a new Rate limiter plugin data handler.
+     *
+     * @param rateLimiterPlugin the rate limiter plugin, whose buckets are removed with their rules
+     */
+    public RateLimiterPluginDataHandler(final RateLimiterPlugin rateLimiterPlugin) {
+        this.rateLimiterPlugin = rateLimiterPlugin;
+    }
+    
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         if (Objects.nonNull(pluginData) && pluginData.getEnabled()) {
             //init redis
             RateLimiterConfig rateLimiterConfig = GsonUtils.getInstance().fromJson(pluginData.getConfig(), RateLimiterConfig.class);
+            if (Objects.isNull(rateLimiterConfig) || StringUtils.isEmpty(rateLimiterConfig.getUrl())) {
+                // only the local mode can be used without redis.
+                return;
+            }
             //spring data redisTemplate
             if (Objects.isNull(Singleton.INST.get(ReactiveRedisTemplate.class))
                     || Objects.isNull(Singleton.INST.get(RateLimiterConfig.class))
@@ -73,6 +92,16 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
         }
     }
     
+    @Override
+    public void handlerRule(final RuleData ruleData) {
+        RuleHandleCache.getInstance().cacheHandle(ruleData, RateLimiterHandle.class);
+    }
+    
+    @Override
+    public void removeRule(final RuleData ruleData) {
+        rateLimiterPlugin.removeRule(ruleData.getId());
+    }
+    
     @Override
     public String pluginNamed() {
         return PluginEnum.RATE_LIMITER.getName();
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter.key;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * The top talkers of a rate limiter rule, found in bounded memory.
+ *
+ * <p>The requests of every key are counted per second in a count-min sketch with conservative update, which
+ * never under counts, so a key under the threshold can not have used its limit. A light key keeps no state.
+ * A key over the threshold is tracked and limited by a bucket of its own. At most maxTracked keys are tracked,
+ * a heavy key which does not fit takes the place of the coldest tracked key, and otherwise it overflows to the
+ * bucket of the rule, which all the overflowed keys share. So a million clients cost the sketch and maxTracked
+ * buckets, not a million buckets, and when so many keys over count in the sketch, they are limited together.
+ *
+ * @author xiaoyu
+ */
+public final class HeavyHitters {
+    
+    private static final int DEPTH = 4;
+    
+    private static final int WIDTH = 8192;
+    
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private static final long SCAN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    private final int maxTracked;
+    
+    private final Consumer<String> onEvicted;
+    
+    private final LongSupplier nanoClock;
+    
+    private final Set<String> tracked = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicReference<Window> window;
+    
+    private final AtomicLong nextScan;
+    
+    /**
+     * Instantiates a new Heavy hitters.
+     *
+     * @param maxTracked the max tracked keys
+     * @param onEvicted  the callback of the key which is no longer tracked
+     */
+    public HeavyHitters(final int maxTracked, final Consumer<String> onEvicted) {
+        this(maxTracked, onEvicted, System::nanoTime);
+    }
+    
+    /**
+     * Instantiates a new Heavy hitters with the clock of the tests.
+     *
+     * @param maxTracked the max tracked keys
+     * @param onEvicted  the callback of the key which is no longer tracked
+     * @param nanoClock  the nano clock
+     */
+    HeavyHitters(final int maxTracked, final Consumer<String> onEvicted, final LongSupplier nanoClock) {
+        this.maxTracked = maxTracked;
+        this.onEvicted = onEvicted;
+        this.nanoClock = nanoClock;
+        final long now = nanoClock.getAsLong();
+        this.window = new AtomicReference<>(new Window(Math.floorDiv(now, WINDOW_NANOS)));
+        this.nextScan = new AtomicLong(now);
+    }
+    
+    /**
+     * Count a request of the key.
+     *
+     * @param key       the key
+     * @param threshold the requests per second over which the key is heavy
+     * @return the tier of the key
+     */
+    public Tier track(final String key, final double threshold) {
+        final long now = nanoClock.getAsLong();
+        final int count = currentWindow(now).increment(key);
+        if (tracked.contains(key)) {
+            return Tier.TRACKED;
+        }
+        if (count < threshold) {
+            return Tier.LIGHT;
+        }
+        if (tracked.size() < maxTracked) {
+            tracked.add(key);
+            return Tier.TRACKED;
+        }
+        return replaceColdest(now, key, count) ? Tier.TRACKED : Tier.OVERFLOW;
+    }
+    
+    /**
+     * Stop tracking all the keys, every one of them is evicted.
+     */
+    public void clear() {
+        for (String key : tracked) {
+            if (tracked.remove(key)) {
+                onEvicted.accept(key);
+            }
+        }
+    }
+    
+    /**
+     * the tracked keys are scanned at most once per interval, the other heavy keys overflow meanwhile.
+     */
+    private boolean replaceColdest(final long now, final String key, final int count) {
+        final long next = nextScan.get();
+        if (now - next < 0 || !nextScan.compareAndSet(next, now + SCAN_INTERVAL_NANOS)) {
+            return false;
+        }
+        final Window current = window.get();
+        String coldest = null;
+        int min = count;
+        for (String candidate : tracked) {
+            final int estimate = current.estimate(candidate);
+            if (estimate < min) {
+                min = estimate;
+                coldest = candidate;
+            }
+        }
+        if (coldest == null || !tracked.remove(coldest)) {
+            return false;
+        }
+        onEvicted.accept(coldest);
+        tracked.add(key);
+        return true;
+    }
+    
+    private Window currentWindow(final long now) {
+        final long index = Math.floorDiv(now, WINDOW_NANOS);
+        while (true) {
+            final Window current = window.get();
+            if (current.index >= index) {
+                return current;
+            }
+            final Window next = new Window(index);
+            if (window.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+    
+    /**
+     * The tier of a key.
+     */
+    public enum Tier {
+        
+        /**
+         * the key is under the threshold, it is not limited.
+         */
+        LIGHT,
+        
+        /**
+         * the key is limited by a bucket of its own.
+         */
+        TRACKED,
+        
+        /**
+         * the key is heavy but not tracked, it is limited by the bucket of the rule.
+         */
+        OVERFLOW
+    }
+    
+    private static final class Window {
+        
+        private final long index;
+        
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(DEPTH * WIDTH);
+        
+        Window(final long index) {
+            this.index = index;
+        }
+        
+        /**
+         * only the counters at the min are raised, the others already count more than the key.
+         */
+        int increment(final String key) {
+            final int hash = spread(key.hashCode());
+            final int count = estimate(hash) + 1;
+            for (int i = 0; i < DEPTH; i++) {
+                counts.accumulateAndGet(indexOf(hash, i), count, Math::max);
+            }
+            return count;
+        }
+        
+        int estimate(final String key) {
+            return estimate(spread(key.hashCode()));
+        }
+        
+        private int estimate(final int hash) {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < DEPTH; i++) {
+                min = Math.min(min, counts.get(indexOf(hash, i)));
+            }
+            return min;
+        }
+        
+        private static int indexOf(final int hash, final int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return row * WIDTH + ((int) h & (WIDTH - 1));
+        }
+        
+        private static int spread(final int hash) {
+            final int h = hash * 0x9e3779b9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter.key;
+
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.enums.RateLimiterKeyResolverEnum;
+import org.dromara.soul.plugin.api.context.SoulContext;
+import org.dromara.soul.plugin.base.utils.HostAddressUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Resolve the client of a request which a rate limiter rule counts the request for.
+ *
+ * @author xiaoyu
+ */
+public final class RateLimiterKeyResolver {
+    
+    private RateLimiterKeyResolver() {
+    }
+    
+    /**
+     * Resolve the key of the client.
+     *
+     * @param exchange    the exchange
+     * @param keyResolver the key resolver
+     * @param keyName     the name of the header or the query param
+     * @return the key, null when the request has no such key
+     */
+    public static String resolve(final ServerWebExchange exchange, final RateLimiterKeyResolverEnum keyResolver, final String keyName) {
+        switch (keyResolver) {
+            case IP:
+                return HostAddressUtils.acquireIp(exchange);
+            case HEADER:
+                return keyName == null ? null : exchange.getRequest().getHeaders().getFirst(keyName);
+            case PARAM:
+                return keyName == null ? null : exchange.getRequest().getQueryParams().getFirst(keyName);
+            case APP_KEY:
+                final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
+                return soulContext == null ? null : soulContext.getAppKey();
+            default:
+                return null;
+        }
+    }
+}
@@ -17,8 +17,8 @@
 
 package org.dromara.soul.plugin.ratelimiter.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 
 import java.io.Serializable;
 
@@ -28,17 +28,33 @@ import java.io.Serializable;
  * @author xiaoyu(Myth)
  */
 @Data
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class RateLimiterResponse implements Serializable {
 
     private final boolean allowed;
 
     private final long tokensRemaining;
 
+    /**
+     * the millis the allowed request waits in the queue of the leaky bucket.
+     */
+    private final long delayMillis;
+
+    /**
+     * Instantiates a new Rate limiter response without delay.
+     *
+     * @param allowed         the allowed
+     * @param tokensRemaining the tokens remaining
+     */
+    public RateLimiterResponse(final boolean allowed, final long tokensRemaining) {
+        this(allowed, tokensRemaining, 0);
+    }
+
     @Override
     public String toString() {
         return "Response{" + "allowed=" + allowed
                 + ", tokensRemaining=" + tokensRemaining
+                + ", delayMillis=" + delayMillis
                 + '}';
 
     }
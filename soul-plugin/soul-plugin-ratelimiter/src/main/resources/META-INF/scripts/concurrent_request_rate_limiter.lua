@@ -1,14 +1,20 @@
+-- at most capacity requests in flight, a request holds a permit in the sorted set till it completes.
+-- the permits of the requests older than timeout millis are dropped, in case a gateway node dies with them.
 local key = KEYS[1]
 
 local capacity = tonumber(ARGV[1])
-local timestamp = tonumber(ARGV[2])
+local now = tonumber(ARGV[2])
 local id = ARGV[3]
+local timeout = tonumber(ARGV[4])
 
+redis.call("zremrangebyscore", key, "-inf", now - timeout)
 local count = redis.call("zcard", key)
-local allowed = count < capacity
-
-if allowed then
-  redis.call("zadd", key, timestamp, id)
+local allowed_num = 0
+if count < capacity then
+  redis.call("zadd", key, now, id)
+  allowed_num = 1
+  count = count + 1
 end
-redis.call("setex", key, timestamp)
-return { allowed, count }
\ No newline at end of file
+redis.call("pexpire", key, timeout)
+
+return { allowed_num, math.floor(capacity - count) }
@@ -0,0 +1,31 @@
+-- the leaky bucket as a queue, which lets the requests through at rate per second.
+-- the key keeps the time at which the queue drains, an allowed request waits for the requests ahead of it.
+-- a negative count gives back the places of the requests which were cancelled while they waited.
+local key = KEYS[1]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local interval = 1000 / rate
+local drain_at = tonumber(redis.call("get", key))
+if drain_at == nil or drain_at < now then
+  drain_at = now
+end
+
+local level = (drain_at - now) / interval
+local allowed_num = 0
+local delay = 0
+if level + requested <= capacity then
+  delay = drain_at - now
+  drain_at = drain_at + requested * interval
+  if drain_at < now then
+    drain_at = now
+  end
+  level = level + requested
+  allowed_num = 1
+  redis.call("set", key, drain_at, "px", math.ceil(drain_at - now) + 1000)
+end
+
+return { allowed_num, math.floor(capacity - level), math.floor(delay) }
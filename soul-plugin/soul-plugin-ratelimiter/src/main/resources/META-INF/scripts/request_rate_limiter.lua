@@ -10,7 +10,7 @@ local now = tonumber(ARGV[3])   --当前时间
 local requested = tonumber(ARGV[4])   -- 请求的令牌数
 
 local fill_time = capacity/rate  -- 表示按照指定速率，需要多长时间，会填充满整个桶
-local ttl = math.floor(fill_time*2)  -- 过期时间  2倍于填满桶的时间
+local ttl = math.max(1, math.floor(fill_time*2))  -- 过期时间  2倍于填满桶的时间, 至少1秒
 
 --redis.log(redis.LOG_WARNING, "rate " .. ARGV[1])
 --redis.log(redis.LOG_WARNING, "capacity " .. ARGV[2])
@@ -0,0 +1,35 @@
+-- the token bucket of request_rate_limiter.lua, a gateway node leases a batch of tokens at once.
+-- a positive requested leases up to requested tokens, a negative requested returns the unused tokens.
+local tokens_key = KEYS[1]
+local timestamp_key = KEYS[2]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local fill_time = capacity/rate
+local ttl = math.max(1, math.floor(fill_time*2))
+
+local last_tokens = tonumber(redis.call("get", tokens_key))
+if last_tokens == nil then
+  last_tokens = capacity
+end
+
+local last_refreshed = tonumber(redis.call("get", timestamp_key))
+if last_refreshed == nil then
+  last_refreshed = 0
+end
+
+local delta = math.max(0, now-last_refreshed)
+local filled_tokens = math.min(capacity, last_tokens+(delta*rate))
+local granted = requested
+if requested > 0 then
+  granted = math.min(requested, math.floor(filled_tokens))
+end
+local new_tokens = math.min(capacity, filled_tokens - granted)
+
+redis.call("setex", tokens_key, ttl, new_tokens)
+redis.call("setex", timestamp_key, ttl, now)
+
+return { granted, new_tokens }
@@ -0,0 +1,39 @@
+-- the sliding window counter, at most limit requests in any window of window millis.
+-- the count of the previous fixed window is weighted by the part of it which is still in the sliding window.
+-- a changed window size starts over.
+local key = KEYS[1]
+
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local index = math.floor(now / window)
+local state = redis.call("hmget", key, "index", "current", "previous", "window")
+local last_index = tonumber(state[1])
+local current = tonumber(state[2]) or 0
+local previous = tonumber(state[3]) or 0
+if last_index == nil or tonumber(state[4]) ~= window or index > last_index + 1 then
+  previous = 0
+  current = 0
+elseif index == last_index + 1 then
+  previous = current
+  current = 0
+elseif index < last_index then
+  -- the clock of this gateway node is behind the others.
+  index = last_index
+end
+
+local weight = math.max(0, math.min(1, 1 - (now - index * window) / window))
+local count = previous * weight + current
+local allowed_num = 0
+if count + requested <= limit then
+  current = current + requested
+  count = count + requested
+  allowed_num = 1
+end
+
+redis.call("hmset", key, "index", index, "current", current, "previous", previous, "window", window)
+redis.call("pexpire", key, math.ceil(window * 2))
+
+return { allowed_num, math.floor(limit - count) }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter;
+
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.convert.RateLimiterHandle;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.api.result.DefaultSoulResult;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
+import org.dromara.soul.plugin.base.utils.SpringBeanUtils;
+import org.dromara.soul.plugin.ratelimiter.executor.LeaseRateLimiter;
+import org.dromara.soul.plugin.ratelimiter.executor.LocalRateLimiter;
+import org.dromara.soul.plugin.ratelimiter.executor.RedisRateLimiter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+/**
+ * The type Rate limiter plugin test.
+ *
+ * @author xiaoyu
+ */
+public class RateLimiterPluginTest {
+    
+    private final RateLimiterPlugin rateLimiterPlugin = new RateLimiterPlugin(new RedisRateLimiter(), new LocalRateLimiter(), new LeaseRateLimiter());
+    
+    @Before
+    public void setUp() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(DefaultSoulResult.class);
+        context.refresh();
+        SpringBeanUtils.getInstance().setCfgContext(context);
+    }
+    
+    /**
+     * The limited key keeps its bucket when the unchanged rule is synced again, and starts over when the rule changes.
+     */
+    @Test
+    public void resyncKeepsBucketsTest() {
+        RuleData rule = rule("resync", "tokenBucket", 1, 2);
+        Assert.assertNull(execute(rule, "a"));
+        Assert.assertNull(execute(rule, "a"));
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, execute(rule, "a"));
+        
+        RuleHandleCache.getInstance().removeHandle(rule);
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, execute(rule("resync", "tokenBucket", 1, 2), "a"));
+        Assert.assertNull(execute(rule("resync", "tokenBucket", 1, 3), "a"));
+    }
+    
+    /**
+     * The permits of a key which sends few requests are limited too.
+     */
+    @Test
+    public void concurrentLightKeyTest() {
+        RuleData rule = rule("concurrent", "concurrent", 1, 1);
+        MonoProcessor<Void> inFlight = MonoProcessor.create();
+        MockServerWebExchange first = exchange("a");
+        rateLimiterPlugin.doExecute(first, exchange -> inFlight, null, rule).subscribe();
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, execute(rule, "a"));
+        Assert.assertNull(execute(rule, "b"));
+        inFlight.onComplete();
+        Assert.assertNull(execute(rule, "a"));
+    }
+    
+    private HttpStatus execute(final RuleData rule, final String key) {
+        MockServerWebExchange exchange = exchange(key);
+        rateLimiterPlugin.doExecute(exchange, filtered -> Mono.empty(), null, rule).block();
+        return exchange.getResponse().getStatusCode();
+    }
+    
+    private static MockServerWebExchange exchange(final String key) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:9195/http/test").header("X-Client", key));
+    }
+    
+    private static RuleData rule(final String id, final String algorithm, final double replenishRate, final double burstCapacity) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setAlgorithm(algorithm);
+        handle.setReplenishRate(replenishRate);
+        handle.setBurstCapacity(burstCapacity);
+        handle.setKeyResolver("header");
+        handle.setKeyName("X-Client");
+        handle.setMode("local");
+        RuleData rule = new RuleData();
+        rule.setId(id);
+        rule.setName(id);
+        rule.setHandle(GsonUtils.getInstance().toJson(handle));
+        return rule;
+    }
+}
@@ -20,6 +20,7 @@ package org.dromara.soul.plugin.ratelimiter;
 import org.dromara.soul.plugin.ratelimiter.config.RateLimiterConfig;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.dromara.soul.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.junit.Before;
 
@@ -40,7 +41,7 @@ public class RedisRateLimiterTests {
         RateLimiterConfig config = new RateLimiterConfig();
         config.setUrl("127.0.0.0:6379");
         pluginData.setConfig(GsonUtils.getInstance().toJson(config));
-        RateLimiterPluginDataHandler subscriber = new RateLimiterPluginDataHandler();
+        RateLimiterPluginDataHandler subscriber = new RateLimiterPluginDataHandler(new RateLimiterPlugin(new RedisRateLimiter()));
         subscriber.handlerPlugin(pluginData);
     }
 }
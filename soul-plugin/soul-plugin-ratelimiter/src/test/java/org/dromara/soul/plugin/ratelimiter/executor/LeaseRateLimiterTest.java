@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dromara.soul.plugin.ratelimiter.executor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * The type Lease rate limiter test.
+ *
+ * @author xiaoyu
+ */
+public final class LeaseRateLimiterTest {
+    
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    /**
+     * The node takes the tokens of the bucket in batches and never more than the bucket has.
+     */
+    @Test
+    public void leaseInBatches() {
+        final AtomicLong clock = new AtomicLong(MILLIS);
+        final FakeBucket bucket = new FakeBucket(clock, 100);
+        int allowed = 0;
+        for (int i = 0; i < 200; i++) {
+            clock.addAndGet(MILLIS);
+            if (bucket.isAllowed("1", 0, 100, 0.1).block().isAllowed()) {
+                allowed++;
+            }
+        }
+        Assert.assertEquals(100, allowed);
+        Assert.assertTrue(bucket.calls.get() < 50);
+    }
+    
+    /**
+     * The unused tokens of a lapsed lease go back to the bucket.
+     */
+    @Test
+    public void returnOnExpiry() {
+        final AtomicLong clock = new AtomicLong(MILLIS);
+        final FakeBucket bucket = new FakeBucket(clock, 100);
+        for (int i = 0; i < 50; i++) {
+            clock.addAndGet(MILLIS);
+            bucket.isAllowed("1", 0, 100, 0.1).block();
+        }
+        Assert.assertTrue(bucket.tokens.get() < 50);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        bucket.isAllowed("1", 0, 100, 0.1).block();
+        Assert.assertEquals(49, bucket.tokens.get());
+    }
+    
+    /**
+     * The request passes when redis fails.
+     */
+    @Test
+    public void failOpen() {
+        final AtomicLong clock = new AtomicLong(MILLIS);
+        final FakeBucket bucket = new FakeBucket(clock, -1);
+        Assert.assertTrue(bucket.isAllowed("1", 0, 100, 0.1).block().isAllowed());
+    }
+    
+    private static final class FakeBucket extends LeaseRateLimiter {
+        
+        private final AtomicLong tokens;
+        
+        private final AtomicInteger calls = new AtomicInteger();
+        
+        FakeBucket(final AtomicLong clock, final long tokens) {
+            super(clock::get);
+            this.tokens = new AtomicLong(tokens);
+        }
+        
+        @Override
+        Mono<Long> lease(final List<String> keys, final double replenishRate, final double burstCapacity, final long count) {
+            calls.incrementAndGet();
+            if (tokens.get() < 0) {
+                return Mono.just(-1L);
+            }
+            final long granted = Math.min(count, tokens.get());
+            tokens.addAndGet(-granted);
+            return Mono.just(granted);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.plugin.ratelimiter.executor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.dromara.soul.common.enums.RateLimiterAlgorithmEnum;
+import org.dromara.soul.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The type Local rate limiter test.
+ *
+ * @author xiaoyu
+ */
+public final class LocalRateLimiterTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    /**
+     * The bucket starts full, refills by the rate and is capped by the capacity, as request_rate_limiter.lua.
+     */
+    @Test
+    public void tokenBucket() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final LocalRateLimiter limiter = new LocalRateLimiter(clock::get);
+        assertResponse(true, 2, limiter.isAllowed("1", 1, 3));
+        assertResponse(true, 1, limiter.isAllowed("1", 1, 3));
+        assertResponse(true, 0, limiter.isAllowed("1", 1, 3));
+        assertResponse(false, 0, limiter.isAllowed("1", 1, 3));
+        clock.addAndGet(SECOND / 2);
+        assertResponse(false, 0, limiter.isAllowed("1", 1, 3));
+        clock.addAndGet(SECOND / 2);
+        assertResponse(true, 0, limiter.isAllowed("1", 1, 3));
+        clock.addAndGet(100 * SECOND);
+        assertResponse(true, 2, limiter.isAllowed("1", 1, 3));
+        assertResponse(true, 9, limiter.isAllowed("2", 1, 10));
+    }
+    
+    /**
+     * A changed rule keeps the tokens which are left, up to the new capacity.
+     */
+    @Test
+    public void changeRule() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final LocalRateLimiter limiter = new LocalRateLimiter(clock::get);
+        for (int i = 0; i < 5; i++) {
+            limiter.isAllowed("1", 1, 10);
+        }
+        assertResponse(true, 4, limiter.isAllowed("1", 2, 10));
+        assertResponse(true, 1, limiter.isAllowed("1", 2, 2));
+    }
+    
+    /**
+     * The concurrent requests take exactly the tokens of the bucket.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void concurrentAcquire() throws InterruptedException {
+        final LocalRateLimiter limiter = new LocalRateLimiter(() -> SECOND);
+        final AtomicInteger allowed = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.isAllowed("1", 10, 100).isAllowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(100, allowed.get());
+    }
+    
+    /**
+     * The previous window counts by the part of it which is still in the sliding window.
+     */
+    @Test
+    public void slidingWindow() {
+        final AtomicLong clock = new AtomicLong(10 * SECOND);
+        final LocalRateLimiter limiter = new LocalRateLimiter(clock::get);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(limiter.isAllowed("1", RateLimiterAlgorithmEnum.SLIDING_WINDOW, 10, 10).isAllowed());
+        }
+        assertResponse(false, 0, limiter.isAllowed("1", RateLimiterAlgorithmEnum.SLIDING_WINDOW, 10, 10));
+        clock.addAndGet(SECOND + SECOND / 2);
+        assertResponse(true, 4, limiter.isAllowed("1", RateLimiterAlgorithmEnum.SLIDING_WINDOW, 10, 10));
+        int allowed = 1;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.isAllowed("1", RateLimiterAlgorithmEnum.SLIDING_WINDOW, 10, 10).isAllowed()) {
+                allowed++;
+            }
+        }
+        Assert.assertEquals(5, allowed);
+    }
+    
+    /**
+     * The leaky bucket queues the requests up to the capacity and lets them through at the rate.
+     */
+    @Test
+    public void leakyBucket() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final LocalRateLimiter limiter = new LocalRateLimiter(clock::get);
+        assertDelay(true, 2, 0, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 3));
+        assertDelay(true, 1, 500, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 3));
+        assertDelay(true, 0, 1000, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 3));
+        assertDelay(false, 0, 0, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 3));
+        clock.addAndGet(SECOND / 2);
+        assertDelay(true, 0, 1000, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 3));
+    }
+    
+    /**
+     * A request cancelled while it waits gives its place in the queue back.
+     */
+    @Test
+    public void leakyBucketCancel() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final LocalRateLimiter limiter = new LocalRateLimiter(clock::get);
+        assertDelay(true, 1, 0, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 2));
+        assertDelay(true, 0, 500, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 2));
+        assertDelay(false, 0, 0, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 2));
+        limiter.cancel("1", 2);
+        assertDelay(true, 0, 500, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 2));
+        limiter.cancel("1", 2);
+        limiter.cancel("1", 2);
+        limiter.cancel("1", 2);
+        assertDelay(true, 1, 0, limiter.isAllowed("1", RateLimiterAlgorithmEnum.LEAKY_BUCKET, 2, 2));
+    }
+    
+    /**
+     * The permits are held till they are released.
+     */
+    @Test
+    public void concurrent() {
+        final LocalRateLimiter limiter = new LocalRateLimiter(() -> SECOND);
+        assertResponse(true, 1, limiter.acquire("1", 2));
+        assertResponse(true, 0, limiter.acquire("1", 2));
+        assertResponse(false, 0, limiter.acquire("1", 2));
+        limiter.release("1");
+        assertResponse(true, 0, limiter.acquire("1", 2));
+        limiter.release("1");
+        limiter.release("1");
+        limiter.release("1");
+        assertResponse(true, 1, limiter.acquire("1", 2));
+    }
+    
+    private static void assertDelay(final boolean allowed, final long tokensRemaining, final long delayMillis, final RateLimiterResponse response) {
+        assertResponse(allowed, tokensRemaining, response);
+        Assert.assertEquals(delayMillis, response.getDelayMillis());
+    }
+    
+    private static void assertResponse(final boolean allowed, final long tokensRemaining, final RateLimiterResponse response) {
+        Assert.assertEquals(allowed, response.isAllowed());
+        Assert.assertEquals(tokensRemaining, response.getTokensRemaining());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dromara.soul.plugin.ratelimiter.key;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The type Heavy hitters test.
+ *
+ * @author xiaoyu
+ */
+public final class HeavyHittersTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    /**
+     * The keys under the threshold are light, the heavy ones are tracked till the tracked keys are full.
+     */
+    @Test
+    public void trackHeavyKeys() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final HeavyHitters hitters = new HeavyHitters(2, key -> { }, clock::get);
+        for (int i = 0; i < 20000; i++) {
+            Assert.assertEquals(HeavyHitters.Tier.LIGHT, hitters.track("light" + i, 10));
+        }
+        for (String key : new String[]{"a", "b", "c"}) {
+            for (int i = 1; i < 10; i++) {
+                hitters.track(key, 10);
+            }
+        }
+        Assert.assertEquals(HeavyHitters.Tier.TRACKED, hitters.track("a", 10));
+        Assert.assertEquals(HeavyHitters.Tier.TRACKED, hitters.track("b", 10));
+        Assert.assertEquals(HeavyHitters.Tier.TRACKED, hitters.track("a", 10));
+        Assert.assertEquals(HeavyHitters.Tier.OVERFLOW, hitters.track("c", 10));
+    }
+    
+    /**
+     * A heavy key takes the place of the coldest tracked key.
+     */
+    @Test
+    public void replaceColdest() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final List<String> evicted = new ArrayList<>();
+        final HeavyHitters hitters = new HeavyHitters(1, evicted::add, clock::get);
+        for (int i = 0; i < 10; i++) {
+            hitters.track("a", 10);
+        }
+        Assert.assertEquals(HeavyHitters.Tier.TRACKED, hitters.track("a", 10));
+        clock.addAndGet(SECOND);
+        for (int i = 0; i < 9; i++) {
+            hitters.track("b", 10);
+        }
+        Assert.assertEquals(HeavyHitters.Tier.TRACKED, hitters.track("b", 10));
+        Assert.assertEquals(1, evicted.size());
+        Assert.assertEquals("a", evicted.get(0));
+    }
+    
+    /**
+     * A cleared rule evicts all its tracked keys and tracks them again from the threshold.
+     */
+    @Test
+    public void clear() {
+        final AtomicLong clock = new AtomicLong(SECOND);
+        final List<String> evicted = new ArrayList<>();
+        final HeavyHitters hitters = new HeavyHitters(2, evicted::add, clock::get);
+        for (int i = 0; i < 10; i++) {
+            hitters.track("a", 10);
+            hitters.track("b", 10);
+        }
+        hitters.clear();
+        evicted.sort(String::compareTo);
+        Assert.assertEquals(Arrays.asList("a", "b"), evicted);
+        clock.addAndGet(SECOND);
+        Assert.assertEquals(HeavyHitters.Tier.LIGHT, hitters.track("a", 10));
+    }
+}
@@ -20,6 +20,7 @@ package org.dromara.soul.plugin.sign.cache;
 import com.google.common.collect.Maps;
 import org.dromara.soul.common.dto.AppAuthData;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -34,7 +35,7 @@ public final class SignAuthDataCache {
     /**
      * appKey -> AppAuthData.
      */
-    private static final ConcurrentMap<String, AppAuthData> AUTH_MAP = Maps.newConcurrentMap();
+    private volatile ConcurrentMap<String, AppAuthData> authMap = Maps.newConcurrentMap();
     
     private SignAuthDataCache() {
     }
@@ -53,8 +54,8 @@ public final class SignAuthDataCache {
      *
      * @param data the data
      */
-    public void cacheAuthData(final AppAuthData data) {
-        AUTH_MAP.put(data.getAppKey(), data);
+    public synchronized void cacheAuthData(final AppAuthData data) {
+        authMap.put(data.getAppKey(), data);
     }
     
     /**
@@ -62,8 +63,19 @@ public final class SignAuthDataCache {
      *
      * @param data the data
      */
-    public void removeAuthData(final AppAuthData data) {
-        AUTH_MAP.remove(data.getAppKey());
+    public synchronized void removeAuthData(final AppAuthData data) {
+        authMap.remove(data.getAppKey());
+    }
+    
+    /**
+     * Replace all the auth data at once, the new map is built before it is published.
+     *
+     * @param appAuthDataList the full app auth data list
+     */
+    public synchronized void refresh(final List<AppAuthData> appAuthDataList) {
+        final ConcurrentMap<String, AppAuthData> newAuthMap = Maps.newConcurrentMap();
+        appAuthDataList.forEach(data -> newAuthMap.put(data.getAppKey(), data));
+        authMap = newAuthMap;
     }
     
     /**
@@ -73,6 +85,6 @@ public final class SignAuthDataCache {
      * @return the app auth data
      */
     public AppAuthData obtainAuthData(final String appKey) {
-        return AUTH_MAP.get(appKey);
+        return authMap.get(appKey);
     }
 }
@@ -17,6 +17,7 @@
 
 package org.dromara.soul.plugin.sign.subscriber;
 
+import java.util.List;
 import org.dromara.soul.sync.data.api.AuthDataSubscriber;
 import org.dromara.soul.common.dto.AppAuthData;
 import org.dromara.soul.plugin.sign.cache.SignAuthDataCache;
@@ -37,4 +38,9 @@ public class SignAuthDataSubscriber implements AuthDataSubscriber {
     public void unSubscribe(final AppAuthData appAuthData) {
         SignAuthDataCache.getInstance().removeAuthData(appAuthData);
     }
+    
+    @Override
+    public void refresh(final List<AppAuthData> appAuthDataList) {
+        SignAuthDataCache.getInstance().refresh(appAuthDataList);
+    }
 }
@@ -25,8 +25,8 @@ import org.dromara.soul.common.dto.SelectorData;
 import org.dromara.soul.common.dto.convert.rule.SpringCloudRuleHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.RpcTypeEnum;
-import org.dromara.soul.common.utils.GsonUtils;
 import org.dromara.soul.plugin.api.result.SoulResultEnum;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.api.SoulPluginChain;
 import org.dromara.soul.plugin.base.AbstractSoulPlugin;
@@ -66,7 +66,7 @@ public class SpringCloudPlugin extends AbstractSoulPlugin {
         }
         final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
         assert soulContext != null;
-        final SpringCloudRuleHandle ruleHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), SpringCloudRuleHandle.class);
+        final SpringCloudRuleHandle ruleHandle = RuleHandleCache.getInstance().obtainHandle(rule, SpringCloudRuleHandle.class);
         final String serviceId = selector.getHandle();
         if (StringUtils.isBlank(serviceId) || StringUtils.isBlank(ruleHandle.getPath())) {
             Object error = SoulResultWarp.error(SoulResultEnum.CANNOT_CONFIG_SPRINGCLOUD_SERVICEID.getCode(), SoulResultEnum.CANNOT_CONFIG_SPRINGCLOUD_SERVICEID.getMsg(), null);
@@ -99,15 +99,14 @@ public class SpringCloudPlugin extends AbstractSoulPlugin {
     }
 
     /**
-     * plugin is execute.
+     * plugin supports the rpc type.
      *
-     * @param exchange the current server exchange
-     * @return default false.
+     * @param rpcType the rpc type of the request
+     * @return support or not.
      */
     @Override
-    public Boolean skip(final ServerWebExchange exchange) {
-        final SoulContext body = exchange.getAttribute(Constants.CONTEXT);
-        return !Objects.equals(Objects.requireNonNull(body).getRpcType(), RpcTypeEnum.SPRING_CLOUD.getName());
+    public boolean supportRpcType(final String rpcType) {
+        return Objects.equals(rpcType, RpcTypeEnum.SPRING_CLOUD.getName());
     }
 
     private String buildRealURL(final String url, final String httpMethod, final String query) {
@@ -27,7 +27,7 @@ import org.dromara.soul.common.dto.convert.WafHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.enums.WafEnum;
 import org.dromara.soul.common.enums.WafModelEnum;
-import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.utils.Singleton;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.api.SoulPluginChain;
@@ -61,7 +61,7 @@ public class WafPlugin extends AbstractSoulPlugin {
             }
         }
         String handle = rule.getHandle();
-        WafHandle wafHandle = GsonUtils.getInstance().fromJson(handle, WafHandle.class);
+        WafHandle wafHandle = RuleHandleCache.getInstance().obtainHandle(rule, WafHandle.class);
         if (Objects.isNull(wafHandle) || StringUtils.isBlank(wafHandle.getPermission())) {
             log.error("waf handler can not configuration：{}", handle);
             return chain.execute(exchange);
@@ -18,8 +18,11 @@
 package org.dromara.soul.plugin.waf.handler;
 
 import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.convert.WafHandle;
 import org.dromara.soul.common.enums.PluginEnum;
 import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.plugin.base.cache.RuleHandleCache;
 import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 import org.dromara.soul.plugin.base.utils.Singleton;
 import org.dromara.soul.plugin.waf.config.WafConfig;
@@ -37,6 +40,11 @@ public class WafPluginDataHandler implements PluginDataHandler {
         Singleton.INST.single(WafConfig.class, wafConfig);
     }
     
+    @Override
+    public void handlerRule(final RuleData ruleData) {
+        RuleHandleCache.getInstance().cacheHandle(ruleData, WafHandle.class);
+    }
+    
     @Override
     public String pluginNamed() {
         return PluginEnum.WAF.getName();
@@ -17,7 +17,6 @@
 
 package org.dromara.soul.springboot.starter.plugin.ratelimiter;
 
-import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 import org.dromara.soul.plugin.ratelimiter.RateLimiterPlugin;
 import org.dromara.soul.plugin.ratelimiter.executor.RedisRateLimiter;
@@ -36,20 +35,21 @@ public class RateLimiterPluginConfiguration {
     /**
      * RateLimiter plugin.
      *
-     * @return the soul plugin
+     * @return the rate limiter plugin
      */
     @Bean
-    public SoulPlugin rateLimiterPlugin() {
+    public RateLimiterPlugin rateLimiterPlugin() {
         return new RateLimiterPlugin(new RedisRateLimiter());
     }
     
     /**
      * Rate limiter plugin data handler plugin data handler.
      *
+     * @param rateLimiterPlugin the rate limiter plugin
      * @return the plugin data handler
      */
     @Bean
-    public PluginDataHandler rateLimiterPluginDataHandler() {
-        return new RateLimiterPluginDataHandler();
+    public PluginDataHandler rateLimiterPluginDataHandler(final RateLimiterPlugin rateLimiterPlugin) {
+        return new RateLimiterPluginDataHandler(rateLimiterPlugin);
     }
 }
@@ -18,7 +18,9 @@
 package org.dromara.soul.springboot.starter.plugin.rewrite;
 
 import org.dromara.soul.plugin.api.SoulPlugin;
+import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 import org.dromara.soul.plugin.rewrite.RewritePlugin;
+import org.dromara.soul.plugin.rewrite.handler.RewritePluginDataHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -39,4 +41,14 @@ public class RewritePluginConfiguration {
     public SoulPlugin rewritePlugin() {
         return new RewritePlugin();
     }
+    
+    /**
+     * Rewrite plugin data handler plugin data handler.
+     *
+     * @return the plugin data handler
+     */
+    @Bean
+    public PluginDataHandler rewritePluginDataHandler() {
+        return new RewritePluginDataHandler();
+    }
 }
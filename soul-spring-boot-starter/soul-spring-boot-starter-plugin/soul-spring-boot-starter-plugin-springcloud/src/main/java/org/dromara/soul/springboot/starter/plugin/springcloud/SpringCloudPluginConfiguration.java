@@ -19,7 +19,9 @@
 package org.dromara.soul.springboot.starter.plugin.springcloud;
 
 import org.dromara.soul.plugin.api.SoulPlugin;
+import org.dromara.soul.plugin.base.handler.PluginDataHandler;
 import org.dromara.soul.plugin.springcloud.SpringCloudPlugin;
+import org.dromara.soul.plugin.springcloud.handler.SpringCloudPluginDataHandler;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -51,4 +53,14 @@ public class SpringCloudPluginConfiguration {
     public SoulPlugin springCloudPlugin(final ObjectProvider<LoadBalancerClient> loadBalancerClient) {
         return new SpringCloudPlugin(loadBalancerClient.getIfAvailable());
     }
+    
+    /**
+     * Spring cloud plugin data handler plugin data handler.
+     *
+     * @return the plugin data handler
+     */
+    @Bean
+    public PluginDataHandler springCloudPluginDataHandler() {
+        return new SpringCloudPluginDataHandler();
+    }
 }
@@ -17,6 +17,7 @@
 
 package org.dromara.soul.sync.data.api;
 
+import java.util.List;
 import org.dromara.soul.common.dto.AppAuthData;
 
 /**
@@ -43,4 +44,14 @@ public interface AuthDataSubscriber {
      */
     default void refresh() {
     }
+    
+    /**
+     * Refresh with the full app auth data list, the subscriber should replace its data at once.
+     *
+     * @param appAuthDataList the app auth data list
+     */
+    default void refresh(List<AppAuthData> appAuthDataList) {
+        refresh();
+        appAuthDataList.forEach(this::onSubscribe);
+    }
 }
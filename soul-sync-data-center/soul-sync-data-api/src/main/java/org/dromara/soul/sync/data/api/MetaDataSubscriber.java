@@ -17,6 +17,7 @@
 
 package org.dromara.soul.sync.data.api;
 
+import java.util.List;
 import org.dromara.soul.common.dto.MetaData;
 
 /**
@@ -43,4 +44,14 @@ public interface MetaDataSubscriber {
      */
     default void refresh() {
     }
+    
+    /**
+     * Refresh with the full meta data list, the subscriber should replace its data at once.
+     *
+     * @param metaDataList the meta data list
+     */
+    default void refresh(List<MetaData> metaDataList) {
+        refresh();
+        metaDataList.forEach(this::onSubscribe);
+    }
 }
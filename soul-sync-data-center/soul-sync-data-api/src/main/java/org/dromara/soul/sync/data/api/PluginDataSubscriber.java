@@ -17,6 +17,7 @@
 
 package org.dromara.soul.sync.data.api;
 
+import java.util.List;
 import org.dromara.soul.common.dto.PluginData;
 import org.dromara.soul.common.dto.RuleData;
 import org.dromara.soul.common.dto.SelectorData;
@@ -49,6 +50,16 @@ public interface PluginDataSubscriber {
     
     }
     
+    /**
+     * Refresh plugin data with the full plugin data list, the subscriber should replace its plugin data at once.
+     *
+     * @param pluginDataList the plugin data list
+     */
+    default void refreshPluginData(List<PluginData> pluginDataList) {
+        refreshPluginData();
+        pluginDataList.forEach(this::onSubscribe);
+    }
+    
     /**
      * On selector subscribe.
      *
@@ -71,6 +82,16 @@ public interface PluginDataSubscriber {
     default void refreshSelectorData() {
     }
     
+    /**
+     * Refresh selector data with the full selector data list, the subscriber should replace its selector data at once.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void refreshSelectorData(List<SelectorData> selectorDataList) {
+        refreshSelectorData();
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * On rule subscribe.
      *
@@ -92,4 +113,14 @@ public interface PluginDataSubscriber {
      */
     default void refreshRuleData() {
     }
+    
+    /**
+     * Refresh rule data with the full rule data list, the subscriber should replace its rule data at once.
+     *
+     * @param ruleDataList the rule data list
+     */
+    default void refreshRuleData(List<RuleData> ruleDataList) {
+        refreshRuleData();
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
 }
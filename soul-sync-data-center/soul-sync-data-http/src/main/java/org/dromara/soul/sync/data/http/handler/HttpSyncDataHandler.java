@@ -67,8 +67,7 @@ public class HttpSyncDataHandler {
             log.info("clear all plugin data cache");
             pluginDataSubscriber.refreshPluginData();
         } else {
-            pluginDataSubscriber.refreshPluginData();
-            pluginDataList.forEach(pluginDataSubscriber::onSubscribe);
+            pluginDataSubscriber.refreshPluginData(pluginDataList);
         }
     }
     
@@ -84,8 +83,7 @@ public class HttpSyncDataHandler {
             pluginDataSubscriber.refreshSelectorData();
         } else {
             // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorData();
-            selectorDataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
+            pluginDataSubscriber.refreshSelectorData(selectorDataList);
         }
     }
     
@@ -99,8 +97,7 @@ public class HttpSyncDataHandler {
             log.info("clear all rule cache");
             pluginDataSubscriber.refreshRuleData();
         } else {
-            pluginDataSubscriber.refreshRuleData();
-            ruleDataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+            pluginDataSubscriber.refreshRuleData(ruleDataList);
         }
     }
     
@@ -114,7 +111,7 @@ public class HttpSyncDataHandler {
             log.info("clear all appAuth data cache");
             authDataSubscribers.forEach(AuthDataSubscriber::refresh);
         } else {
-            appAuthDataList.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
+            authDataSubscribers.forEach(subscriber -> subscriber.refresh(appAuthDataList));
         }
     }
     
@@ -128,7 +125,7 @@ public class HttpSyncDataHandler {
             log.info("clear all metaData cache}");
             metaDataSubscribers.forEach(MetaDataSubscriber::refresh);
         } else {
-            metaDataList.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
+            metaDataSubscribers.forEach(subscriber -> subscriber.refresh(metaDataList));
         }
     }
 }
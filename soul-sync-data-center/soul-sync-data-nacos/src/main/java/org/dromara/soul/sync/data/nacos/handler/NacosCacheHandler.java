@@ -66,8 +66,7 @@ public class NacosCacheHandler {
     protected void updatePluginMap(final String configInfo) {
         try {
             List<PluginData> pluginDataList = GsonUtils.getInstance().fromList(configInfo, PluginData.class);
-            pluginDataList.forEach(pluginData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.unSubscribe(pluginData)));
-            pluginDataList.forEach(pluginData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.onSubscribe(pluginData)));
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.refreshPluginData(pluginDataList));
         } catch (JsonParseException e) {
             log.error("sync plugin data have error:", e);
         }
@@ -76,8 +75,7 @@ public class NacosCacheHandler {
     protected void updateSelectorMap(final String configInfo) {
         try {
             List<SelectorData> selectorDataList = GsonUtils.getInstance().fromList(configInfo, SelectorData.class);
-            selectorDataList.forEach(selectorData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.unSelectorSubscribe(selectorData)));
-            selectorDataList.forEach(selectorData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.onSelectorSubscribe(selectorData)));
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.refreshSelectorData(selectorDataList));
         } catch (JsonParseException e) {
             log.error("sync selector data have error:", e);
         }
@@ -86,8 +84,7 @@ public class NacosCacheHandler {
     protected void updateRuleMap(final String configInfo) {
         try {
             List<RuleData> ruleDataList = GsonUtils.getInstance().fromList(configInfo, RuleData.class);
-            ruleDataList.forEach(ruleData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.unRuleSubscribe(ruleData)));
-            ruleDataList.forEach(ruleData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.onRuleSubscribe(ruleData)));
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.refreshRuleData(ruleDataList));
         } catch (JsonParseException e) {
             log.error("sync rule data have error:", e);
         }
@@ -96,8 +93,7 @@ public class NacosCacheHandler {
     protected void updateMetaDataMap(final String configInfo) {
         try {
             List<MetaData> metaDataList = GsonUtils.getInstance().fromList(configInfo, MetaData.class);
-            metaDataList.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(metaData)));
-            metaDataList.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
+            metaDataSubscribers.forEach(subscriber -> subscriber.refresh(metaDataList));
         } catch (JsonParseException e) {
             log.error("sync meta data have error:", e);
         }
@@ -106,8 +102,7 @@ public class NacosCacheHandler {
     protected void updateAuthMap(final String configInfo) {
         try {
             List<AppAuthData> appAuthDataList = GsonUtils.getInstance().fromList(configInfo, AppAuthData.class);
-            appAuthDataList.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(authData)));
-            appAuthDataList.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
+            authDataSubscribers.forEach(subscriber -> subscriber.refresh(appAuthDataList));
         } catch (JsonParseException e) {
             log.error("sync auth data have error:", e);
         }
@@ -69,8 +69,7 @@ public class WebsocketDataHandler {
             switch (eventTypeEnum) {
                 case REFRESH:
                 case MYSELF:
-                    pluginDataSubscriber.refreshPluginData();
-                    pluginDataList.forEach(pluginDataSubscriber::onSubscribe);
+                    pluginDataSubscriber.refreshPluginData(pluginDataList);
                     break;
                 case UPDATE:
                 case CREATE:
@@ -98,8 +97,7 @@ public class WebsocketDataHandler {
             switch (eventTypeEnum) {
                 case REFRESH:
                 case MYSELF:
-                    pluginDataSubscriber.refreshSelectorData();
-                    selectorDataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
+                    pluginDataSubscriber.refreshSelectorData(selectorDataList);
                     break;
                 case UPDATE:
                 case CREATE:
@@ -126,8 +124,7 @@ public class WebsocketDataHandler {
             switch (eventTypeEnum) {
                 case REFRESH:
                 case MYSELF:
-                    pluginDataSubscriber.refreshRuleData();
-                    ruleDataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+                    pluginDataSubscriber.refreshRuleData(ruleDataList);
                     break;
                 case UPDATE:
                 case CREATE:
@@ -154,8 +151,7 @@ public class WebsocketDataHandler {
             switch (eventTypeEnum) {
                 case REFRESH:
                 case MYSELF:
-                    authDataSubscribers.forEach(AuthDataSubscriber::refresh);
-                    appAuthDataList.forEach(appAuthData -> authDataSubscribers.forEach(authDataSubscriber -> authDataSubscriber.onSubscribe(appAuthData)));
+                    authDataSubscribers.forEach(authDataSubscriber -> authDataSubscriber.refresh(appAuthDataList));
                     break;
                 case UPDATE:
                 case CREATE:
@@ -182,8 +178,7 @@ public class WebsocketDataHandler {
             switch (eventTypeEnum) {
                 case REFRESH:
                 case MYSELF:
-                    metaDataSubscribers.forEach(MetaDataSubscriber::refresh);
-                    metaDataList.forEach(metaData -> metaDataSubscribers.forEach(metaDataSubscriber -> metaDataSubscriber.onSubscribe(metaData)));
+                    metaDataSubscribers.forEach(metaDataSubscriber -> metaDataSubscriber.refresh(metaDataList));
                     break;
                 case UPDATE:
                 case CREATE:
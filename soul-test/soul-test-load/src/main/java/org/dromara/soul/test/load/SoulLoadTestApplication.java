@@ -0,0 +1,136 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.test.TestingServer;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.test.load.config.LoadTestConfig;
+import org.dromara.soul.test.load.driver.AbstractLoadDriver;
+import org.dromara.soul.test.load.driver.HttpLoadDriver;
+import org.dromara.soul.test.load.driver.WebSocketLoadDriver;
+import org.dromara.soul.test.load.gateway.SoulLoadGatewayApplication;
+import org.dromara.soul.test.load.report.AllocationSampler;
+import org.dromara.soul.test.load.report.LatencyRecorder;
+import org.dromara.soul.test.load.report.LoadTestReport;
+import org.dromara.soul.test.load.scenario.Scenario;
+import org.dromara.soul.test.load.stub.StubDubboProvider;
+import org.dromara.soul.test.load.stub.StubUpstream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import redis.embedded.RedisServer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The load test of the gateway, everything runs on localhost:
+ * the stub upstream, the embedded zookeeper and redis the scenario needs, the gateway with its local data file and the load driver.
+ *
+ * <p>java -jar soul-test-load.jar --scenario=divide|ratelimiter|sign|dubbo|websocket --mode=closed|rate --connections=64 --rate=1000
+ * --warmup=10 --duration=30 --payload=256 --latency=0 [--gateway-url=http://host:port] [--data=file:soul-load.json] [--report=report.json]
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class SoulLoadTestApplication {
+
+    private SoulLoadTestApplication() {
+    }
+
+    /**
+     * main.
+     *
+     * @param args args
+     * @throws Exception the exception
+     */
+    public static void main(final String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        log.info("soul load test : {}", config);
+        Deque<AutoCloseable> resources = new ArrayDeque<>();
+        try {
+            boot(config, resources);
+            LoadTestReport report = run(config);
+            log.info("soul load test report : {}", report.summary());
+            Path reportPath = Paths.get(config.getReportFile()).toAbsolutePath();
+            Files.createDirectories(reportPath.getParent());
+            Files.write(reportPath, GsonUtils.getInstance().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("the report is written to {}", reportPath);
+        } finally {
+            while (!resources.isEmpty()) {
+                resources.pop().close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void boot(final LoadTestConfig config, final Deque<AutoCloseable> resources) throws Exception {
+        Scenario scenario = config.getScenario();
+        resources.push(StubUpstream.start(config.getStubPort(), config.getUpstreamLatencyMillis(), config.getPayloadSize()));
+        if (scenario.isRedis()) {
+            RedisServer redisServer = RedisServer.builder().port(config.getRedisPort()).setting("bind 127.0.0.1").build();
+            redisServer.start();
+            resources.push(redisServer::stop);
+        }
+        if (scenario.isDubbo()) {
+            resources.push(new TestingServer(config.getZookeeperPort(), true));
+            resources.push(StubDubboProvider.export("zookeeper://127.0.0.1:" + config.getZookeeperPort(),
+                    config.getDubboPort(), config.getUpstreamLatencyMillis(), config.getPayloadSize()));
+        }
+        if (config.isEmbeddedGateway()) {
+            resources.push(new SpringApplicationBuilder(SoulLoadGatewayApplication.class)
+                    .properties("server.port=" + config.getGatewayPort(),
+                            "soul.load.data=" + (config.getDataFile().isEmpty() ? scenario.dataFile() : config.getDataFile()),
+                            "soul.load.stub-port=" + config.getStubPort(),
+                            "soul.load.redis-port=" + config.getRedisPort(),
+                            "soul.load.zookeeper-port=" + config.getZookeeperPort())
+                    .run());
+        }
+    }
+
+    private static LoadTestReport run(final LoadTestConfig config) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        try (AbstractLoadDriver driver = config.getScenario().getProtocol() == Scenario.Protocol.WEBSOCKET
+                ? new WebSocketLoadDriver(config, recorder) : new HttpLoadDriver(config, recorder)) {
+            log.info("probe {} : {}", config.getScenario().getPath(), abbreviate(driver.probe()));
+            driver.start();
+            TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+            recorder.reset();
+            AllocationSampler sampler = new AllocationSampler();
+            sampler.start();
+            long start = System.currentTimeMillis();
+            TimeUnit.SECONDS.sleep(config.getDurationSeconds());
+            long elapsedMillis = System.currentTimeMillis() - start;
+            LoadTestReport report = LoadTestReport.of(config, recorder.histogram(), recorder.errors(), elapsedMillis);
+            if (config.isEmbeddedGateway()) {
+                report.allocation(sampler, elapsedMillis);
+            }
+            driver.stop();
+            return report;
+        }
+    }
+
+    private static String abbreviate(final String answer) {
+        return answer == null || answer.length() <= 200 ? answer : answer.substring(0, 200) + "...";
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.config;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.dromara.soul.test.load.scenario.Scenario;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The load test config, every option is given as --name=value or -Dsoul.load.name=value.
+ *
+ * @author xiaoyu
+ */
+@Getter
+@ToString
+public final class LoadTestConfig {
+
+    private final Scenario scenario;
+
+    /**
+     * rate: send at the fixed rate whatever the latency is, closed: the connections send the next request after the response.
+     */
+    private final String mode;
+
+    private final int rate;
+
+    private final int connections;
+
+    private final int warmupSeconds;
+
+    private final int durationSeconds;
+
+    private final int payloadSize;
+
+    private final int upstreamLatencyMillis;
+
+    /**
+     * the url of a gateway which is already running, the embedded gateway is booted when it is blank.
+     */
+    private final String gatewayUrl;
+
+    private final int gatewayPort;
+
+    private final int stubPort;
+
+    private final int dubboPort;
+
+    private final int zookeeperPort;
+
+    private final int redisPort;
+
+    /**
+     * the local data file of the gateway, the data of the scenario is used when it is blank.
+     */
+    private final String dataFile;
+
+    /**
+     * the report file, written under the target directory by default so a run never leaves it in the source tree.
+     */
+    private final String reportFile;
+
+    private LoadTestConfig(final Map<String, String> options) {
+        this.scenario = Scenario.of(option(options, "scenario", "divide"));
+        this.mode = option(options, "mode", "closed");
+        this.rate = Integer.parseInt(option(options, "rate", "1000"));
+        this.connections = Integer.parseInt(option(options, "connections", "64"));
+        this.warmupSeconds = Integer.parseInt(option(options, "warmup", "10"));
+        this.durationSeconds = Integer.parseInt(option(options, "duration", "30"));
+        this.payloadSize = Integer.parseInt(option(options, "payload", "256"));
+        this.upstreamLatencyMillis = Integer.parseInt(option(options, "latency", "0"));
+        this.gatewayUrl = option(options, "gateway-url", "");
+        this.gatewayPort = Integer.parseInt(option(options, "gateway-port", "19195"));
+        this.stubPort = Integer.parseInt(option(options, "stub-port", "18080"));
+        this.dubboPort = Integer.parseInt(option(options, "dubbo-port", "20880"));
+        this.zookeeperPort = Integer.parseInt(option(options, "zookeeper-port", "12181"));
+        this.redisPort = Integer.parseInt(option(options, "redis-port", "16379"));
+        this.dataFile = option(options, "data", "");
+        this.reportFile = option(options, "report", "target/soul-load-report-" + scenario.getName() + ".json");
+    }
+
+    /**
+     * Parse the command line arguments.
+     *
+     * @param args the args
+     * @return the load test config
+     */
+    public static LoadTestConfig parse(final String[] args) {
+        Map<String, String> options = new HashMap<>(args.length);
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.indexOf('=') > 2) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return new LoadTestConfig(options);
+    }
+
+    /**
+     * Whether the requests are sent at the fixed rate.
+     *
+     * @return the boolean
+     */
+    public boolean isFixedRate() {
+        return "rate".equals(mode);
+    }
+
+    /**
+     * Whether the gateway is booted by the load test.
+     *
+     * @return the boolean
+     */
+    public boolean isEmbeddedGateway() {
+        return gatewayUrl.isEmpty();
+    }
+
+    /**
+     * The url the load is sent to.
+     *
+     * @return the url
+     */
+    public String targetUrl() {
+        return isEmbeddedGateway() ? "http://127.0.0.1:" + gatewayPort : gatewayUrl;
+    }
+
+    private static String option(final Map<String, String> options, final String name, final String defaultValue) {
+        return options.getOrDefault(name, System.getProperty("soul.load." + name, defaultValue));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.driver;
+
+import org.dromara.soul.test.load.config.LoadTestConfig;
+import org.dromara.soul.test.load.report.LatencyRecorder;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The load driver, it sends the requests at the fixed rate or from the closed loops of the connections.
+ *
+ * <p>At the fixed rate the latency is measured from the time the request was meant to be sent,
+ * so that a slow gateway can not hide its latency by slowing the driver down.
+ *
+ * @author xiaoyu
+ */
+public abstract class AbstractLoadDriver implements AutoCloseable {
+
+    private static final long PACER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final LoadTestConfig config;
+
+    private final LatencyRecorder recorder;
+
+    private final LoopResources loopResources;
+
+    private volatile boolean running;
+
+    private Thread pacer;
+
+    /**
+     * Instantiates a new load driver.
+     *
+     * @param config   the config
+     * @param recorder the recorder
+     */
+    protected AbstractLoadDriver(final LoadTestConfig config, final LatencyRecorder recorder) {
+        this.config = config;
+        this.recorder = recorder;
+        this.loopResources = LoopResources.create("soul-load", Math.max(2, Runtime.getRuntime().availableProcessors() / 2), true);
+    }
+
+    /**
+     * Send one request and return what the gateway answered, to check the scenario before the load.
+     *
+     * @return the answer
+     */
+    public abstract String probe();
+
+    /**
+     * Start to send the load.
+     */
+    public void start() {
+        running = true;
+        if (config.isFixedRate()) {
+            pacer = new Thread(this::pace, "soul-load-pacer");
+            pacer.setDaemon(true);
+            pacer.start();
+        } else {
+            for (int i = 0; i < config.getConnections(); i++) {
+                startLoop();
+            }
+        }
+    }
+
+    /**
+     * Stop to send the load.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        if (pacer != null) {
+            pacer.join();
+        }
+    }
+
+    @Override
+    public void close() {
+        loopResources.dispose();
+    }
+
+    /**
+     * Send one request, at the fixed rate.
+     *
+     * @param startNanos the nano time the request is meant to be sent
+     */
+    protected abstract void send(long startNanos);
+
+    /**
+     * Start one closed loop which sends the next request after the response.
+     */
+    protected abstract void startLoop();
+
+    /**
+     * Gets config.
+     *
+     * @return the config
+     */
+    protected LoadTestConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets recorder.
+     *
+     * @return the recorder
+     */
+    protected LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Gets the event loops of the driver.
+     *
+     * @return the loop resources
+     */
+    protected LoopResources getLoopResources() {
+        return loopResources;
+    }
+
+    /**
+     * Whether the load is still sent.
+     *
+     * @return the boolean
+     */
+    protected boolean isRunning() {
+        return running;
+    }
+
+    private void pace() {
+        final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getRate());
+        final long start = System.nanoTime();
+        long sent = 0;
+        while (running) {
+            final long due = (System.nanoTime() - start) / interval + 1;
+            while (sent < due && running) {
+                send(start + sent * interval);
+                sent++;
+            }
+            LockSupport.parkNanos(PACER_PARK_NANOS);
+        }
+    }
+}
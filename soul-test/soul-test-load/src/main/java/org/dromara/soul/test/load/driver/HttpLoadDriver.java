@@ -0,0 +1,140 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.driver;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.utils.SignUtils;
+import org.dromara.soul.test.load.config.LoadTestConfig;
+import org.dromara.soul.test.load.report.LatencyRecorder;
+import org.dromara.soul.test.load.scenario.Scenario;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The http load driver, every connection of the pool has one request in flight at most.
+ *
+ * @author xiaoyu
+ */
+public final class HttpLoadDriver extends AbstractLoadDriver {
+
+    private static final long ACQUIRE_TIMEOUT_MILLIS = 60_000L;
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String DUBBO_BODY = "{\"id\":\"1\",\"name\":\"soul\"}";
+
+    private final ConnectionProvider connectionProvider;
+
+    private final HttpClient httpClient;
+
+    private final String path;
+
+    private final String signPath;
+
+    /**
+     * Instantiates a new Http load driver.
+     *
+     * @param config   the config
+     * @param recorder the recorder
+     */
+    public HttpLoadDriver(final LoadTestConfig config, final LatencyRecorder recorder) {
+        super(config, recorder);
+        this.connectionProvider = ConnectionProvider.fixed("soul-load", config.getConnections(), ACQUIRE_TIMEOUT_MILLIS);
+        this.path = config.getScenario().getPath();
+        this.signPath = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        this.httpClient = HttpClient.create(connectionProvider)
+                .tcpConfiguration(tcpClient -> tcpClient.runOn(getLoopResources()))
+                .baseUrl(config.targetUrl())
+                .headers(headers -> {
+                    if (config.getScenario().isDubbo()) {
+                        headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+                    }
+                });
+    }
+
+    @Override
+    public String probe() {
+        return request().responseSingle((response, content) -> content.asString().defaultIfEmpty("")
+                .map(body -> response.status().code() + " " + body))
+                .block(PROBE_TIMEOUT);
+    }
+
+    @Override
+    protected void send(final long startNanos) {
+        status().subscribe(status -> onResponse(startNanos, status), error -> getRecorder().error());
+    }
+
+    @Override
+    protected void startLoop() {
+        Mono.defer(() -> {
+            final long startNanos = System.nanoTime();
+            return status().doOnNext(status -> onResponse(startNanos, status))
+                    .onErrorResume(error -> {
+                        getRecorder().error();
+                        return Mono.empty();
+                    });
+        }).repeat(this::isRunning).subscribe();
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+        super.close();
+    }
+
+    private Mono<Integer> status() {
+        return request().response((response, content) -> content.then(Mono.just(response.status().code()))).single();
+    }
+
+    private HttpClient.ResponseReceiver<?> request() {
+        HttpClient client = getConfig().getScenario().isSigned() ? httpClient.headers(this::sign) : httpClient;
+        if (getConfig().getScenario().isDubbo()) {
+            return client.post().uri(path).send(ByteBufFlux.fromString(Mono.just(DUBBO_BODY)));
+        }
+        return client.get().uri(path);
+    }
+
+    private void sign(final HttpHeaders headers) {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        Map<String, String> params = new HashMap<>(4);
+        params.put(Constants.TIMESTAMP, timestamp);
+        params.put(Constants.PATH, signPath);
+        params.put(Constants.VERSION, "1.0.0");
+        headers.set(Constants.APP_KEY, Scenario.APP_KEY)
+                .set(Constants.TIMESTAMP, timestamp)
+                .set(Constants.SIGN, SignUtils.generateSign(Scenario.APP_SECRET, params));
+    }
+
+    private void onResponse(final long startNanos, final int status) {
+        if (status >= 200 && status < 300) {
+            getRecorder().record(startNanos);
+        } else {
+            getRecorder().error();
+        }
+    }
+}
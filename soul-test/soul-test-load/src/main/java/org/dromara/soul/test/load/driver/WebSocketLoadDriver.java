@@ -0,0 +1,148 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.driver;
+
+import org.dromara.soul.test.load.config.LoadTestConfig;
+import org.dromara.soul.test.load.report.LatencyRecorder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The websocket load driver, every message carries the nano time it was meant to be sent and comes back in the echo.
+ *
+ * @author xiaoyu
+ */
+public final class WebSocketLoadDriver extends AbstractLoadDriver {
+
+    private static final int MAX_FRAME_PAYLOAD_LENGTH = 1 << 20;
+
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final long CONNECT_TIMEOUT_SECONDS = 30L;
+
+    private static final char SEPARATOR = '|';
+
+    private final HttpClient httpClient;
+
+    private final String padding;
+
+    private final List<UnicastProcessor<String>> outbounds = new CopyOnWriteArrayList<>();
+
+    private final List<Disposable> connections = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Instantiates a new Web socket load driver.
+     *
+     * @param config   the config
+     * @param recorder the recorder
+     */
+    public WebSocketLoadDriver(final LoadTestConfig config, final LatencyRecorder recorder) {
+        super(config, recorder);
+        this.httpClient = HttpClient.create()
+                .tcpConfiguration(tcpClient -> tcpClient.runOn(getLoopResources()))
+                .baseUrl(config.targetUrl().replaceFirst("^http", "ws"));
+        StringBuilder builder = new StringBuilder(config.getPayloadSize());
+        while (builder.length() < config.getPayloadSize()) {
+            builder.append('x');
+        }
+        this.padding = builder.toString();
+    }
+
+    @Override
+    public String probe() {
+        return httpClient.websocket("", MAX_FRAME_PAYLOAD_LENGTH).uri(getConfig().getScenario().getPath())
+                .handle((inbound, outbound) -> outbound.sendString(Mono.just(message(System.nanoTime()))).then()
+                        .thenMany(inbound.aggregateFrames(MAX_FRAME_PAYLOAD_LENGTH).receive().asString().take(1)))
+                .blockFirst(PROBE_TIMEOUT);
+    }
+
+    @Override
+    public void start() {
+        if (getConfig().isFixedRate()) {
+            CountDownLatch connected = new CountDownLatch(getConfig().getConnections());
+            for (int i = 0; i < getConfig().getConnections(); i++) {
+                connect(connected);
+            }
+            try {
+                connected.await(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        super.stop();
+        connections.forEach(Disposable::dispose);
+    }
+
+    @Override
+    protected void send(final long startNanos) {
+        if (outbounds.isEmpty()) {
+            getRecorder().error();
+            return;
+        }
+        outbounds.get(Math.floorMod(next.getAndIncrement(), outbounds.size())).onNext(message(startNanos));
+    }
+
+    @Override
+    protected void startLoop() {
+        connect(null);
+    }
+
+    private void connect(final CountDownLatch connected) {
+        final boolean closedLoop = connected == null;
+        connections.add(httpClient.websocket("", MAX_FRAME_PAYLOAD_LENGTH).uri(getConfig().getScenario().getPath())
+                .handle((inbound, outbound) -> {
+                    UnicastProcessor<String> messages = UnicastProcessor.create();
+                    if (closedLoop) {
+                        messages.onNext(message(System.nanoTime()));
+                    } else {
+                        outbounds.add(messages);
+                        connected.countDown();
+                    }
+                    Mono<Void> receive = inbound.aggregateFrames(MAX_FRAME_PAYLOAD_LENGTH).receive().asString()
+                            .doOnNext(message -> {
+                                getRecorder().record(Long.parseLong(message.substring(0, message.indexOf(SEPARATOR))));
+                                if (closedLoop && isRunning()) {
+                                    messages.onNext(message(System.nanoTime()));
+                                }
+                            }).then();
+                    return Mono.when(outbound.sendString(messages), receive);
+                })
+                .subscribe(null, error -> getRecorder().error()));
+    }
+
+    private String message(final long startNanos) {
+        return startNanos + String.valueOf(SEPARATOR) + padding;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.gateway;
+
+import lombok.Data;
+import org.dromara.soul.common.dto.AppAuthData;
+import org.dromara.soul.common.dto.MetaData;
+import org.dromara.soul.common.dto.PluginData;
+import org.dromara.soul.common.dto.RuleData;
+import org.dromara.soul.common.dto.SelectorData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The gateway data of the local data file, in the same json as the admin syncs.
+ *
+ * @author xiaoyu
+ */
+@Data
+public class LocalData {
+
+    private List<PluginData> plugins = new ArrayList<>();
+
+    private List<SelectorData> selectors = new ArrayList<>();
+
+    private List<RuleData> rules = new ArrayList<>();
+
+    private List<MetaData> metaData = new ArrayList<>();
+
+    private List<AppAuthData> appAuth = new ArrayList<>();
+}
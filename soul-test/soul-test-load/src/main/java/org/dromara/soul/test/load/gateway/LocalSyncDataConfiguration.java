@@ -0,0 +1,69 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.gateway;
+
+import org.dromara.soul.sync.data.api.AuthDataSubscriber;
+import org.dromara.soul.sync.data.api.MetaDataSubscriber;
+import org.dromara.soul.sync.data.api.PluginDataSubscriber;
+import org.dromara.soul.sync.data.api.SyncDataService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Local sync data configuration, the placeholders of the data file are resolved against the gateway environment.
+ *
+ * @author xiaoyu
+ */
+@Configuration
+public class LocalSyncDataConfiguration {
+
+    /**
+     * Local sync data service.
+     *
+     * @param dataFile         the data file
+     * @param resourceLoader   the resource loader
+     * @param environment      the environment
+     * @param pluginSubscriber the plugin subscriber
+     * @param metaSubscribers  the meta subscribers
+     * @param authSubscribers  the auth subscribers
+     * @return the sync data service
+     * @throws IOException the io exception
+     */
+    @Bean
+    public SyncDataService localSyncDataService(@Value("${soul.load.data}") final String dataFile, final ResourceLoader resourceLoader, final Environment environment,
+                                                final ObjectProvider<PluginDataSubscriber> pluginSubscriber, final ObjectProvider<List<MetaDataSubscriber>> metaSubscribers,
+                                                final ObjectProvider<List<AuthDataSubscriber>> authSubscribers) throws IOException {
+        try (InputStream inputStream = resourceLoader.getResource(dataFile).getInputStream()) {
+            String json = environment.resolveRequiredPlaceholders(StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8));
+            return new LocalSyncDataService(json, pluginSubscriber.getIfAvailable(),
+                    metaSubscribers.getIfAvailable(Collections::emptyList), authSubscribers.getIfAvailable(Collections::emptyList));
+        }
+    }
+}
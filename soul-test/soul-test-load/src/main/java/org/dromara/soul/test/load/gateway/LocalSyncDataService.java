@@ -0,0 +1,57 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.soul.common.utils.GsonUtils;
+import org.dromara.soul.sync.data.api.AuthDataSubscriber;
+import org.dromara.soul.sync.data.api.MetaDataSubscriber;
+import org.dromara.soul.sync.data.api.PluginDataSubscriber;
+import org.dromara.soul.sync.data.api.SyncDataService;
+
+import java.util.List;
+
+/**
+ * The sync data service of a local data file, the data is published once when the gateway starts.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public class LocalSyncDataService implements SyncDataService {
+
+    /**
+     * Instantiates a new Local sync data service.
+     *
+     * @param json             the json of the local data
+     * @param pluginSubscriber the plugin subscriber
+     * @param metaSubscribers  the meta subscribers
+     * @param authSubscribers  the auth subscribers
+     */
+    public LocalSyncDataService(final String json, final PluginDataSubscriber pluginSubscriber,
+                                final List<MetaDataSubscriber> metaSubscribers, final List<AuthDataSubscriber> authSubscribers) {
+        LocalData localData = GsonUtils.getInstance().fromJson(json, LocalData.class);
+        pluginSubscriber.refreshPluginData(localData.getPlugins());
+        pluginSubscriber.refreshSelectorData(localData.getSelectors());
+        pluginSubscriber.refreshRuleData(localData.getRules());
+        metaSubscribers.forEach(subscriber -> subscriber.refresh(localData.getMetaData()));
+        authSubscribers.forEach(subscriber -> subscriber.refresh(localData.getAppAuth()));
+        log.info("local sync data : {} plugins, {} selectors, {} rules, {} meta data, {} app auth", localData.getPlugins().size(),
+                localData.getSelectors().size(), localData.getRules().size(), localData.getMetaData().size(), localData.getAppAuth().size());
+    }
+}
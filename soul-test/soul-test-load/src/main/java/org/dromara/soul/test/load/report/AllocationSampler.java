@@ -0,0 +1,110 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.report;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The allocation sampler of the embedded gateway.
+ *
+ * <p>The gateway shares the jvm with the load drivers and the stubs, so only the threads which are not theirs are counted,
+ * the allocation of the threads which die between two snapshots is lost.
+ *
+ * @author xiaoyu
+ */
+public final class AllocationSampler {
+
+    private static final String[] HARNESS_THREAD_PREFIXES = {"soul-load", "soul-stub", "main",
+        "DubboServerHandler", "NettyServerBoss", "NettyServerWorker", "NIOServerCxn", "SyncThread", "ProcessThread", "SessionTracker"};
+
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Map<Long, Long> allocated;
+
+    private long gcCount;
+
+    private long gcMillis;
+
+    /**
+     * Take the first snapshot.
+     */
+    public void start() {
+        allocated = threadAllocatedBytes();
+        gcCount = gcCount();
+        gcMillis = gcMillis();
+    }
+
+    /**
+     * The bytes the gateway threads allocated since the first snapshot.
+     *
+     * @return the allocated bytes
+     */
+    public long allocatedBytes() {
+        return threadAllocatedBytes().entrySet().stream()
+                .mapToLong(entry -> entry.getValue() - allocated.getOrDefault(entry.getKey(), 0L))
+                .sum();
+    }
+
+    /**
+     * The garbage collections since the first snapshot.
+     *
+     * @return the gc count
+     */
+    public long gcCountSinceStart() {
+        return gcCount() - gcCount;
+    }
+
+    /**
+     * The garbage collection time since the first snapshot.
+     *
+     * @return the gc millis
+     */
+    public long gcMillisSinceStart() {
+        return gcMillis() - gcMillis;
+    }
+
+    private Map<Long, Long> threadAllocatedBytes() {
+        Map<Long, Long> result = new HashMap<>();
+        if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+            return result;
+        }
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (threadInfo != null && Arrays.stream(HARNESS_THREAD_PREFIXES).noneMatch(threadInfo.getThreadName()::startsWith)) {
+                long bytes = threadMXBean.getThreadAllocatedBytes(threadInfo.getThreadId());
+                if (bytes >= 0) {
+                    result.put(threadInfo.getThreadId(), bytes);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
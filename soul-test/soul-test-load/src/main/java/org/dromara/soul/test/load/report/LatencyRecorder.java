@@ -0,0 +1,80 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.report;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latency recorder of the load drivers, the latency is recorded in microseconds.
+ *
+ * @author xiaoyu
+ */
+public final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Record a response.
+     *
+     * @param startNanos the nano time the request was meant to be sent
+     */
+    public void record(final long startNanos) {
+        recorder.recordValue(Math.max(0, (System.nanoTime() - startNanos) / 1000));
+    }
+
+    /**
+     * Record a failed request.
+     */
+    public void error() {
+        errors.increment();
+    }
+
+    /**
+     * Forget what is recorded, at the end of the warmup.
+     */
+    public void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    /**
+     * The latency histogram since the last reset.
+     *
+     * @return the histogram
+     */
+    public Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    /**
+     * The failed requests since the last reset.
+     *
+     * @return the errors
+     */
+    public long errors() {
+        return errors.sum();
+    }
+}
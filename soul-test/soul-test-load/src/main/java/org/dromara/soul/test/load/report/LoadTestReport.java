@@ -0,0 +1,133 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.report;
+
+import lombok.Data;
+import org.HdrHistogram.Histogram;
+import org.dromara.soul.test.load.config.LoadTestConfig;
+
+/**
+ * The load test report, the latency is in milliseconds.
+ *
+ * @author xiaoyu
+ */
+@Data
+public class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000D;
+
+    private String scenario;
+
+    private String mode;
+
+    private int rate;
+
+    private int connections;
+
+    private int durationSeconds;
+
+    private int payloadSize;
+
+    private int upstreamLatencyMillis;
+
+    private long requests;
+
+    private long errors;
+
+    private double throughput;
+
+    private double p50;
+
+    private double p90;
+
+    private double p99;
+
+    private double p999;
+
+    private double max;
+
+    /**
+     * the allocation rate of the gateway threads in MB/s, -1 when the gateway is not embedded.
+     */
+    private double gatewayAllocationMbPerSecond = -1;
+
+    /**
+     * the gateway allocation of a request in bytes, -1 when the gateway is not embedded.
+     */
+    private long gatewayAllocationBytesPerRequest = -1;
+
+    private long gcCount;
+
+    private long gcMillis;
+
+    /**
+     * Build the report.
+     *
+     * @param config        the config
+     * @param histogram     the latency histogram in microseconds
+     * @param errors        the failed requests
+     * @param elapsedMillis the elapsed millis of the measurement
+     * @return the load test report
+     */
+    public static LoadTestReport of(final LoadTestConfig config, final Histogram histogram, final long errors, final long elapsedMillis) {
+        LoadTestReport report = new LoadTestReport();
+        report.setScenario(config.getScenario().getName());
+        report.setMode(config.getMode());
+        report.setRate(config.isFixedRate() ? config.getRate() : 0);
+        report.setConnections(config.getConnections());
+        report.setDurationSeconds(config.getDurationSeconds());
+        report.setPayloadSize(config.getPayloadSize());
+        report.setUpstreamLatencyMillis(config.getUpstreamLatencyMillis());
+        report.setRequests(histogram.getTotalCount());
+        report.setErrors(errors);
+        report.setThroughput(histogram.getTotalCount() * 1000D / Math.max(1, elapsedMillis));
+        report.setP50(histogram.getValueAtPercentile(50) / MICROS_PER_MILLI);
+        report.setP90(histogram.getValueAtPercentile(90) / MICROS_PER_MILLI);
+        report.setP99(histogram.getValueAtPercentile(99) / MICROS_PER_MILLI);
+        report.setP999(histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+        report.setMax(histogram.getMaxValue() / MICROS_PER_MILLI);
+        return report;
+    }
+
+    /**
+     * Add the allocation of the embedded gateway.
+     *
+     * @param sampler       the allocation sampler
+     * @param elapsedMillis the elapsed millis of the measurement
+     */
+    public void allocation(final AllocationSampler sampler, final long elapsedMillis) {
+        long allocatedBytes = sampler.allocatedBytes();
+        setGatewayAllocationMbPerSecond(allocatedBytes / 1024D / 1024D * 1000D / Math.max(1, elapsedMillis));
+        setGatewayAllocationBytesPerRequest(requests == 0 ? 0 : allocatedBytes / requests);
+        setGcCount(sampler.gcCountSinceStart());
+        setGcMillis(sampler.gcMillisSinceStart());
+    }
+
+    /**
+     * The summary of the report.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        return String.format("%n scenario    : %s (%s, %d connections%s)%n requests    : %d, errors : %d%n throughput  : %.1f req/s%n"
+                        + " latency(ms) : p50 %.3f, p90 %.3f, p99 %.3f, p999 %.3f, max %.3f%n gateway     : %.1f MB/s allocated, %d bytes/request, %d gc, %d gc ms",
+                scenario, mode, connections, rate > 0 ? ", " + rate + " req/s" : "", requests, errors, throughput,
+                p50, p90, p99, p999, max, gatewayAllocationMbPerSecond, gatewayAllocationBytesPerRequest, gcCount, gcMillis);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.scenario;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.dromara.soul.common.exception.SoulException;
+
+import java.util.Arrays;
+
+/**
+ * The load test scenario, the gateway data of a scenario is the classpath file scenario/{name}.json.
+ *
+ * @author xiaoyu
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Scenario {
+
+    /**
+     * Divide scenario, http proxy to the stub upstream.
+     */
+    DIVIDE("divide", Protocol.HTTP, "/http/order/findById?id=1", false, false, false),
+
+    /**
+     * Rate limiter scenario, the divide scenario behind the redis rate limiter.
+     */
+    RATE_LIMITER("ratelimiter", Protocol.HTTP, "/http/order/findById?id=1", true, false, false),
+
+    /**
+     * Sign scenario, the divide scenario behind the sign plugin.
+     */
+    SIGN("sign", Protocol.HTTP, "/http/order/findById?id=1", false, false, true),
+
+    /**
+     * Dubbo scenario, the generic invoke of the stub dubbo provider.
+     */
+    DUBBO("dubbo", Protocol.HTTP, "/dubbo/echo", false, true, false),
+
+    /**
+     * Websocket scenario, the echo of the stub upstream through the websocket plugin.
+     */
+    WEBSOCKET("websocket", Protocol.WEBSOCKET, "/ws?module=ws&method=/echo&rpcType=websocket", false, false, false);
+
+    /**
+     * the app key of the sign scenario.
+     */
+    public static final String APP_KEY = "SOUL-LOAD-TEST";
+
+    /**
+     * the app secret of the sign scenario.
+     */
+    public static final String APP_SECRET = "SOUL-LOAD-TEST-SECRET";
+
+    private final String name;
+
+    private final Protocol protocol;
+
+    private final String path;
+
+    private final boolean redis;
+
+    private final boolean dubbo;
+
+    private final boolean signed;
+
+    /**
+     * The classpath data file of the scenario.
+     *
+     * @return the data file
+     */
+    public String dataFile() {
+        return "classpath:scenario/" + name + ".json";
+    }
+
+    /**
+     * Get the scenario by name.
+     *
+     * @param name the name
+     * @return the scenario
+     */
+    public static Scenario of(final String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new SoulException("unknown load test scenario : " + name));
+    }
+
+    /**
+     * The protocol the load is sent with.
+     */
+    public enum Protocol {
+
+        /**
+         * Http protocol.
+         */
+        HTTP,
+
+        /**
+         * Websocket protocol.
+         */
+        WEBSOCKET
+    }
+}
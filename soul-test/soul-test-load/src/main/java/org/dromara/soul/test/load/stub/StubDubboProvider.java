@@ -0,0 +1,96 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.stub;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.ApplicationConfig;
+import org.apache.dubbo.config.ProtocolConfig;
+import org.apache.dubbo.config.RegistryConfig;
+import org.apache.dubbo.config.ServiceConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stub dubbo provider, it is registered in the embedded zookeeper.
+ *
+ * <p>dubbo keeps one application config per jvm, so the provider uses the application name of the gateway reference.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class StubDubboProvider implements StubDubboService, AutoCloseable {
+
+    private static final String APPLICATION_NAME = "soul_proxy";
+
+    private final int latencyMillis;
+
+    private final String payload;
+
+    private final ServiceConfig<StubDubboService> serviceConfig = new ServiceConfig<>();
+
+    private StubDubboProvider(final String registry, final int port, final int latencyMillis, final int payloadSize) {
+        this.latencyMillis = latencyMillis;
+        StringBuilder builder = new StringBuilder(payloadSize);
+        while (builder.length() < payloadSize) {
+            builder.append('x');
+        }
+        this.payload = builder.toString();
+        serviceConfig.setApplication(new ApplicationConfig(APPLICATION_NAME));
+        serviceConfig.setRegistry(new RegistryConfig(registry));
+        serviceConfig.setProtocol(new ProtocolConfig("dubbo", port));
+        serviceConfig.setInterface(StubDubboService.class);
+        serviceConfig.setRef(this);
+        serviceConfig.export();
+        log.info("the stub dubbo provider is exported to {} on {}", registry, port);
+    }
+
+    /**
+     * Export the stub dubbo provider.
+     *
+     * @param registry      the registry address
+     * @param port          the dubbo port
+     * @param latencyMillis the latency of every invocation
+     * @param payloadSize   the size of the payload
+     * @return the stub dubbo provider
+     */
+    public static StubDubboProvider export(final String registry, final int port, final int latencyMillis, final int payloadSize) {
+        return new StubDubboProvider(registry, port, latencyMillis, payloadSize);
+    }
+
+    @Override
+    public Map<String, Object> echo(final Map<String, Object> request) {
+        if (latencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Map<String, Object> response = new HashMap<>(request);
+        response.put("data", payload);
+        return response;
+    }
+
+    @Override
+    public void close() {
+        serviceConfig.unexport();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *   Licensed to the Apache Software Foundation (ASF) under one or more
+ *   contributor license agreements.  See the NOTICE file distributed with
+ *   this work for additional information regarding copyright ownership.
+ *   The ASF licenses this file to You under the Apache License, Version 2.0
+ *   (the "License"); you may not use this file except in compliance with
+ *   the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.dromara.soul.test.load.stub;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stub upstream, it answers every http request with a json of the payload size and echoes the websocket frames of /echo,
+ * both after the configured latency.
+ *
+ * @author xiaoyu
+ */
+@Slf4j
+public final class StubUpstream implements AutoCloseable {
+
+    private static final String WEBSOCKET_PATH = "/echo";
+
+    private static final int MAX_CONTENT_LENGTH = 1 << 20;
+
+    private final EventLoopGroup bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("soul-stub-boss"));
+
+    private final EventLoopGroup workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("soul-stub-worker"));
+
+    private final Channel channel;
+
+    private StubUpstream(final int port, final int latencyMillis, final int payloadSize) throws InterruptedException {
+        final ByteBuf payload = Unpooled.unreleasableBuffer(Unpooled.directBuffer().writeBytes(payload(payloadSize)));
+        this.channel = new ServerBootstrap().group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.SO_BACKLOG, 1024)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel ch) {
+                        ch.pipeline().addLast(new HttpServerCodec())
+                                .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                                .addLast(new WebSocketServerProtocolHandler(WEBSOCKET_PATH, null, true, MAX_CONTENT_LENGTH, false, true))
+                                .addLast(new StubHandler(payload, latencyMillis));
+                    }
+                })
+                .bind(port).sync().channel();
+        log.info("the stub upstream listens on {}, latency : {}ms, payload : {} bytes", port, latencyMillis, payloadSize);
+    }
+
+    /**
+     * Start the stub upstream.
+     *
+     * @param port          the port
+     * @param latencyMillis the latency of every response
+     * @param payloadSize   the size of the http response body
+     * @return the stub upstream
+     * @throws InterruptedException the interrupted exception
+     */
+    public static StubUpstream start(final int port, final int latencyMillis, final int payloadSize) throws InterruptedException {
+        return new StubUpstream(port, latencyMillis, payloadSize);
+    }
+
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    private static byte[] payload(final int payloadSize) {
+        StringBuilder builder = new StringBuilder(Math.max(payloadSize, 16)).append("{\"data\":\"");
+        while (builder.length() < payloadSize - 2) {
+            builder.append('x');
+        }
+        return builder.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class StubHandler extends SimpleChannelInboundHandler<Object> {
+
+        private final ByteBuf payload;
+
+        private final int latencyMillis;
+
+        StubHandler(final ByteBuf payload, final int latencyMillis) {
+            this.payload = payload;
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final Object msg) {
+            if (msg instanceof FullHttpRequest) {
+                final boolean keepAlive = HttpUtil.isKeepAlive((FullHttpRequest) msg);
+                later(ctx, () -> respond(ctx, keepAlive));
+            } else if (msg instanceof TextWebSocketFrame) {
+                final TextWebSocketFrame frame = ((TextWebSocketFrame) msg).retain();
+                later(ctx, () -> ctx.writeAndFlush(frame));
+            }
+        }
+
+        @Override
+        public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+            ctx.close();
+        }
+
+        private void later(final ChannelHandlerContext ctx, final Runnable task) {
+            if (latencyMillis > 0) {
+                ctx.executor().schedule(task, latencyMillis, TimeUnit.MILLISECONDS);
+            } else {
+                task.run();
+            }
+        }
+
+        private void respond(final ChannelHandlerContext ctx, final boolean keepAlive) {
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, payload.duplicate());
+            response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                    .setInt(HttpHeaderNames.CONTENT_LENGTH, payload.readableBytes());
+            if (keepAlive) {
+                response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+                ctx.writeAndFlush(response);
+            } else {
+                ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+            }
+        }
+    }
+}
@@ -22,34 +22,29 @@ package org.dromara.soul.web.filter;
 import org.dromara.soul.plugin.api.result.SoulResultEnum;
 import org.dromara.soul.plugin.base.utils.SoulResultWarp;
 import org.dromara.soul.plugin.base.utils.WebFluxResultUtils;
-import org.dromara.soul.web.filter.support.BodyInserterContext;
-import org.dromara.soul.web.filter.support.CachedBodyOutputMessage;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.NonNull;
-import org.springframework.web.reactive.function.BodyInserter;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.server.HandlerStrategies;
-import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 /**
  * The type File size filter.
  * 文件大小限制
  *
+ * <p>The multipart body is counted while it streams to the upstream, it is never held in memory.
+ * A declared Content-Length over the limit is rejected at once, otherwise the body fails as soon as
+ * the limit is crossed and the request is answered with 413.
+ *
  * @author xiaoyu(Myth)
  */
 public class FileSizeFilter implements WebFilter {
@@ -59,52 +54,55 @@ public class FileSizeFilter implements WebFilter {
     @Value("${file.size:10}")
     private int maxSize;
 
-    private final List<HttpMessageReader<?>> messageReaders;
-
-    public FileSizeFilter() {
-        HandlerStrategies.builder().codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxSize * BYTES_PER_MB));
-        this.messageReaders = HandlerStrategies.withDefaults().messageReaders();
-    }
-
     @Override
-    @SuppressWarnings("unchecked")
     public Mono<Void> filter(@NonNull final ServerWebExchange exchange, @NonNull final WebFilterChain chain) {
-        MediaType mediaType = exchange.getRequest().getHeaders().getContentType();
-        if (MediaType.MULTIPART_FORM_DATA.isCompatibleWith(mediaType)) {
-            ServerRequest serverRequest = ServerRequest.create(exchange,
-                    messageReaders);
-            return serverRequest.bodyToMono(DataBuffer.class)
-                    .flatMap(size -> {
-                        if (size.capacity() > BYTES_PER_MB * maxSize) {
-                            ServerHttpResponse response = exchange.getResponse();
-                            response.setStatusCode(HttpStatus.BAD_REQUEST);
-                            Object error = SoulResultWarp.error(SoulResultEnum.PAYLOAD_TOO_LARGE.getCode(), SoulResultEnum.PAYLOAD_TOO_LARGE.getMsg(), null);
-                            return WebFluxResultUtils.result(exchange, error);
-                        }
-                        BodyInserter bodyInserter = BodyInserters.fromPublisher(Mono.just(size), DataBuffer.class);
-                        HttpHeaders headers = new HttpHeaders();
-                        headers.putAll(exchange.getRequest().getHeaders());
-                        headers.remove(HttpHeaders.CONTENT_LENGTH);
-                        CachedBodyOutputMessage outputMessage = new CachedBodyOutputMessage(
-                                exchange, headers);
-                        return bodyInserter.insert(outputMessage, new BodyInserterContext())
-                                .then(Mono.defer(() -> {
-                                    ServerHttpRequest decorator = decorate(exchange, outputMessage);
-                                    return chain.filter(exchange.mutate().request(decorator).build());
-
-                                }));
-                    });
+        final ServerHttpRequest request = exchange.getRequest();
+        if (!MediaType.MULTIPART_FORM_DATA.isCompatibleWith(request.getHeaders().getContentType())) {
+            return chain.filter(exchange);
         }
-        return chain.filter(exchange);
-
-    }
-
-    private ServerHttpRequestDecorator decorate(final ServerWebExchange exchange, final CachedBodyOutputMessage outputMessage) {
-        return new ServerHttpRequestDecorator(exchange.getRequest()) {
+        final long maxBytes = (long) maxSize * BYTES_PER_MB;
+        if (request.getHeaders().getContentLength() > maxBytes) {
+            return payloadTooLarge(exchange);
+        }
+        final ServerHttpRequestDecorator decorator = new ServerHttpRequestDecorator(request) {
             @Override
+            @NonNull
             public Flux<DataBuffer> getBody() {
-                return outputMessage.getBody();
+                return limit(super.getBody(), maxBytes);
             }
         };
+        return chain.filter(exchange.mutate().request(decorator).build())
+                .onErrorResume(FileSizeFilter::isLimitExceeded, throwable -> exchange.getResponse().isCommitted()
+                        ? Mono.error(throwable) : payloadTooLarge(exchange));
+    }
+
+    private static Flux<DataBuffer> limit(final Flux<DataBuffer> body, final long maxBytes) {
+        return Flux.defer(() -> {
+            final long[] count = new long[1];
+            return body.handle((dataBuffer, sink) -> {
+                count[0] += dataBuffer.readableByteCount();
+                if (count[0] > maxBytes) {
+                    DataBufferUtils.release(dataBuffer);
+                    sink.error(new DataBufferLimitException("the multipart body exceeds the limit of " + maxBytes + " bytes"));
+                } else {
+                    sink.next(dataBuffer);
+                }
+            });
+        });
+    }
+
+    private static boolean isLimitExceeded(final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataBufferLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Mono<Void> payloadTooLarge(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+        Object error = SoulResultWarp.error(SoulResultEnum.PAYLOAD_TOO_LARGE.getCode(), SoulResultEnum.PAYLOAD_TOO_LARGE.getMsg(), null);
+        return WebFluxResultUtils.result(exchange, error);
     }
 }
@@ -18,14 +18,20 @@
 
 package org.dromara.soul.web.handler;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.dromara.soul.common.constant.Constants;
+import org.dromara.soul.common.enums.RpcTypeEnum;
 import org.dromara.soul.metrics.api.HistogramMetricsTrackerDelegate;
 import org.dromara.soul.metrics.enums.MetricsLabelEnum;
 import org.dromara.soul.metrics.facade.MetricsTrackerFacade;
 import org.dromara.soul.plugin.api.SoulPlugin;
 import org.dromara.soul.plugin.api.SoulPluginChain;
+import org.dromara.soul.plugin.api.context.SoulContext;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
@@ -40,22 +46,44 @@ import reactor.core.scheduler.Schedulers;
  */
 public final class SoulWebHandler implements WebHandler {
     
-    private List<SoulPlugin> plugins;
+    private final SoulPlugin[] plugins;
     
+    /**
+     * rpcType -> the plugins that support it, built once for every rpc type.
+     */
+    private final ConcurrentMap<String, RpcTypePlugins> rpcTypePluginsMap = new ConcurrentHashMap<>();
+    
+    /**
+     * the plugins for the request which has no rpc type.
+     */
+    private final RpcTypePlugins noneRpcTypePlugins;
+    
+    /**
+     * the scheduler the chain runs on, null when it runs on the netty event loop.
+     */
     private Scheduler scheduler;
     
+    /**
+     * the scheduler of the blocking plugins when the chain runs on the netty event loop.
+     */
+    private Scheduler blockingScheduler;
+    
     /**
      * Instantiates a new Soul web handler.
      *
      * @param plugins the plugins
      */
     public SoulWebHandler(final List<SoulPlugin> plugins) {
-        this.plugins = plugins;
+        this.plugins = plugins.toArray(new SoulPlugin[0]);
+        Arrays.stream(RpcTypeEnum.values()).forEach(rpcTypeEnum -> rpcTypePluginsMap.put(rpcTypeEnum.getName(), new RpcTypePlugins(this.plugins, rpcTypeEnum.getName())));
+        this.noneRpcTypePlugins = new RpcTypePlugins(this.plugins, null);
         String schedulerType = System.getProperty("soul.scheduler.type", "fixed");
         if (Objects.equals(schedulerType, "fixed")) {
             int threads = Integer.parseInt(System.getProperty(
                     "soul.work.threads", "" + Math.max((Runtime.getRuntime().availableProcessors() << 1) + 1, 16)));
             scheduler = Schedulers.newParallel("soul-work-threads", threads);
+        } else if (Objects.equals(schedulerType, "direct")) {
+            blockingScheduler = Schedulers.elastic();
         } else {
             scheduler = Schedulers.elastic();
         }
@@ -73,29 +101,77 @@ public final class SoulWebHandler implements WebHandler {
         MetricsTrackerFacade.getInstance().counterInc(MetricsLabelEnum.REQUEST_TOTAL.getName());
         Optional<HistogramMetricsTrackerDelegate> startTimer = MetricsTrackerFacade.getInstance().histogramStartTimer(MetricsLabelEnum.REQUEST_LATENCY.getName());
 
-        return new DefaultSoulPluginChain(plugins).execute(exchange).subscribeOn(scheduler)
-                .doOnSuccess(t -> startTimer.ifPresent(time -> MetricsTrackerFacade.getInstance().histogramObserveDuration(time)));
+        Mono<Void> execute = Mono.defer(() -> new DefaultSoulPluginChain(this).execute(exchange));
+        if (Objects.nonNull(scheduler)) {
+            execute = execute.subscribeOn(scheduler);
+        }
+        return execute.doOnSuccess(t -> startTimer.ifPresent(time -> MetricsTrackerFacade.getInstance().histogramObserveDuration(time)));
+    }
+    
+    private RpcTypePlugins obtainRpcTypePlugins(final String rpcType) {
+        if (Objects.isNull(rpcType)) {
+            return noneRpcTypePlugins;
+        }
+        RpcTypePlugins rpcTypePlugins = rpcTypePluginsMap.get(rpcType);
+        if (Objects.isNull(rpcTypePlugins)) {
+            rpcTypePlugins = rpcTypePluginsMap.computeIfAbsent(rpcType, key -> new RpcTypePlugins(plugins, key));
+        }
+        return rpcTypePlugins;
+    }
+    
+    /**
+     * the plugins which support one rpc type, in the order of all the plugins.
+     */
+    private static final class RpcTypePlugins {
+        
+        private final SoulPlugin[] plugins;
+        
+        /**
+         * index in all the plugins -> index in the plugins of this rpc type.
+         */
+        private final int[] positions;
+        
+        RpcTypePlugins(final SoulPlugin[] allPlugins, final String rpcType) {
+            this.positions = new int[allPlugins.length + 1];
+            SoulPlugin[] supportPlugins = new SoulPlugin[allPlugins.length];
+            int size = 0;
+            for (int i = 0; i < allPlugins.length; i++) {
+                positions[i] = size;
+                if (allPlugins[i].supportRpcType(rpcType)) {
+                    supportPlugins[size++] = allPlugins[i];
+                }
+            }
+            positions[allPlugins.length] = size;
+            this.plugins = Arrays.copyOf(supportPlugins, size);
+        }
     }
 
     /**
      *
      * 插件调用链
      *
+     * <p>It walks all the plugins until the soul context is put by the global plugin,
+     * then switches to the plugins of the rpc type of the request.
      */
-    private static class DefaultSoulPluginChain implements SoulPluginChain {
+    private static final class DefaultSoulPluginChain implements SoulPluginChain {
+        
+        private final SoulWebHandler handler;
         
-        private int index;
-
         //插件集合
-        private final List<SoulPlugin> plugins;
+        private SoulPlugin[] plugins;
+        
+        private boolean resolved;
+        
+        private int index;
         
         /**
          * Instantiates a new Default soul plugin chain.
          *
-         * @param plugins the plugins
+         * @param handler the soul web handler
          */
-        DefaultSoulPluginChain(final List<SoulPlugin> plugins) {
-            this.plugins = plugins;
+        DefaultSoulPluginChain(final SoulWebHandler handler) {
+            this.handler = handler;
+            this.plugins = handler.plugins;
         }
         
         /**
@@ -106,22 +182,42 @@ public final class SoulWebHandler implements WebHandler {
          */
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
-            return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    // 需要执行的插件
-                    SoulPlugin plugin = plugins.get(this.index++);
-                    // 是否跳过插件
-                    Boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        // 递归 调用，相当于跳过本次调用
-                        return this.execute(exchange);
-                    } else {
-                        return plugin.execute(exchange, this);
+            return Mono.defer(() -> next(exchange));
+        }
+        
+        /**
+         * the next plugin is picked and executed on subscription, so a plugin calling {@code then(chain.execute(exchange))}
+         * does not run the rest of the chain before its own work, and an exception of a later plugin becomes an error signal.
+         */
+        private Mono<Void> next(final ServerWebExchange exchange) {
+            while (this.index < plugins.length) {
+                if (!resolved) {
+                    resolve(exchange);
+                    if (this.index >= plugins.length) {
+                        break;
+                    }
+                }
+                // 需要执行的插件
+                SoulPlugin plugin = plugins[this.index++];
+                // 是否跳过插件
+                if (!plugin.skip(exchange)) {
+                    if (Objects.nonNull(handler.blockingScheduler) && plugin.blocking()) {
+                        return Mono.defer(() -> plugin.execute(exchange, this)).subscribeOn(handler.blockingScheduler);
                     }
-                } else {
-                    return Mono.empty();
+                    return plugin.execute(exchange, this);
                 }
-            });
+            }
+            return Mono.empty();
+        }
+        
+        private void resolve(final ServerWebExchange exchange) {
+            final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
+            if (Objects.nonNull(soulContext)) {
+                final RpcTypePlugins rpcTypePlugins = handler.obtainRpcTypePlugins(soulContext.getRpcType());
+                this.index = rpcTypePlugins.positions[this.index];
+                this.plugins = rpcTypePlugins.plugins;
+                this.resolved = true;
+            }
         }
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dromara.soul.web.filter;
+
+import org.dromara.soul.plugin.api.result.DefaultSoulResult;
+import org.dromara.soul.plugin.base.utils.SpringBeanUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The type File size filter test.
+ *
+ * @author xiaoyu
+ */
+public class FileSizeFilterTest {
+    
+    private static final int CHUNK = 64 * 1024;
+    
+    private final FileSizeFilter fileSizeFilter = new FileSizeFilter();
+    
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(fileSizeFilter, "maxSize", 1);
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(DefaultSoulResult.class);
+        context.refresh();
+        SpringBeanUtils.getInstance().setCfgContext(context);
+    }
+    
+    /**
+     * A body under the limit streams through.
+     */
+    @Test
+    public void underLimitTest() {
+        MockServerWebExchange exchange = exchange(8);
+        fileSizeFilter.filter(exchange, readBody()).block();
+        Assert.assertNotEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+    }
+    
+    /**
+     * A declared Content-Length over the limit is rejected before the chain runs.
+     */
+    @Test
+    public void contentLengthTest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("http://localhost:9195/http/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA).contentLength(2 * 1024 * 1024).body(Flux.empty()));
+        AtomicBoolean called = new AtomicBoolean();
+        fileSizeFilter.filter(exchange, filtered -> Mono.fromRunnable(() -> called.set(true))).block();
+        Assert.assertFalse(called.get());
+        Assert.assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+    }
+    
+    /**
+     * A streamed body crossing the limit is answered with 413.
+     */
+    @Test
+    public void limitExceededTest() {
+        MockServerWebExchange exchange = exchange(32);
+        fileSizeFilter.filter(exchange, readBody()).block();
+        Assert.assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+    }
+    
+    /**
+     * When the response is committed the status can not be changed any more, so the error goes on.
+     */
+    @Test
+    public void committedTest() {
+        MockServerWebExchange exchange = exchange(32);
+        WebFilterChain chain = filtered -> filtered.getResponse().setComplete().then(readBody().filter(filtered));
+        try {
+            fileSizeFilter.filter(exchange, chain).block();
+            Assert.fail();
+        } catch (DataBufferLimitException e) {
+            Assert.assertNotEquals(HttpStatus.PAYLOAD_TOO_LARGE, exchange.getResponse().getStatusCode());
+        }
+    }
+    
+    private static WebFilterChain readBody() {
+        return filtered -> DataBufferUtils.join(filtered.getRequest().getBody()).doOnNext(DataBufferUtils::release).then();
+    }
+    
+    private static MockServerWebExchange exchange(final int chunks) {
+        Flux<DataBuffer> body = Flux.range(0, chunks).map(index -> new DefaultDataBufferFactory().wrap(new byte[CHUNK]));
+        return MockServerWebExchange.from(MockServerHttpRequest.post("http://localhost:9195/http/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA).body(body));
+    }
+}